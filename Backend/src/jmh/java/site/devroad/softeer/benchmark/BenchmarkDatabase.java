@@ -0,0 +1,126 @@
+package site.devroad.softeer.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+//벤치마크용 in-memory H2 (MODE=MySQL) 와 운영 규모에 맞춘 카탈로그/사용자 데이터
+public class BenchmarkDatabase {
+    public static final int SUBJECTS = 30;
+    public static final int COURSES_PER_SUBJECT = 4;
+    public static final int CHAPTERS_PER_COURSE = 15;
+    public static final int MCQ_PER_EXAM = 10;
+    public static final int ROADMAP_SUBJECTS = 8;
+    public static final int ACCOUNTS = 2000;
+    public static final int COMPLETED_CHAPTERS_PER_ACCOUNT = 20;
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    private BenchmarkDatabase(String name) {
+        //운영과 같이 커넥션 풀을 거치도록 함 (커넥션 생성 비용이 측정에 섞이지 않게)
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=FALSE;DB_CLOSE_DELAY=-1");
+        hikari.setMaximumPoolSize(8);
+        this.dataSource = hikari;
+        this.jdbcTemplate = new JdbcTemplate(hikari);
+    }
+
+    public static BenchmarkDatabase create(String name) {
+        BenchmarkDatabase database = new BenchmarkDatabase(name);
+        new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql")).execute(database.dataSource);
+        database.seed();
+        return database;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public void shutdown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.close();
+    }
+
+    //id 는 모두 1부터 순서대로 생성됨
+    private void seed() {
+        List<Object[]> subjects = new ArrayList<>();
+        List<Object[]> courses = new ArrayList<>();
+        List<Object[]> chapters = new ArrayList<>();
+        List<Object[]> exams = new ArrayList<>();
+        List<Object[]> mcqs = new ArrayList<>();
+        long courseId = 0;
+        for (int s = 1; s <= SUBJECTS; s++) {
+            subjects.add(new Object[]{"subject-" + s, "subject " + s + " 에 대해 배워봅시다"});
+            for (int c = 1; c <= COURSES_PER_SUBJECT; c++) {
+                courseId++;
+                courses.add(new Object[]{s, "tutor-" + c, "https://img.devroad.site/course/" + courseId + ".png",
+                        "course-" + courseId, "course " + courseId + " 설명", 1, "online"});
+                for (int ch = 1; ch <= CHAPTERS_PER_COURSE; ch++) {
+                    chapters.add(new Object[]{courseId, "chapter-" + courseId + "-" + ch,
+                            "https://www.youtube.com/watch?v=" + courseId + "_" + ch,
+                            "https://img.devroad.site/chapter/" + courseId + "_" + ch + ".png", "chapter 설명", ch});
+                }
+            }
+            exams.add(new Object[]{s, "", "MCQ " + s, "객관식 시험", 0, "MCQ"});
+            exams.add(new Object[]{s, "https://github.com/devroad/frq-" + s, "FRQ " + s, "주관식 시험", 9900, "FRQ"});
+        }
+        for (int e = 1; e <= SUBJECTS * 2; e += 2) {
+            for (int q = 1; q <= MCQ_PER_EXAM; q++) {
+                mcqs.add(new Object[]{e, q, "question-" + q, "다음 중 옳은 것을 고르시오. (" + e + "-" + q + ")",
+                        "보기 1|보기 2|보기 3|보기 4|보기 5", q % 5 + 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Subject (name, description) VALUES (?, ?)", subjects);
+        jdbcTemplate.batchUpdate("INSERT INTO Course (subject_id, tutor_name, thumbnail_url, course_name, description, language_id, type) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", courses);
+        jdbcTemplate.batchUpdate("INSERT INTO Chapter (course_id, title, chapter_url, thumbnail_url, description, sequence) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", chapters);
+        jdbcTemplate.batchUpdate("INSERT INTO Exam (subject_id, url, name, description, price, type) VALUES (?, ?, ?, ?, ?, ?)", exams);
+        jdbcTemplate.batchUpdate("INSERT INTO ExamMcq (exam_id, sequence, title, content, choices, ans) VALUES (?, ?, ?, ?, ?, ?)", mcqs);
+
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> loginInfos = new ArrayList<>();
+        List<Object[]> subscribes = new ArrayList<>();
+        List<Object[]> roadmaps = new ArrayList<>();
+        List<Object[]> subjectToRoadmaps = new ArrayList<>();
+        List<Object[]> submissions = new ArrayList<>();
+        List<Object[]> completedChapters = new ArrayList<>();
+        for (long a = 1; a <= ACCOUNTS; a++) {
+            accounts.add(new Object[]{"user-" + a, a, "010" + (10000000 + a), "Student"});
+            loginInfos.add(new Object[]{"user" + a + "@devroad.site", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm", a});
+            subscribes.add(new Object[]{a});
+            long firstSubject = (a % SUBJECTS) + 1;
+            long firstChapter = (firstSubject - 1) * COURSES_PER_SUBJECT * CHAPTERS_PER_COURSE + 1;
+            roadmaps.add(new Object[]{"user-" + a + "'s roadmap", firstChapter + COMPLETED_CHAPTERS_PER_ACCOUNT});
+            for (int i = 0; i < ROADMAP_SUBJECTS; i++) {
+                long subjectId = (firstSubject - 1 + i) % SUBJECTS + 1;
+                subjectToRoadmaps.add(new Object[]{a, subjectId, i + 1});
+                //앞쪽 절반 과목은 객관식 통과, 주관식 제출 상태
+                if (i < ROADMAP_SUBJECTS / 2) {
+                    submissions.add(new Object[]{a, subjectId * 2 - 1, "MCQ", "", 4});
+                    submissions.add(new Object[]{a, subjectId * 2, null, "https://github.com/user" + a + "/frq-" + subjectId, 3});
+                }
+            }
+            for (int c = 0; c < COMPLETED_CHAPTERS_PER_ACCOUNT; c++) {
+                completedChapters.add(new Object[]{a, firstChapter + c});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Account (name, roadmap_id, phone, type) VALUES (?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO LoginInfo (email, password, account_id) VALUES (?, ?, ?)", loginInfos);
+        jdbcTemplate.batchUpdate("INSERT INTO Subscribe (account_id, end_at) VALUES (?, DATEADD('DAY', 31, CURRENT_TIMESTAMP))", subscribes);
+        jdbcTemplate.batchUpdate("INSERT INTO Roadmap (name, chapter_id) VALUES (?, ?)", roadmaps);
+        jdbcTemplate.batchUpdate("INSERT INTO SubjectToRoadmap (roadmap_id, subject_id, sequence) VALUES (?, ?, ?)", subjectToRoadmaps);
+        jdbcTemplate.batchUpdate("INSERT INTO ExamSubmission (account_id, exam_id, type, url, is_passed) VALUES (?, ?, ?, ?, ?)", submissions);
+        jdbcTemplate.batchUpdate("INSERT INTO CompletedChapter (account_id, chapter_id) VALUES (?, ?)", completedChapters);
+    }
+}
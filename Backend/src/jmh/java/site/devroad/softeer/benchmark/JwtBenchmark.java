@@ -0,0 +1,43 @@
+package site.devroad.softeer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.devroad.softeer.utility.JwtPrincipal;
+import site.devroad.softeer.utility.JwtUtility;
+
+import java.util.concurrent.TimeUnit;
+
+//토큰 발급, 서명 검증(캐시 미스), 캐시 적중 경로
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtUtility jwtUtility;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtility = new JwtUtility(10000);
+        ReflectionTestUtils.setField(jwtUtility, "secret", "benchmark-secret-key-benchmark-secret-key");
+        token = jwtUtility.makeJwtToken(1L, "user-1");
+        jwtUtility.validateToken(token);
+    }
+
+    @Benchmark
+    public String makeJwtToken() {
+        return jwtUtility.makeJwtToken(1L, "user-1");
+    }
+
+    @Benchmark
+    public JwtPrincipal parse() {
+        return jwtUtility.parse(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal validateTokenCached() {
+        return jwtUtility.getPrincipal(token);
+    }
+}
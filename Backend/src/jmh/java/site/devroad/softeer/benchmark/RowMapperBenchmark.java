@@ -0,0 +1,80 @@
+package site.devroad.softeer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import site.devroad.softeer.src.exam.ExamRepo;
+import site.devroad.softeer.src.exam.ExamSubmissionRepo;
+import site.devroad.softeer.src.exam.model.ExamMcq;
+import site.devroad.softeer.src.exam.model.ExamSubmission;
+import site.devroad.softeer.src.user.SubscriptionCache;
+import site.devroad.softeer.src.user.UserRepo;
+import site.devroad.softeer.src.user.dto.domain.UserDetail;
+import site.devroad.softeer.src.user.model.Account;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//ExamRepo/ExamSubmissionRepo/UserRepo 조회 + RowMapper 변환 (카탈로그 캐시를 타지 않는 메서드만)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+    private BenchmarkDatabase database;
+    private ExamRepo examRepo;
+    private ExamSubmissionRepo examSubmissionRepo;
+    private UserRepo userRepo;
+
+    @State(Scope.Thread)
+    public static class Ids {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        long accountId() {
+            return random.nextInt(BenchmarkDatabase.ACCOUNTS) + 1;
+        }
+
+        long mcqExamId() {
+            return random.nextInt(BenchmarkDatabase.SUBJECTS) * 2L + 1;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.create("rowmapper");
+        examRepo = new ExamRepo(database.getJdbcTemplate(), new CatalogCacheRegistry(0, 10000));
+        examSubmissionRepo = new ExamSubmissionRepo(database.getJdbcTemplate());
+        userRepo = new UserRepo(database.getJdbcTemplate(), new SubscriptionCache(new MetricsRegistry(), 0, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<ExamMcq> findQuestionsByExamId(Ids ids) {
+        return examRepo.findQuestionsByExamId(ids.mcqExamId());
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountById(Ids ids) {
+        return userRepo.findAccountById(ids.accountId());
+    }
+
+    @Benchmark
+    public List<ExamSubmission> findLatestSubmissionsByRoadmap(Ids ids) {
+        //시드 데이터에서 계정 id 와 로드맵 id 는 같음
+        long accountId = ids.accountId();
+        return examSubmissionRepo.findLatestByRoadmapIdAndAccountId(accountId, accountId);
+    }
+
+    @Benchmark
+    public List<UserDetail> findAllUser() {
+        return userRepo.findAllUser();
+    }
+}
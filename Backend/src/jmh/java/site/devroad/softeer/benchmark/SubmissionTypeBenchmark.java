@@ -0,0 +1,23 @@
+package site.devroad.softeer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import site.devroad.softeer.src.exam.model.SubmissionType;
+
+import java.util.concurrent.TimeUnit;
+
+//ExamSubmission 행마다 호출되는 is_passed -> SubmissionType 변환
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionTypeBenchmark {
+    @Param({"1", "4", "5", "9"})
+    private int isPassed;
+
+    @Benchmark
+    public SubmissionType getType() {
+        return SubmissionType.getType(isPassed);
+    }
+}
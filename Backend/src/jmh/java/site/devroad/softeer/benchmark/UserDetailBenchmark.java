@@ -0,0 +1,87 @@
+package site.devroad.softeer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import site.devroad.softeer.src.roadmap.RoadmapRepo;
+import site.devroad.softeer.src.roadmap.chapter.ChapterRepo;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
+import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapterRepo;
+import site.devroad.softeer.src.user.SubscriptionCache;
+import site.devroad.softeer.src.user.UserRepo;
+import site.devroad.softeer.src.user.UserService;
+import site.devroad.softeer.src.user.dto.GetUserDetailRes;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
+import site.devroad.softeer.src.user.token.RefreshTokenRepo;
+import site.devroad.softeer.src.user.token.RefreshTokenService;
+import site.devroad.softeer.utility.JwtUtility;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//GET /api/user 응답 : 대시보드 조회 + GetUserDetailRes 조립 + JSON 직렬화
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailBenchmark {
+    private BenchmarkDatabase database;
+    private UserService userService;
+    private ObjectMapper objectMapper;
+    private GetUserDetailRes userDetailRes;
+
+    @State(Scope.Thread)
+    public static class Ids {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        long accountId() {
+            return random.nextInt(BenchmarkDatabase.ACCOUNTS) + 1;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.create("userdetail");
+        CatalogCacheRegistry catalogCacheRegistry = new CatalogCacheRegistry(600, 10000);
+        ChapterRepo chapterRepo = new ChapterRepo(database.getJdbcTemplate(), catalogCacheRegistry);
+        chapterRepo.preload();
+        //getUserDetail 만 측정하므로 PasswordHasher 는 넘기지 않고, 챕터 완료는 write-behind 없이 바로 반영
+        userService = new UserService(new UserRepo(database.getJdbcTemplate(), new SubscriptionCache(new MetricsRegistry(), 0, 0)), new ProgressRepo(database.getJdbcTemplate()),
+                chapterRepo, new JwtUtility(10000),
+                new RefreshTokenService(new RefreshTokenRepo(database.getJdbcTemplate()), 14), null,
+                new ChapterCompletionWriter(new CompletedChapterRepo(database.getJdbcTemplate()), new ProgressRepo(database.getJdbcTemplate()),
+                        new RoadmapRepo(database.getJdbcTemplate()), new DataSourceTransactionManager(database.getDataSource()),
+                        Runnable::run, false, "journal", false, 200, 500, 1 << 20));
+        objectMapper = new ObjectMapper();
+        //진행 집계 행을 미리 만들어 두어 측정 중에는 조회만 일어나도록 함
+        for (long accountId = 1; accountId <= BenchmarkDatabase.ACCOUNTS; accountId++) {
+            userService.getUserDetail(accountId);
+        }
+        userDetailRes = userService.getUserDetail(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public GetUserDetailRes getUserDetail(Ids ids) {
+        return userService.getUserDetail(ids.accountId());
+    }
+
+    @Benchmark
+    public byte[] serializeUserDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDetailRes);
+    }
+
+    @Benchmark
+    public byte[] getUserDetailAndSerialize(Ids ids) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userService.getUserDetail(ids.accountId()));
+    }
+}
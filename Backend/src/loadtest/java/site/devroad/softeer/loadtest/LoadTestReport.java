@@ -0,0 +1,83 @@
+package site.devroad.softeer.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+//엔드포인트별 응답 시간 원본을 모아 정확한 백분위수를 계산 (LatencyHistogram 은 구간 근사라 5ms 이하가 뭉개짐)
+public class LoadTestReport {
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+    private final List<String> endpointOrder = new ArrayList<>();
+
+    public synchronized void register(String endpoint) {
+        if (!samplesByEndpoint.containsKey(endpoint)) {
+            samplesByEndpoint.put(endpoint, new Samples());
+            endpointOrder.add(endpoint);
+        }
+    }
+
+    public void record(String endpoint, long nanos, boolean success) {
+        Samples samples = samplesByEndpoint.get(endpoint);
+        samples.nanos.add(nanos);
+        if (!success)
+            samples.errors.increment();
+    }
+
+    public Map<String, Object> summary(long elapsedNanos) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        for (String endpoint : endpointOrder) {
+            Samples samples = samplesByEndpoint.get(endpoint);
+            long[] sorted = samples.nanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            totalRequests += sorted.length;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", sorted.length);
+            stats.put("errors", samples.errors.sum());
+            stats.put("p50Millis", percentileMillis(sorted, 0.50));
+            stats.put("p95Millis", percentileMillis(sorted, 0.95));
+            stats.put("p99Millis", percentileMillis(sorted, 0.99));
+            stats.put("maxMillis", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+            endpoints.put(endpoint, stats);
+        }
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedSeconds", elapsedSeconds);
+        summary.put("totalRequests", totalRequests);
+        summary.put("requestsPerSecond", elapsedSeconds == 0 ? 0.0 : totalRequests / elapsedSeconds);
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static String format(Map<String, Object> summary) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %8s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        Map<String, Object> endpoints = (Map<String, Object>) summary.get("endpoints");
+        for (Map.Entry<String, Object> entry : endpoints.entrySet()) {
+            Map<String, Object> stats = (Map<String, Object>) entry.getValue();
+            sb.append(String.format("%-32s %8d %7d %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), stats.get("count"), stats.get("errors"),
+                    stats.get("p50Millis"), stats.get("p95Millis"), stats.get("p99Millis"), stats.get("maxMillis")));
+        }
+        sb.append(String.format("total %d requests in %.1fs (%.1f req/s)%n", summary.get("totalRequests"),
+                summary.get("elapsedSeconds"), summary.get("requestsPerSecond")));
+        return sb.toString();
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0.0;
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private final ConcurrentLinkedQueue<Long> nanos = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+    }
+}
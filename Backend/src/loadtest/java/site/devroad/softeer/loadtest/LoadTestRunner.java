@@ -0,0 +1,95 @@
+package site.devroad.softeer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.SofteeerApplication;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//앱을 loadtest 프로파일(H2)로 같은 프로세스에서 띄우고, 시드 후 학생 시나리오를 동시에 재생
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        int accounts = Integer.getInteger("loadtest.accounts", 2000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int journeys = Integer.getInteger("loadtest.journeys", accounts);
+        int warmupJourneys = Integer.getInteger("loadtest.warmupJourneys", Math.min(200, accounts));
+        String output = System.getProperty("loadtest.output", "build/results/loadtest/results.json");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SofteeerApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        int exitCode = 0;
+        try {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            List<SeededAccount> seededAccounts = new LoadTestSeeder(context.getBean(JdbcTemplate.class)).seed(accounts);
+            //기동 시 빈 테이블로 preload 된 카탈로그 캐시를 비움
+            context.getBean(CatalogCacheRegistry.class).invalidateAll();
+            System.out.printf("seeded %d accounts, running %d journeys (warmup %d) with concurrency %d%n",
+                    accounts, journeys, warmupJourneys, concurrency);
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String baseUrl = "http://localhost:" + port;
+
+            replay(new StudentJourney(httpClient, objectMapper, baseUrl, new LoadTestReport()), seededAccounts, warmupJourneys, concurrency);
+
+            LoadTestReport report = new LoadTestReport();
+            long start = System.nanoTime();
+            long failedJourneys = replay(new StudentJourney(httpClient, objectMapper, baseUrl, report), seededAccounts, journeys, concurrency);
+            Map<String, Object> summary = report.summary(System.nanoTime() - start);
+            summary.put("accounts", accounts);
+            summary.put("concurrency", concurrency);
+            summary.put("journeys", journeys);
+            summary.put("failedJourneys", failedJourneys);
+
+            System.out.print(LoadTestReport.format(summary));
+            File outputFile = new File(output);
+            outputFile.getParentFile().mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputFile, summary);
+            System.out.println("results written to " + outputFile.getAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static long replay(StudentJourney journey, List<SeededAccount> accounts, int journeys, int concurrency) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        for (int worker = 0; worker < concurrency; worker++) {
+            executor.execute(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < journeys) {
+                    try {
+                        journey.run(accounts.get(index % accounts.size()), index / accounts.size());
+                    } catch (Exception e) {
+                        failed.increment();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        return failed.sum();
+    }
+}
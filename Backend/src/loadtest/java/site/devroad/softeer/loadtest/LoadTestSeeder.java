@@ -0,0 +1,127 @@
+package site.devroad.softeer.loadtest;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//카탈로그와 학생 계정을 batch 로 채움 (id 는 모두 1부터 순서대로 생성됨)
+public class LoadTestSeeder {
+    public static final String PASSWORD = "loadtest1234!";
+    static final int SUBJECTS = 30;
+    static final int COURSES_PER_SUBJECT = 4;
+    static final int CHAPTERS_PER_COURSE = 15;
+    static final int MCQ_PER_EXAM = 10;
+    static final int ROADMAP_SUBJECTS = 8;
+    static final int COMPLETED_CHAPTERS = 5;
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SeededAccount> seed(int accountCount) {
+        seedCatalog();
+        return seedAccounts(accountCount);
+    }
+
+    private void seedCatalog() {
+        List<Object[]> subjects = new ArrayList<>();
+        List<Object[]> courses = new ArrayList<>();
+        List<Object[]> chapters = new ArrayList<>();
+        List<Object[]> exams = new ArrayList<>();
+        List<Object[]> mcqs = new ArrayList<>();
+        long courseId = 0;
+        for (int s = 1; s <= SUBJECTS; s++) {
+            subjects.add(new Object[]{"subject-" + s, "subject " + s + " 에 대해 배워봅시다"});
+            for (int c = 1; c <= COURSES_PER_SUBJECT; c++) {
+                courseId++;
+                courses.add(new Object[]{s, "tutor-" + c, "https://img.devroad.site/course/" + courseId + ".png",
+                        "course-" + courseId, "course " + courseId + " 설명", 1, "online"});
+                for (int ch = 1; ch <= CHAPTERS_PER_COURSE; ch++) {
+                    chapters.add(new Object[]{courseId, "chapter-" + courseId + "-" + ch,
+                            "https://www.youtube.com/watch?v=" + courseId + "_" + ch,
+                            "https://img.devroad.site/chapter/" + courseId + "_" + ch + ".png", "chapter 설명", ch});
+                }
+            }
+            exams.add(new Object[]{s, "", "MCQ " + s, "객관식 시험", 0, "MCQ"});
+            exams.add(new Object[]{s, "https://github.com/devroad/frq-" + s, "FRQ " + s, "주관식 시험", 9900, "FRQ"});
+            for (int q = 1; q <= MCQ_PER_EXAM; q++) {
+                mcqs.add(new Object[]{mcqExamId(s), q, "question-" + q, "다음 중 옳은 것을 고르시오. (" + s + "-" + q + ")",
+                        "보기 1|보기 2|보기 3|보기 4|보기 5", answerOf(q)});
+            }
+        }
+        batch("INSERT INTO Subject (name, description) VALUES (?, ?)", subjects);
+        batch("INSERT INTO Course (subject_id, tutor_name, thumbnail_url, course_name, description, language_id, type) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", courses);
+        batch("INSERT INTO Chapter (course_id, title, chapter_url, thumbnail_url, description, sequence) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", chapters);
+        batch("INSERT INTO Exam (subject_id, url, name, description, price, type) VALUES (?, ?, ?, ?, ?, ?)", exams);
+        batch("INSERT INTO ExamMcq (exam_id, sequence, title, content, choices, ans) VALUES (?, ?, ?, ?, ?, ?)", mcqs);
+    }
+
+    private List<SeededAccount> seedAccounts(int accountCount) {
+        //BCrypt 는 계정마다 돌리면 시드만 수 분이 걸리므로 해시 하나를 공유
+        String passwordHash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt());
+        List<SeededAccount> seededAccounts = new ArrayList<>(accountCount);
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> loginInfos = new ArrayList<>();
+        List<Object[]> subscribes = new ArrayList<>();
+        List<Object[]> roadmaps = new ArrayList<>();
+        List<Object[]> subjectToRoadmaps = new ArrayList<>();
+        List<Object[]> submissions = new ArrayList<>();
+        List<Object[]> completedChapters = new ArrayList<>();
+        for (long a = 1; a <= accountCount; a++) {
+            String email = "loadtest" + a + "@devroad.site";
+            long firstSubject = a % SUBJECTS + 1;
+            long courseId = (firstSubject - 1) * COURSES_PER_SUBJECT + 1;
+            long firstChapter = (courseId - 1) * CHAPTERS_PER_COURSE + 1;
+            long curChapter = firstChapter + COMPLETED_CHAPTERS;
+
+            accounts.add(new Object[]{"user-" + a, a, "010" + (10000000 + a), "Student"});
+            loginInfos.add(new Object[]{email, passwordHash, a});
+            subscribes.add(new Object[]{a});
+            roadmaps.add(new Object[]{"user-" + a + "'s roadmap", curChapter});
+            for (int i = 0; i < ROADMAP_SUBJECTS; i++) {
+                long subjectId = (firstSubject - 1 + i) % SUBJECTS + 1;
+                subjectToRoadmaps.add(new Object[]{a, subjectId, i + 1});
+            }
+            //첫 과목 주관식은 모두 통과 상태로 두어 peer 조회 결과가 비지 않게 함
+            submissions.add(new Object[]{a, frqExamId(firstSubject), "https://github.com/loadtest" + a + "/frq-" + firstSubject, 4});
+            for (int c = 0; c < COMPLETED_CHAPTERS; c++) {
+                completedChapters.add(new Object[]{a, firstChapter + c});
+            }
+            seededAccounts.add(new SeededAccount(email, courseId, curChapter, mcqExamId(firstSubject), frqExamId(firstSubject)));
+        }
+        batch("INSERT INTO Account (name, roadmap_id, phone, type) VALUES (?, ?, ?, ?)", accounts);
+        batch("INSERT INTO LoginInfo (email, password, account_id) VALUES (?, ?, ?)", loginInfos);
+        batch("INSERT INTO Subscribe (account_id, end_at) VALUES (?, DATEADD('DAY', 31, CURRENT_TIMESTAMP))", subscribes);
+        batch("INSERT INTO Roadmap (name, chapter_id) VALUES (?, ?)", roadmaps);
+        batch("INSERT INTO SubjectToRoadmap (roadmap_id, subject_id, sequence) VALUES (?, ?, ?)", subjectToRoadmaps);
+        batch("INSERT INTO ExamSubmission (account_id, exam_id, url, is_passed) VALUES (?, ?, ?, ?)", submissions);
+        batch("INSERT INTO CompletedChapter (account_id, chapter_id) VALUES (?, ?)", completedChapters);
+        return seededAccounts;
+    }
+
+    //q 번째(1부터) 문항의 정답 보기 번호(0부터)
+    static int answerOf(int q) {
+        return q % 5;
+    }
+
+    private static long mcqExamId(long subjectId) {
+        return subjectId * 2 - 1;
+    }
+
+    private static long frqExamId(long subjectId) {
+        return subjectId * 2;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package site.devroad.softeer.loadtest;
+
+//시나리오에서 쓰는 계정별 id (로드맵 첫 과목 기준)
+public class SeededAccount {
+    private final String email;
+    private final Long courseId;
+    private final Long chapterId;
+    private final Long mcqExamId;
+    private final Long frqExamId;
+
+    public SeededAccount(String email, Long courseId, Long chapterId, Long mcqExamId, Long frqExamId) {
+        this.email = email;
+        this.courseId = courseId;
+        this.chapterId = chapterId;
+        this.mcqExamId = mcqExamId;
+        this.frqExamId = frqExamId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getChapterId() {
+        return chapterId;
+    }
+
+    public Long getMcqExamId() {
+        return mcqExamId;
+    }
+
+    public Long getFrqExamId() {
+        return frqExamId;
+    }
+}
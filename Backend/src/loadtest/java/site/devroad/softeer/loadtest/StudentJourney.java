@@ -0,0 +1,89 @@
+package site.devroad.softeer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+//signin -> /api/user -> /api/roadmap -> /api/course -> PUT /api/chapter -> 객관식 시험 -> 결과 제출 -> peer 조회 -> 세션 갱신
+public class StudentJourney {
+    static final String SIGN_IN = "POST /api/user/signin";
+    static final String USER = "GET /api/user";
+    static final String ROADMAP = "GET /api/roadmap";
+    static final String COURSE = "GET /api/course/{id}";
+    static final String FINISH_CHAPTER = "PUT /api/chapter/{id}";
+    static final String EXAM = "GET /api/exam/{id}";
+    static final String EXAM_RESULT = "PUT /api/exam/result";
+    static final String PEER = "GET /api/exam/peer/{id}";
+    static final String REFRESH = "POST /api/user/refresh";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LoadTestReport report;
+
+    public StudentJourney(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, LoadTestReport report) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.report = report;
+        for (String endpoint : new String[]{SIGN_IN, USER, ROADMAP, COURSE, FINISH_CHAPTER, EXAM, EXAM_RESULT, PEER, REFRESH})
+            report.register(endpoint);
+    }
+
+    //iteration 마다 같은 코스의 다음 챕터를 완료 처리
+    public void run(SeededAccount account, int iteration) throws IOException, InterruptedException {
+        HttpResponse<String> signIn = send(SIGN_IN, request("/api/user/signin", null)
+                .POST(json(Map.of("email", account.getEmail(), "password", LoadTestSeeder.PASSWORD))));
+        if (signIn.statusCode() != 200)
+            return;
+        String jwt = objectMapper.readTree(signIn.body()).path("jwt").asText();
+        String refreshToken = objectMapper.readTree(signIn.body()).path("refreshToken").asText();
+
+        send(USER, request("/api/user", jwt).GET());
+        send(ROADMAP, request("/api/roadmap", jwt).GET());
+        send(COURSE, request("/api/course/" + account.getCourseId(), jwt).GET());
+        long chapterId = account.getChapterId() + iteration % (LoadTestSeeder.CHAPTERS_PER_COURSE - LoadTestSeeder.COMPLETED_CHAPTERS);
+        send(FINISH_CHAPTER, request("/api/chapter/" + chapterId, jwt).PUT(HttpRequest.BodyPublishers.noBody()));
+        send(EXAM, request("/api/exam/" + account.getMcqExamId(), jwt).GET());
+        send(EXAM_RESULT, request("/api/exam/result", jwt)
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .PUT(json(Map.of("examId", account.getMcqExamId(), "answers", answers(iteration % 2 == 0)))));
+        send(PEER, request("/api/exam/peer/" + account.getFrqExamId(), jwt).GET());
+        send(REFRESH, request("/api/user/refresh", null).POST(json(Map.of("refreshToken", refreshToken))));
+    }
+
+    //통과/불합격 답안을 번갈아 제출
+    private int[] answers(boolean pass) {
+        int[] answers = new int[LoadTestSeeder.MCQ_PER_EXAM];
+        for (int q = 1; q <= answers.length; q++)
+            answers[q - 1] = pass ? LoadTestSeeder.answerOf(q) : -1;
+        return answers;
+    }
+
+    private HttpRequest.Builder request(String path, String jwt) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (jwt != null)
+            builder.header("jwt", jwt);
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        report.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+}
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.utility.JwtPrincipal;
 import site.devroad.softeer.utility.JwtUtility;
 
 import javax.servlet.http.HttpServletRequest;
@@ -26,11 +27,9 @@ public class AuthInterceptor implements HandlerInterceptor {
         logger.info(request.getMethod() + " " + request.getRequestURI());
         logger.info("jwt is " + request.getHeader("jwt"));
         String jwt = request.getHeader("jwt");
-        jwtUtility.validateToken(jwt);
-        Long accountId = jwtUtility.getAccountId(jwt);
-        String userName = jwtUtility.getUserName(jwt);
-        request.setAttribute("accountId", accountId);
-        request.setAttribute("userName", userName);
+        JwtPrincipal principal = jwtUtility.getPrincipal(jwt);
+        request.setAttribute("accountId", principal.getAccountId());
+        request.setAttribute("userName", principal.getUserName());
         return true;
     }
 }
@@ -0,0 +1,48 @@
+package site.devroad.softeer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.src.exam.ExamPayloadCache;
+import site.devroad.softeer.src.exam.ExamRepo;
+import site.devroad.softeer.src.roadmap.chapter.ChapterRepo;
+import site.devroad.softeer.src.roadmap.course.CourseRepo;
+import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
+
+//기동 시 카탈로그를 미리 읽어 첫 요청부터 캐시에서 응답하도록 함
+@Component
+public class CatalogCachePreloader {
+    private static Logger logger = LoggerFactory.getLogger(CatalogCachePreloader.class);
+    private final SubjectRepo subjectRepo;
+    private final CourseRepo courseRepo;
+    private final ChapterRepo chapterRepo;
+    private final ExamRepo examRepo;
+    private final ExamPayloadCache examPayloadCache;
+
+    public CatalogCachePreloader(SubjectRepo subjectRepo, CourseRepo courseRepo, ChapterRepo chapterRepo, ExamRepo examRepo,
+                                 ExamPayloadCache examPayloadCache) {
+        this.subjectRepo = subjectRepo;
+        this.courseRepo = courseRepo;
+        this.chapterRepo = chapterRepo;
+        this.examRepo = examRepo;
+        this.examPayloadCache = examPayloadCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            subjectRepo.preload();
+            courseRepo.preload();
+            chapterRepo.preload();
+            examRepo.preload();
+            examPayloadCache.preload();
+            logger.info("catalog cache preloaded");
+        } catch (DataAccessException e) {
+            //실패해도 요청 시점에 읽어서 채워짐
+            logger.warn("catalog cache preload failed : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package site.devroad.softeer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+import site.devroad.softeer.utility.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+//Hikari 풀 상태(active/idle/pending)와 커넥션 획득 대기 시간을 MetricsRegistry 로 노출
+//풀이 시작되기 전에 붙여야 하므로 QueryCountingDataSource 로 감싸기 전(before initialization)에 설정
+@Component
+public class DataSourcePoolMetricsPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MetricsRegistry> metricsRegistryProvider;
+
+    public DataSourcePoolMetricsPostProcessor(ObjectProvider<MetricsRegistry> metricsRegistryProvider) {
+        this.metricsRegistryProvider = metricsRegistryProvider;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource && ((HikariDataSource) bean).getMetricsTrackerFactory() == null)
+            ((HikariDataSource) bean).setMetricsTrackerFactory(new PoolMetricsTrackerFactory(metricsRegistryProvider));
+        return bean;
+    }
+
+    static class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+        private final ObjectProvider<MetricsRegistry> metricsRegistryProvider;
+
+        PoolMetricsTrackerFactory(ObjectProvider<MetricsRegistry> metricsRegistryProvider) {
+            this.metricsRegistryProvider = metricsRegistryProvider;
+        }
+
+        //풀이 처음 커넥션을 만들 때 호출되므로 이 시점에는 MetricsRegistry 빈이 준비되어 있음
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            MetricsRegistry metricsRegistry = metricsRegistryProvider.getObject();
+            metricsRegistry.gauge("db_pool_active", poolStats::getActiveConnections, "pool", poolName);
+            metricsRegistry.gauge("db_pool_idle", poolStats::getIdleConnections, "pool", poolName);
+            metricsRegistry.gauge("db_pool_pending", poolStats::getPendingThreads, "pool", poolName);
+            metricsRegistry.gauge("db_pool_total", poolStats::getTotalConnections, "pool", poolName);
+            metricsRegistry.gauge("db_pool_max", poolStats::getMaxConnections, "pool", poolName);
+            return new PoolMetricsTracker(metricsRegistry, poolName);
+        }
+    }
+
+    static class PoolMetricsTracker implements IMetricsTracker {
+        private final MetricsRegistry metricsRegistry;
+        private final String poolName;
+        private final Timer acquireTimer;
+        private final Timer usageTimer;
+
+        PoolMetricsTracker(MetricsRegistry metricsRegistry, String poolName) {
+            this.metricsRegistry = metricsRegistry;
+            this.poolName = poolName;
+            this.acquireTimer = metricsRegistry.timer("db_pool_acquire", "pool", poolName);
+            this.usageTimer = metricsRegistry.timer("db_pool_usage", "pool", poolName);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireTimer.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTimer.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        //connectionTimeout 안에 커넥션을 못 받은 경우 = 풀 고갈
+        @Override
+        public void recordConnectionTimeout() {
+            metricsRegistry.increment("db_pool_timeout_total", "pool", poolName);
+        }
+    }
+}
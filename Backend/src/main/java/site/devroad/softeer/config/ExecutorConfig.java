@@ -0,0 +1,76 @@
+package site.devroad.softeer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    //AI 리뷰는 한 건에 수 분이 걸리므로 톰캣 스레드가 아닌 별도의 제한된 풀에서 실행
+    @Bean(name = "aiReviewExecutor")
+    public ThreadPoolTaskExecutor aiReviewExecutor(@Value("${aiReview.workers:2}") int workers,
+                                                   @Value("${aiReview.queueCapacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-review-");
+        return executor;
+    }
+
+    //OpenAI 호출은 파일 단위로 병렬 실행하되 동시 요청 수는 제한
+    @Bean(name = "openAiExecutor")
+    public ThreadPoolTaskExecutor openAiExecutor(@Value("${openAi.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("open-ai-");
+        return executor;
+    }
+
+    //github blob 다운로드용, 호스트당 동시 요청 수는 OutboundHttpClient 에서 한 번 더 제한
+    @Bean(name = "githubExecutor")
+    public ThreadPoolTaskExecutor githubExecutor(@Value("${github.downloadConcurrency:8}") int downloadConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(downloadConcurrency);
+        executor.setMaxPoolSize(downloadConcurrency);
+        executor.setThreadNamePrefix("github-");
+        return executor;
+    }
+
+    //BCrypt 해시/검증은 CPU 를 오래 잡으므로 톰캣 스레드가 아닌 크기가 제한된 풀에서 실행, 큐가 차면 바로 거절(503)
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${password.hashWorkers:4}") int workers,
+                                                       @Value("${password.queueCapacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    //챕터 완료 journal 을 DB 에 반영하는 스레드 하나
+    @Bean(name = "chapterCompletionExecutor")
+    public ThreadPoolTaskExecutor chapterCompletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("chapter-completion-");
+        return executor;
+    }
+
+    //토스 결제 승인은 리다이렉트 응답과 분리해서 제한된 풀에서 실행, 큐가 차면 PENDING 으로 남겨두고 상태 조회 때 다시 넣음
+    @Bean(name = "paymentExecutor")
+    public ThreadPoolTaskExecutor paymentExecutor(@Value("${payment.workers:2}") int workers,
+                                                  @Value("${payment.queueCapacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        return executor;
+    }
+}
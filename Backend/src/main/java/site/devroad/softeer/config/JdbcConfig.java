@@ -0,0 +1,31 @@
+package site.devroad.softeer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class JdbcConfig {
+
+    //모든 Repo 가 공유하는 JdbcTemplate, 쿼리가 커넥션을 무한정 잡고 있지 않도록 타임아웃을 둠
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource,
+                                     @Value("${jdbc.fetchSize:-1}") int fetchSize,
+                                     @Value("${jdbc.maxRows:-1}") int maxRows,
+                                     @Value("${jdbc.queryTimeoutSeconds:30}") int queryTimeoutSeconds) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        jdbcTemplate.setMaxRows(maxRows);
+        jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        return jdbcTemplate;
+    }
+
+    @Bean
+    public NamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+}
@@ -0,0 +1,55 @@
+package site.devroad.softeer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import site.devroad.softeer.utility.sql.QueryContext;
+import site.devroad.softeer.utility.sql.QueryStats;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+//요청별 SQL 수/DB 시간 집계, 기준을 넘거나 같은 형태의 문장이 반복되면(N+1) 경고 로그
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+    private final int maxQueries;
+    private final int repeatThreshold;
+
+    public QueryCountFilter(@Value("${sql.diagnostics.maxQueries:20}") int maxQueries,
+                            @Value("${sql.diagnostics.repeatThreshold:5}") int repeatThreshold) {
+        this.maxQueries = maxQueries;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats stats = QueryContext.end();
+            if (stats.getCount() > maxQueries || stats.getMaxRepeat() >= repeatThreshold)
+                warn(request, stats);
+        }
+    }
+
+    private void warn(HttpServletRequest request, QueryStats stats) {
+        List<Map.Entry<String, Integer>> repeated = stats.getRepeated(repeatThreshold);
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : repeated.isEmpty() ? stats.getRepeated(1) : repeated)
+            sb.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+        logger.warn("{} {} : {} queries, {} ms in DB{}", request.getMethod(), request.getRequestURI(),
+                stats.getCount(), stats.getMillis(), sb);
+    }
+}
@@ -0,0 +1,39 @@
+package site.devroad.softeer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import site.devroad.softeer.utility.sql.QueryContext;
+import site.devroad.softeer.utility.sql.QueryStats;
+
+//진단 모드(sql.diagnostics.headers=true)에서 응답 헤더에 요청의 SQL 수/DB 시간을 붙임
+//본문을 쓰기 직전에 붙이므로 응답이 커밋되기 전까지의 쿼리만 집계됨
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+    private final boolean headersEnabled;
+
+    public QueryCountHeaderAdvice(@Value("${sql.diagnostics.headers:false}") boolean headersEnabled) {
+        this.headersEnabled = headersEnabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headersEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryContext.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(stats.getCount()));
+            response.getHeaders().set("X-Query-Time-Millis", String.valueOf(stats.getMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,25 @@
+package site.devroad.softeer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.sql.QueryCountingDataSource;
+
+import javax.sql.DataSource;
+
+//모든 Repo 가 받는 DataSource 빈을 QueryCountingDataSource 로 감쌈
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+    private final boolean enabled;
+
+    public QueryCountingDataSourcePostProcessor(@Value("${sql.diagnostics.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource && !(bean instanceof QueryCountingDataSource))
+            return new QueryCountingDataSource((DataSource) bean);
+        return bean;
+    }
+}
@@ -19,6 +19,8 @@ public class SpringConfig implements WebMvcConfigurer {
         registry.addInterceptor(authInterceptor).addPathPatterns("/**")
                 .excludePathPatterns("/api/user/signup"
                         , "/api/user/signin"
+                        , "/api/user/refresh"
+                        , "/api/user/signout"
                         , "/api/purchase/exam/success"
                         , "/api/purchase/exam/fail");
     }
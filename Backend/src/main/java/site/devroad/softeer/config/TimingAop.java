@@ -0,0 +1,93 @@
+package site.devroad.softeer.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+import site.devroad.softeer.utility.metrics.Timer;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//컨트롤러, *Repo, 외부 API 유틸리티 메서드의 호출 수/지연시간 측정
+//메서드 별로 Timer 를 캐싱해 두어 호출당 비용은 nanoTime 두 번과 map 조회 한 번
+//Spring AOP 의 join point 는 호출마다 새로 만들어지고 equals 가 없으므로 키로 쓰면 안 됨
+@Aspect
+@Component
+public class TimingAop {
+    private final MetricsRegistry metricsRegistry;
+    private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public TimingAop(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            String status = result instanceof ResponseEntity ? String.valueOf(((ResponseEntity<?>) result).getStatusCodeValue()) : "200";
+            record(joinPoint, "http_server_requests", status, start);
+            return result;
+        } catch (CustomException e) {
+            record(joinPoint, "http_server_requests", String.valueOf(e.getExceptionType().getStatus().value()), start);
+            metricsRegistry.increment("app_exceptions_total", "type", e.getExceptionType().name());
+            throw e;
+        } catch (Throwable e) {
+            record(joinPoint, "http_server_requests", "500", start);
+            throw e;
+        }
+    }
+
+    @Around("execution(public * site.devroad.softeer.src..*Repo.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeCall(joinPoint, "repository_calls");
+    }
+
+    @Around("execution(public * site.devroad.softeer.utility.GithubUtility.*(..))" +
+            " || execution(public * site.devroad.softeer.utility.OpenAiUtility.*(..))" +
+            " || execution(public * site.devroad.softeer.utility.TossUtility.*(..))")
+    public Object timeOutbound(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeCall(joinPoint, "outbound_calls");
+    }
+
+    private Object timeCall(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            record(joinPoint, name, "success", start);
+            return result;
+        } catch (Throwable e) {
+            record(joinPoint, name, "error", start);
+            throw e;
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, String name, String outcome, long start) {
+        long elapsed = System.nanoTime() - start;
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<String, Timer> byOutcome = timers.get(method);
+        if (byOutcome == null)
+            byOutcome = timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        Timer timer = byOutcome.get(outcome);
+        if (timer == null) {
+            String outcomeTag = name.equals("http_server_requests") ? "status" : "outcome";
+            timer = byOutcome.computeIfAbsent(outcome, key -> metricsRegistry.timer(name,
+                    "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "method", joinPoint.getSignature().getName(),
+                    outcomeTag, outcome));
+        }
+        timer.record(elapsed);
+    }
+
+    //캐싱된 Timer 수, 테스트에서 호출 수와 무관하게 유지되는지 확인하는 용도
+    public int cachedTimerCount() {
+        return timers.values().stream().mapToInt(Map::size).sum();
+    }
+}
@@ -19,6 +19,7 @@ public enum ExceptionType {
 
     CHAPTER_NOT_FOUND(HttpStatus.NOT_FOUND, "Chapter not found", 1011),
     SUBJECT_TO_ROADMAP_NOT_FOUND(HttpStatus.NOT_FOUND, "Subject to roadmap not found", 1012),
+    PASSWORD_HASH_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign in requests, try again later", 1013),
 
 
 
@@ -29,6 +30,8 @@ public enum ExceptionType {
     //JWT Related Exceptions
     JWT_NOT_VALID(HttpStatus.BAD_REQUEST, "JWT not valid", 1201),
     NO_ADMIN_USER(HttpStatus.BAD_REQUEST, "Not admin", 1202),
+    REFRESH_TOKEN_NOT_VALID(HttpStatus.UNAUTHORIZED, "Refresh token not valid", 1203),
+    REFRESH_TOKEN_REUSED(HttpStatus.UNAUTHORIZED, "Refresh token already used", 1204),
 
 
 
@@ -39,6 +42,10 @@ public enum ExceptionType {
     TOSS_PURCHASE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Toss purchase io exception done error",1304),
     EXAM_ALREADY_PURCHASED(HttpStatus.BAD_REQUEST, "Exam Already purchased", 1304),
     EXAM_SUBMISSION_NOT_FOUND(HttpStatus.NOT_FOUND, "Exam submission not exist", 1305),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key already used with a different request", 1306),
+    EXAM_ANSWERS_INVALID(HttpStatus.BAD_REQUEST, "Answers do not match the exam questions", 1307),
+    PAYMENT_ORDER_INVALID(HttpStatus.BAD_REQUEST, "Payment order id is not valid", 1308),
+    PAYMENT_ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "Payment order not exist", 1309),
 
 
     //Github erros
@@ -51,6 +58,8 @@ public enum ExceptionType {
 
     //AI Review Related Error
     AI_REVIEW_ALREADY_DONE(HttpStatus.BAD_REQUEST, "AI Review already done" , 1602),
+    AI_REVIEW_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "AI Review queue is full, try again later", 1603),
+    AI_REVIEW_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "AI Review job not found", 1604),
 
     //Last Exceptions
     DATABASE_NOT_CONNECTED(HttpStatus.INTERNAL_SERVER_ERROR, "Database not connected", 2001);
@@ -0,0 +1,80 @@
+package site.devroad.softeer.src.admin;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.aireview.AiCodeCache;
+import site.devroad.softeer.src.user.UserService;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
+import site.devroad.softeer.utility.metrics.LatencyHistogram;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//운영 확인용 통계 API (Admin 계정만)
+@RestController
+public class AdminController {
+    private UserService userService;
+    private AiCodeCache aiCodeCache;
+    private OutboundHttpClient outboundHttpClient;
+    private CatalogCacheRegistry catalogCacheRegistry;
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    public AdminController(UserService userService, AiCodeCache aiCodeCache, OutboundHttpClient outboundHttpClient, CatalogCacheRegistry catalogCacheRegistry, MetricsRegistry metricsRegistry) {
+        this.userService = userService;
+        this.aiCodeCache = aiCodeCache;
+        this.outboundHttpClient = outboundHttpClient;
+        this.catalogCacheRegistry = catalogCacheRegistry;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    //Prometheus text format (컨트롤러/Repo/외부 API 호출 타이머, 예외 카운터, JVM 게이지)
+    @GetMapping(value = "/api/admin/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public ResponseEntity<String> getMetrics(@RequestAttribute Long accountId) {
+        checkAdmin(accountId);
+        return new ResponseEntity<>(metricsRegistry.scrape(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/ai/cache")
+    public ResponseEntity<?> getAiCodeCacheStats(@RequestAttribute Long accountId) {
+        checkAdmin(accountId);
+        return new ResponseEntity<>(aiCodeCache.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/http/latency")
+    public ResponseEntity<?> getOutboundLatency(@RequestAttribute Long accountId) {
+        checkAdmin(accountId);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : outboundHttpClient.getLatencyByHost().entrySet())
+            latency.put(entry.getKey(), entry.getValue().snapshot());
+        return new ResponseEntity<>(latency, HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/catalog/cache")
+    public ResponseEntity<?> getCatalogCacheStats(@RequestAttribute Long accountId) {
+        checkAdmin(accountId);
+        return new ResponseEntity<>(catalogCacheRegistry.stats(), HttpStatus.OK);
+    }
+
+    //과목/코스/챕터/시험 내용을 DB 에서 직접 수정한 뒤 호출 (entity 가 없으면 전체)
+    @DeleteMapping("/api/admin/catalog/cache")
+    public ResponseEntity<?> invalidateCatalogCache(@RequestAttribute Long accountId, @RequestParam(value = "entity", required = false) String entity) {
+        checkAdmin(accountId);
+        if (entity == null) {
+            catalogCacheRegistry.invalidateAll();
+            return new ResponseEntity<>(Map.of("success", true), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(Map.of("success", catalogCacheRegistry.invalidate(entity)), HttpStatus.OK);
+    }
+
+    private void checkAdmin(Long accountId) {
+        if (!userService.isAdmin(accountId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+    }
+}
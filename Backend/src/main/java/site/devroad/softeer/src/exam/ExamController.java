@@ -3,22 +3,34 @@ package site.devroad.softeer.src.exam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
-import site.devroad.softeer.src.exam.dto.GetExamDetailRes;
+import site.devroad.softeer.src.exam.aireview.AiReviewJob;
+import site.devroad.softeer.src.exam.aireview.AiReviewJobService;
+import site.devroad.softeer.src.exam.aireview.AiReviewJobState;
 import site.devroad.softeer.src.exam.dto.PostAssignSubmitReq;
 import site.devroad.softeer.src.exam.dto.PutExamDetailReq;
-import site.devroad.softeer.src.exam.dto.domain.ExamDetail;
+import site.devroad.softeer.src.exam.dto.PutExamDetailRes;
 import site.devroad.softeer.src.exam.model.ExamSubmission;
+import site.devroad.softeer.src.exam.payment.PaymentConfirmService;
+import site.devroad.softeer.src.exam.payment.PaymentOrder;
 import site.devroad.softeer.src.roadmap.RoadmapService;
 import site.devroad.softeer.src.user.UserService;
 import site.devroad.softeer.utility.JwtUtility;
-import site.devroad.softeer.utility.TossUtility;
+import site.devroad.softeer.utility.cache.IdempotencyCache;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 public class ExamController {
@@ -27,23 +39,29 @@ public class ExamController {
     private UserService userService;
     private JwtUtility jwtUtility;
     private RoadmapService roadmapService;
-    private TossUtility tossUtility;
+    private PaymentConfirmService paymentConfirmService;
+    private AiReviewJobService aiReviewJobService;
+    private final IdempotencyCache<PutExamDetailRes> examResultIdempotency;
 
     @Autowired
-    public ExamController(ExamService examService, UserService userService, JwtUtility jwtUtility, RoadmapService roadmapService, TossUtility tossUtility) {
+    public ExamController(ExamService examService, UserService userService, JwtUtility jwtUtility, RoadmapService roadmapService, PaymentConfirmService paymentConfirmService, AiReviewJobService aiReviewJobService,
+                          @Value("${exam.idempotency.ttlMinutes:10}") long idempotencyTtlMinutes,
+                          @Value("${exam.idempotency.maxSize:10000}") int idempotencyMaxSize) {
         this.examService = examService;
         this.userService = userService;
         this.jwtUtility = jwtUtility;
         this.roadmapService = roadmapService;
-        this.tossUtility = tossUtility;
+        this.paymentConfirmService = paymentConfirmService;
+        this.aiReviewJobService = aiReviewJobService;
+        this.examResultIdempotency = new IdempotencyCache<>(Duration.ofMinutes(idempotencyTtlMinutes).toMillis(), idempotencyMaxSize,
+                System::currentTimeMillis);
     }
 
     @GetMapping("/api/exam/{examId}")
     public ResponseEntity<?> getExamDetail(@PathVariable("examId") Long examId, @RequestAttribute Long accountId) {
 
         examService.checkExamPurchased(accountId);
-        ExamDetail examDetail = examService.getExamDetail(examId);
-        return new ResponseEntity<>(new GetExamDetailRes(true, examDetail), HttpStatus.OK);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(examService.getExamDetailJson(examId));
     }
 
     @PostMapping("/api/exam/assignment")
@@ -58,16 +76,24 @@ public class ExamController {
         return new ResponseEntity<>(examService.getAssignmentDetail(examSubmissionId), HttpStatus.OK);
     }
 
+    //토스 승인은 백그라운드에서 진행하고 바로 리다이렉트, 결과는 /api/purchase/order/{orderId} 로 확인
     @GetMapping("/api/purchase/exam/success")
     public ResponseEntity<?> purchaseSuccess(@RequestParam String orderId, @RequestParam String paymentKey, @RequestParam Integer amount) {
-        logger.info("staring Toss server validation \norder_id : {}\n paymentKey : {} \n amount : {}", orderId, paymentKey, amount);
-        tossUtility.validateTossParams(orderId, paymentKey, amount);
-        examService.makePurchasedByTossOrderId(orderId);
+        logger.info("accepting Toss payment \norder_id : {}\n paymentKey : {} \n amount : {}", orderId, paymentKey, amount);
+        paymentConfirmService.accept(orderId, paymentKey, amount);
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-        map.add("Location", "https://devroad.site/roadmap");
+        map.add("Location", "https://devroad.site/roadmap?orderId=" + URLEncoder.encode(orderId, StandardCharsets.UTF_8));
         return new ResponseEntity<>("", map, HttpStatus.TEMPORARY_REDIRECT);
     }
 
+    @GetMapping("/api/purchase/order/{orderId}")
+    public ResponseEntity<?> getPurchaseOrder(@RequestAttribute Long accountId, @PathVariable("orderId") String orderId) {
+        PaymentOrder order = paymentConfirmService.findOrder(orderId, accountId);
+        if (order.getErrorMessage() == null)
+            return new ResponseEntity<>(Map.of("success", true, "state", order.getState()), HttpStatus.OK);
+        return new ResponseEntity<>(Map.of("success", true, "state", order.getState(), "errorMessage", order.getErrorMessage()), HttpStatus.OK);
+    }
+
     @GetMapping("/api/purchase/exam/fail")
     public ResponseEntity<?> purchaseFail() {
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
@@ -75,36 +101,40 @@ public class ExamController {
         return new ResponseEntity<>("", map, HttpStatus.TEMPORARY_REDIRECT);
     }
 
+    //답안을 받아 서버에서 채점, Idempotency-Key 가 있으면 같은 키의 재시도는 DB 를 거치지 않고 처음 응답을 돌려줌
     @PutMapping("/api/exam/result")
-    public ResponseEntity<?> putExamResult(@RequestAttribute Long accountId, @RequestBody PutExamDetailReq req) {
-        return new ResponseEntity<>(examService.getExamDetailRes(req, accountId), HttpStatus.ACCEPTED);
+    public ResponseEntity<?> putExamResult(@RequestAttribute Long accountId, @RequestBody PutExamDetailReq req,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank())
+            return new ResponseEntity<>(examService.gradeMcqExam(req, accountId), HttpStatus.ACCEPTED);
+        PutExamDetailRes res = examResultIdempotency.execute(accountId + ":" + idempotencyKey,
+                List.of(String.valueOf(req.getExamId()), Arrays.toString(req.getAnswers())),
+                () -> examService.gradeMcqExam(req, accountId));
+        return new ResponseEntity<>(res, HttpStatus.ACCEPTED);
     }
 
 
     @PostMapping("/api/exam/ai/{examId}")
     public ResponseEntity<?> doSubmissionAI(@RequestAttribute Long accountId, @PathVariable("examId") Long examId){
         ExamSubmission submission = examService.getSubmissionByExamIdAndAccountId(examId, accountId);
-        Thread runnable = new Thread(
-                ()->{
-                    examService.doAiReview(submission.getId());
-                }
-        );
-        runnable.run();
-        return new ResponseEntity<>(Map.of("success", true), HttpStatus.OK);
+        AiReviewJob job = aiReviewJobService.enqueue(submission.getId());
+        return new ResponseEntity<>(Map.of("success", true, "state", job.getState()), HttpStatus.OK);
     }
 
     @GetMapping("/api/exam/ai/{examId}")
     public ResponseEntity<?> isAIReviewFinish(@RequestAttribute Long accountId, @PathVariable("examId") Long examId){
         ExamSubmission submission = examService.getSubmissionByExamIdAndAccountId(examId, accountId);
-        String url = examService.getAssignmentDetail(submission.getId()).getAssignment().getUrl();
-        if(url.contains("/issues/"))
-            return new ResponseEntity<>(Map.of("success", true, "issueUrl", url), HttpStatus.OK);
-        if(!url.contains("github"))
-            return new ResponseEntity<>(Map.of("success", true, "issueUrl", url), HttpStatus.OK);
-        return new ResponseEntity<>(Map.of("success", false), HttpStatus.OK);
+        Optional<AiReviewJob> optionalJob = aiReviewJobService.findJob(submission.getId());
+        if (optionalJob.isEmpty())
+            return new ResponseEntity<>(Map.of("success", false), HttpStatus.OK);
+        AiReviewJob job = optionalJob.get();
+        if (job.getState() == AiReviewJobState.DONE)
+            return new ResponseEntity<>(Map.of("success", true, "state", job.getState(), "issueUrl", job.getIssueUrl()), HttpStatus.OK);
+        if (job.getState() == AiReviewJobState.FAILED)
+            return new ResponseEntity<>(Map.of("success", false, "state", job.getState(), "message", String.valueOf(job.getErrorMessage())), HttpStatus.OK);
+        return new ResponseEntity<>(Map.of("success", false, "state", job.getState()), HttpStatus.OK);
     }
 
-
     @GetMapping("/api/exam/peer/{examId}")
     public ResponseEntity<?> getPeerDetail(@RequestAttribute Long accountId, @PathVariable("examId") Long examId){
         return new ResponseEntity<>(examService.getPeerDetail(accountId, examId),HttpStatus.OK);
@@ -0,0 +1,39 @@
+package site.devroad.softeer.src.exam;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@Repository
+public class ExamMcqAnswerRepo {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamMcqAnswerRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //문항별 결과를 batch 한 번으로 기록, 다시 제출하면 덮어씀
+    //배열을 그대로 읽어 문항마다 Object[] 를 만들지 않음
+    public void saveAnswers(Long accountId, Long examId, long[] sequences, int[] answerKey, int[] chosen) {
+        jdbcTemplate.batchUpdate("INSERT INTO ExamMcqAnswer (account_id, exam_id, sequence, chosen, correct) VALUES (?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE chosen = VALUES(chosen), correct = VALUES(correct), created_at = CURRENT_TIMESTAMP",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, accountId);
+                        ps.setLong(2, examId);
+                        ps.setLong(3, sequences[i]);
+                        ps.setInt(4, chosen[i]);
+                        ps.setBoolean(5, chosen[i] == answerKey[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return sequences.length;
+                    }
+                });
+    }
+}
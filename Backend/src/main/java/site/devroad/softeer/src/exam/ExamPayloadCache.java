@@ -0,0 +1,124 @@
+package site.devroad.softeer.src.exam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.dto.GetExamDetailRes;
+import site.devroad.softeer.src.exam.dto.domain.ExamDetail;
+import site.devroad.softeer.src.exam.dto.domain.MultiChoiceQuestion;
+import site.devroad.softeer.src.exam.model.ExamMcq;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+//시험별로 ExamDetail 과 GET /api/exam/{examId} 응답 JSON 을 미리 만들어 두는 캐시
+//"exam.payload" 로 등록되므로 시험을 고친 뒤 DELETE /api/admin/catalog/cache?entity=exam 으로 같이 비워짐
+@Component
+public class ExamPayloadCache {
+    private final ExamRepo examRepo;
+    private final ObjectMapper objectMapper;
+    private final ReadThroughCache<Long, ExamPayload> payloadCache;
+
+    public ExamPayloadCache(ExamRepo examRepo, ObjectMapper objectMapper, CatalogCacheRegistry catalogCacheRegistry) {
+        this.examRepo = examRepo;
+        this.objectMapper = objectMapper;
+        this.payloadCache = catalogCacheRegistry.create("exam.payload");
+    }
+
+    //객관식 시험은 시험 중에 조회되므로 기동 시 미리 만들어 둠
+    public void preload() {
+        for (Long examId : examRepo.findExamIdsByType("MCQ"))
+            get(examId);
+    }
+
+    //없는 시험이면 EXAM_NOT_FOUND, 실패는 캐시하지 않음
+    public ExamPayload get(Long examId) {
+        return payloadCache.get(examId, this::load);
+    }
+
+    private ExamPayload load(Long examId) {
+        Optional<ExamDetail> examDetailById = examRepo.findExamDetailById(examId);
+        if (examDetailById.isEmpty()) {
+            throw new CustomException(ExceptionType.EXAM_NOT_FOUND);
+        }
+        ExamDetail examDetail = examDetailById.get();
+        long[] sequences = null;
+        int[] answerKey = null;
+        if (examDetail.getType().equals("MCQ")) {
+            List<ExamMcq> questionsByExamId = examRepo.findQuestionsByExamId(examId);
+            examDetail = ExamDetail.createMCQDetail(examDetail, getMCQs(questionsByExamId));
+            sequences = new long[questionsByExamId.size()];
+            answerKey = new int[questionsByExamId.size()];
+            for (int i = 0; i < questionsByExamId.size(); i++) {
+                sequences[i] = questionsByExamId.get(i).getSequence();
+                answerKey[i] = questionsByExamId.get(i).getAns();
+            }
+        }
+        try {
+            return new ExamPayload(examDetail, objectMapper.writeValueAsBytes(new GetExamDetailRes(true, examDetail)), sequences, answerKey);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<MultiChoiceQuestion> getMCQs(List<ExamMcq> questions) {
+        List<MultiChoiceQuestion> mcqs = new ArrayList<>(questions.size());
+        for (ExamMcq examMcq : questions) {
+            if (examMcq == null)
+                continue;
+            mcqs.add(new MultiChoiceQuestion(examMcq));
+        }
+        return List.copyOf(mcqs);
+    }
+
+    public static class ExamPayload {
+        private final ExamDetail examDetail;
+        private final byte[] json;
+        //객관식만, 문항 순서대로의 sequence 와 정답 번호
+        private final long[] sequences;
+        private final int[] answerKey;
+
+        ExamPayload(ExamDetail examDetail, byte[] json, long[] sequences, int[] answerKey) {
+            this.examDetail = examDetail;
+            this.json = json;
+            this.sequences = sequences;
+            this.answerKey = answerKey;
+        }
+
+        public boolean isGradable(int[] chosen) {
+            return answerKey != null && answerKey.length > 0 && chosen != null && chosen.length == answerKey.length;
+        }
+
+        //chosen[i] 는 i 번째 문항에서 고른 보기 번호 (고르지 않았으면 -1), isGradable 을 먼저 확인할 것
+        public int countCorrect(int[] chosen) {
+            int correct = 0;
+            for (int i = 0; i < answerKey.length; i++) {
+                if (chosen[i] == answerKey[i])
+                    correct++;
+            }
+            return correct;
+        }
+
+        public ExamDetail getExamDetail() {
+            return examDetail;
+        }
+
+        //아래 배열들은 캐시에 있는 그대로이므로 고치지 말 것
+        public byte[] getJson() {
+            return json;
+        }
+
+        public long[] getSequences() {
+            return sequences;
+        }
+
+        public int[] getAnswerKey() {
+            return answerKey;
+        }
+    }
+}
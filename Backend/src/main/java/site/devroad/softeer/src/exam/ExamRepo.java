@@ -8,8 +8,9 @@ import org.springframework.stereotype.Repository;
 import site.devroad.softeer.src.exam.dto.domain.ExamDetail;
 import site.devroad.softeer.src.exam.model.Exam;
 import site.devroad.softeer.src.exam.model.ExamMcq;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
 
-import javax.sql.DataSource;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,10 +19,20 @@ import java.util.Optional;
 public class ExamRepo {
 
     private JdbcTemplate jdbcTemplate;
+    //key : subjectId + ":" + type
+    private ReadThroughCache<String, Optional<Exam>> subjectExamCache;
 
     @Autowired
-    public ExamRepo(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
+    public ExamRepo(JdbcTemplate jdbcTemplate, CatalogCacheRegistry catalogCacheRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        subjectExamCache = catalogCacheRegistry.create("exam.bySubjectAndType");
+    }
+
+    public void preload() {
+        jdbcTemplate.query("select * from Exam", rs -> {
+            Exam exam = examRowMapper().mapRow(rs, 0);
+            subjectExamCache.put(subjectExamKey(exam.getSubjectId(), rs.getString("type")), Optional.of(exam));
+        });
     }
 
 
@@ -34,6 +45,14 @@ public class ExamRepo {
     }
 
     public Optional<Exam> findExamBySubjectIdAndType(Long subjectId, String type) {
+        return subjectExamCache.get(subjectExamKey(subjectId, type), key -> loadExamBySubjectIdAndType(subjectId, type));
+    }
+
+    private String subjectExamKey(Long subjectId, String type) {
+        return subjectId + ":" + type;
+    }
+
+    private Optional<Exam> loadExamBySubjectIdAndType(Long subjectId, String type) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("select * from Exam where subject_id = ? and type = ?"
                     , examRowMapper(), subjectId, type));
@@ -68,6 +87,10 @@ public class ExamRepo {
         }
     }
 
+    public List<Long> findExamIdsByType(String type) {
+        return jdbcTemplate.queryForList("SELECT id FROM Exam WHERE type = ?", Long.class, type);
+    }
+
     public List<ExamMcq> findQuestionsByExamId(Long examId) {
         return jdbcTemplate.query("SELECT mcq.* FROM ExamMcq mcq \n" +
                 "JOIN Exam e ON e.id = mcq.exam_id \n" +
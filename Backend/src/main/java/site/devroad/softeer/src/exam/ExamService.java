@@ -3,25 +3,26 @@ package site.devroad.softeer.src.exam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.aireview.AiReviewPipeline;
+import site.devroad.softeer.src.exam.aireview.FileReview;
 import site.devroad.softeer.src.exam.dto.*;
 import site.devroad.softeer.src.exam.dto.domain.Assignment;
 import site.devroad.softeer.src.exam.dto.domain.ExamDetail;
-import site.devroad.softeer.src.exam.dto.domain.MultiChoiceQuestion;
 import site.devroad.softeer.src.exam.dto.domain.PeerDetail;
 import site.devroad.softeer.src.exam.model.Exam;
-import site.devroad.softeer.src.exam.model.ExamMcq;
 import site.devroad.softeer.src.exam.model.ExamSubmission;
 import site.devroad.softeer.src.exam.model.SubmissionType;
 import site.devroad.softeer.src.roadmap.subject.Subject;
 import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
 import site.devroad.softeer.src.user.UserRepo;
 import site.devroad.softeer.src.user.model.Account;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
 import site.devroad.softeer.utility.GithubUtility;
-import site.devroad.softeer.utility.OpenAiUtility;
 
 import java.util.*;
 
@@ -34,16 +35,28 @@ public class ExamService {
     private ExamSubmissionRepo examSubmissionRepo;
     private UserRepo userRepo;
     private GithubUtility githubUtility;
-    private OpenAiUtility openAiUtility;
+    private AiReviewPipeline aiReviewPipeline;
+    private ProgressRepo progressRepo;
+    private ExamPayloadCache examPayloadCache;
+    private ExamMcqAnswerRepo examMcqAnswerRepo;
+    private PeerPool peerPool;
+    private int passingScore;
 
     @Autowired
-    public ExamService(ExamRepo examRepo, SubjectRepo subjectRepo, ExamSubmissionRepo examSubmissionRepo, UserRepo userRepo, GithubUtility githubUtility, OpenAiUtility openAiUtility) {
+    public ExamService(ExamRepo examRepo, SubjectRepo subjectRepo, ExamSubmissionRepo examSubmissionRepo, UserRepo userRepo, GithubUtility githubUtility, AiReviewPipeline aiReviewPipeline, ProgressRepo progressRepo,
+                       ExamPayloadCache examPayloadCache, ExamMcqAnswerRepo examMcqAnswerRepo, PeerPool peerPool,
+                       @Value("${exam.passingScore:80}") int passingScore) {
         this.examRepo = examRepo;
         this.subjectRepo = subjectRepo;
         this.examSubmissionRepo = examSubmissionRepo;
         this.userRepo = userRepo;
         this.githubUtility = githubUtility;
-        this.openAiUtility = openAiUtility;
+        this.aiReviewPipeline = aiReviewPipeline;
+        this.progressRepo = progressRepo;
+        this.examPayloadCache = examPayloadCache;
+        this.examMcqAnswerRepo = examMcqAnswerRepo;
+        this.peerPool = peerPool;
+        this.passingScore = passingScore;
     }
 
     public Boolean isUserPassedExam(Long subjectId, Long accountId) {
@@ -74,35 +87,12 @@ public class ExamService {
     }
 
     public ExamDetail getExamDetail(Long examId) {
-        Optional<ExamDetail> examDetailById = examRepo.findExamDetailById(examId);
-        if (examDetailById.isEmpty()) {
-            throw new CustomException(ExceptionType.EXAM_NOT_FOUND);
-        }
-        ExamDetail examDetail = examDetailById.get();
-        String type = examDetail.getType();
-        if (type.equals("MCQ")) {
-            List<ExamMcq> questionsByExamId = examRepo.findQuestionsByExamId(examId);
-            return ExamDetail.createMCQDetail(examDetail, getAns(questionsByExamId), getMCQs(questionsByExamId));
-        }
-        return examDetail;
+        return examPayloadCache.get(examId).getExamDetail();
     }
 
-    public List<Integer> getAns(List<ExamMcq> questions) {
-        List<Integer> ans = new ArrayList<>();
-        for (ExamMcq examMcq : questions) {
-            ans.add(examMcq.getAns());
-        }
-        return ans;
-    }
-
-    public List<MultiChoiceQuestion> getMCQs(List<ExamMcq> questions) {
-        List<MultiChoiceQuestion> ans = new ArrayList<>();
-        for (ExamMcq examMcq : questions) {
-            if (examMcq == null)
-                continue;
-            ans.add(new MultiChoiceQuestion(examMcq));
-        }
-        return ans;
+    //GET /api/exam/{examId} 응답 본문 (미리 직렬화된 JSON)
+    public byte[] getExamDetailJson(Long examId) {
+        return examPayloadCache.get(examId).getJson();
     }
 
     public void checkExamPurchased(Long accountId) {
@@ -113,29 +103,40 @@ public class ExamService {
 
     public void submitAssignment(Long accountId, PostAssignSubmitReq req) {
         examSubmissionRepo.addFrqExamSubmission(accountId, req.getExamId(), req.getUrl(), req.getDescription());
+        peerPool.invalidate(req.getExamId());
     }
 
-    public void makePurchasedByTossOrderId(String orderId) {
-        //   orderId : accountId + "_" + examId + "_" + randomStr,
-        String[] parsedOrderId = orderId.split("_");
-        Long accountId = Long.valueOf(parsedOrderId[0]);
+    public void makePurchased(Long accountId) {
         if (!userRepo.isUserSubscribed(accountId)) {
             userRepo.doSubscribe(accountId);
         }
         userRepo.extendSubscribeEndDate(accountId, 31);
     }
 
-    public PutExamDetailRes getExamDetailRes(PutExamDetailReq req, Long accountId) {
-        Boolean result = req.getResult();
+    //정답은 캐시된 ExamPayload 에만 있고 클라이언트가 보낸 답안을 메모리에서 채점
+    @Transactional
+    public PutExamDetailRes gradeMcqExam(PutExamDetailReq req, Long accountId) {
         Long examId = req.getExamId();
+        int[] answers = req.getAnswers();
+        if (examId == null)
+            throw new CustomException(ExceptionType.EXAM_ANSWERS_INVALID);
+        ExamPayloadCache.ExamPayload payload = examPayloadCache.get(examId);
+        if (!payload.isGradable(answers))
+            throw new CustomException(ExceptionType.EXAM_ANSWERS_INVALID);
+        int questionCount = payload.getAnswerKey().length;
+        int correctCount = payload.countCorrect(answers);
+        int score = correctCount * 100 / questionCount;
+        boolean result = score >= passingScore;
+
+        examMcqAnswerRepo.saveAnswers(accountId, examId, payload.getSequences(), payload.getAnswerKey(), answers);
         SubmissionType submissionType = result ? SubmissionType.PASSED : SubmissionType.FAILED;
-        if(examSubmissionRepo.findByExamIdAndAccountId(req.getExamId(), accountId).isPresent()){
-            examSubmissionRepo.updateByExamIdAndAccountId(examId, accountId, submissionType);
-        }
-        else{
-            examSubmissionRepo.addMcqExamSubmission(req.getExamId(), accountId, submissionType);
-        }
-        return new PutExamDetailRes();
+        //조회 후 분기하지 않고 unique key 기반 upsert 한 번으로 기록 (더블 클릭에도 행이 하나만 생김)
+        SubmissionType previous = examSubmissionRepo.upsertMcqResult(examId, accountId, submissionType);
+        boolean wasPassed = previous == SubmissionType.PASSED;
+        //통과 여부가 바뀐 경우에만 진행 집계에 반영
+        if(wasPassed != result)
+            progressRepo.addPassedSubjects(accountId, examId, result ? 1 : -1);
+        return new PutExamDetailRes(score, correctCount, questionCount, result);
     }
 
     public GetAssignmentDetail getAssignmentDetail(Long examSubmissionId) {
@@ -151,8 +152,8 @@ public class ExamService {
         return new GetAssignmentDetail(assignment);
     }
 
-    @Async
-    public void doAiReview(Long examSubmissionId) {
+    //AiReviewJobService의 작업 스레드에서 호출되며 생성된 이슈 url을 반환
+    public String doAiReview(Long examSubmissionId) {
         Optional<ExamSubmission> optionalExamSubmission = examSubmissionRepo.findExamSubmissionById(examSubmissionId);
         if(optionalExamSubmission.isEmpty())
             throw new CustomException(ExceptionType.EXAM_SUBMISSION_NOT_FOUND);
@@ -171,48 +172,42 @@ public class ExamService {
         //get main file type from url
         String extension = githubUtility.getMainExtensionFromRepo(username, repos);
 
-        //Making code summary from open ai
+        //파일별 요약과 리뷰를 병렬로 받아옴 (결과는 파일명 순)
         Map<String, String> repo = githubUtility.getAllCodeFromRepo(username, repos, extension);
-        Map<String, String> summaries = new HashMap<>();
-        for(String key : repo.keySet()) {
-            String summary = openAiUtility.getCodeSummary(repo.get(key));
-            summaries.put(key, summary);
-        }
+        List<FileReview> fileReviews = aiReviewPipeline.reviewAll(repo);
 
         //Insert summary info body
         String title = "Code Review from DevRoad";
         StringBuilder body = new StringBuilder();
         body.append("## Code Summary");
-        for(String key : summaries.keySet()){
-            body.append("\n\n### filename : [" + key + "]("+submission.getUrl()+"/blob/main"+key+")\n");
-            body.append(summaries.get(key) + "\n");
-        }
-
-        //making code Review From open ai
-        Map<String, String> reviews = new HashMap<>();
-        for(String key : repo.keySet()){
-            String review = openAiUtility.getCodeReview(repo.get(key));
-            reviews.put(key, review);
+        for(FileReview fileReview : fileReviews){
+            body.append("\n\n### filename : [" + fileReview.getFileName() + "]("+submission.getUrl()+"/blob/main"+fileReview.getFileName()+")\n");
+            if(fileReview.hasSummary())
+                body.append(fileReview.getSummary() + "\n");
+            else
+                body.append("> 요약을 생성하지 못했습니다. (" + fileReview.getSummaryError() + ")\n");
         }
 
         //insert Review into body
         body.append("## Code Review");
-        for(String key : summaries.keySet()){
-            body.append("\n\n### filename : [" + key + "]("+submission.getUrl()+"/blob/main"+key+")\n");
-            body.append(reviews.get(key) + "\n");
+        for(FileReview fileReview : fileReviews){
+            body.append("\n\n### filename : [" + fileReview.getFileName() + "]("+submission.getUrl()+"/blob/main"+fileReview.getFileName()+")\n");
+            if(fileReview.hasReview())
+                body.append(fileReview.getReview() + "\n");
+            else
+                body.append("> 리뷰를 생성하지 못했습니다. (" + fileReview.getReviewError() + ")\n");
         }
 
         String issueUrl = githubUtility.createIssue(username, repos, title, body.toString());
 
         examSubmissionRepo.updateSubmissionUrl(submission.getId(), issueUrl);
-
+        return issueUrl;
     }
 
     public GetPeerDetail getPeerDetail(Long accountId, Long examId){
 
-        List<PeerDetail> peerList = userRepo.findPeerDetailByExamId(accountId, examId);
-        Collections.shuffle(peerList);
-        return new GetPeerDetail(true , peerList.subList(0,2));
+        List<PeerDetail> peerList = peerPool.sample(examId, accountId);
+        return new GetPeerDetail(true , peerList);
     }
 
 
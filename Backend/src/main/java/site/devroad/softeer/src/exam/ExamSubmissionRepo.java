@@ -2,6 +2,7 @@ package site.devroad.softeer.src.exam;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -10,7 +11,6 @@ import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.src.exam.model.ExamSubmission;
 import site.devroad.softeer.src.exam.model.SubmissionType;
 
-import javax.sql.DataSource;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +20,8 @@ public class ExamSubmissionRepo {
 
     JdbcTemplate jdbcTemplate;
 
-    public ExamSubmissionRepo(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
+    public ExamSubmissionRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
 
@@ -47,13 +47,6 @@ public class ExamSubmissionRepo {
         }
     }
 
-    public void updateByExamIdAndAccountId(Long examId, Long accountId, SubmissionType submissionType) {
-        jdbcTemplate.update("update ExamSubmission\n" +
-                        "set is_passed = ?\n" +
-                        "WHERE account_id = ? AND exam_id = ?",
-                submissionType.getIs_passed(), accountId, examId);
-    }
-
     public List<ExamSubmission> findMCQByRoadmapIdAndAccountId(Long roadmapId, Long accountID) {
         return jdbcTemplate.query("SELECT es.*\n" +
                 "FROM ExamSubmission es\n" +
@@ -64,6 +57,20 @@ public class ExamSubmissionRepo {
                 "AND e.type = ?", examSubmissionRowMapper(), roadmapId, accountID, "MCQ");
     }
 
+    //로드맵에 속한 exam들에 대해 account의 가장 최근 submission만 조회
+    public List<ExamSubmission> findLatestByRoadmapIdAndAccountId(Long roadmapId, Long accountId) {
+        return jdbcTemplate.query("SELECT es.*\n" +
+                "FROM ExamSubmission es\n" +
+                "JOIN (SELECT es2.exam_id, MAX(es2.id) AS latest_id\n" +
+                "      FROM ExamSubmission es2\n" +
+                "      JOIN Exam e ON es2.exam_id = e.id\n" +
+                "      JOIN SubjectToRoadmap str ON e.subject_id = str.subject_id\n" +
+                "      WHERE str.roadmap_id = ?\n" +
+                "      AND es2.account_id = ?\n" +
+                "      GROUP BY es2.exam_id) latest\n" +
+                "ON es.id = latest.latest_id", examSubmissionRowMapper(), roadmapId, accountId);
+    }
+
     public void updateSubmissionUrl(Long id, String issueUrl) {
         jdbcTemplate.update("update ExamSubmission set url = ? where id = ?", issueUrl, id);
     }
@@ -82,11 +89,28 @@ public class ExamSubmissionRepo {
         };
     }
 
-    public void addMcqExamSubmission(Long examId, Long accountId, SubmissionType submissionType) {
-        jdbcTemplate.update(
-                "insert into ExamSubmission (exam_id, account_id, is_passed, url) values (?,?,?,?);",
-                examId, accountId, submissionType.getIs_passed(), ""
-        );
+    //객관식 결과는 (account_id, exam_id, type) unique key 로 계정/시험당 한 행, 이전 상태를 돌려줌 (처음이면 NONE)
+    //객관식 행은 PASSED/FAILED 둘 중 하나이므로 값이 바뀌었다면 이전 상태는 반대 값
+    public SubmissionType upsertMcqResult(Long examId, Long accountId, SubmissionType submissionType) {
+        try {
+            jdbcTemplate.update("insert into ExamSubmission (exam_id, account_id, type, is_passed, url) values (?, ?, 'MCQ', ?, '')",
+                    examId, accountId, submissionType.getIs_passed());
+            return SubmissionType.NONE;
+        } catch (DuplicateKeyException e) {
+            int changed = jdbcTemplate.update("update ExamSubmission set is_passed = ?\n" +
+                            "WHERE account_id = ? AND exam_id = ? AND type = 'MCQ' AND is_passed <> ?",
+                    submissionType.getIs_passed(), accountId, examId, submissionType.getIs_passed());
+            if (changed == 0)
+                return submissionType;
+            return submissionType == SubmissionType.PASSED ? SubmissionType.FAILED : SubmissionType.PASSED;
+        }
+    }
+
+    //peer 후보 풀용, 통과한 제출의 id 와 계정만 읽음
+    public List<ExamSubmission> findPassedSubmissionIds(Long examId) {
+        return jdbcTemplate.query("SELECT id, account_id FROM ExamSubmission WHERE exam_id = ? AND is_passed = ?",
+                (rs, rowNum) -> new ExamSubmission(rs.getLong("id"), rs.getLong("account_id"), examId, null, SubmissionType.PASSED, null),
+                examId, SubmissionType.PASSED.getIs_passed());
     }
 
     public void addFrqExamSubmission(Long accountId, Long examId, String url, String description) throws CustomException {
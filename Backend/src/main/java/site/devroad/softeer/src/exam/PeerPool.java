@@ -0,0 +1,103 @@
+package site.devroad.softeer.src.exam;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.src.exam.dto.domain.PeerDetail;
+import site.devroad.softeer.src.exam.model.ExamSubmission;
+import site.devroad.softeer.src.user.UserRepo;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+//시험별로 통과한 제출의 (id, 계정) 만 들고 있다가 요청마다 sampleSize 개를 뽑고 뽑힌 제출만 조인해서 읽음
+//새 제출이 들어오면 해당 시험의 풀을 비워 다음 조회 때 다시 읽음, "exam.peer" 로 등록되어 관리자 무효화에도 같이 비워짐
+@Component
+public class PeerPool {
+    //후보가 sampleSize 의 이 배수 이하이면 전부 섞어서 뽑고, 많으면 임의 위치를 골라 뽑음
+    private static final int SCAN_FACTOR = 4;
+    private final ExamSubmissionRepo examSubmissionRepo;
+    private final UserRepo userRepo;
+    private final ReadThroughCache<Long, Peers> peerCache;
+    private final int sampleSize;
+
+    public PeerPool(ExamSubmissionRepo examSubmissionRepo, UserRepo userRepo, CatalogCacheRegistry catalogCacheRegistry,
+                    @Value("${exam.peer.sampleSize:2}") int sampleSize) {
+        this.examSubmissionRepo = examSubmissionRepo;
+        this.userRepo = userRepo;
+        this.peerCache = catalogCacheRegistry.create("exam.peer");
+        this.sampleSize = Math.max(0, sampleSize);
+    }
+
+    //본인 제출은 제외, 후보가 부족하면 있는 만큼만 돌려줌
+    public List<PeerDetail> sample(Long examId, Long accountId) {
+        List<Long> submissionIds = peerCache.get(examId, this::load).sample(accountId, sampleSize);
+        return userRepo.findPeerDetailBySubmissionIds(submissionIds);
+    }
+
+    public void invalidate(Long examId) {
+        peerCache.invalidate(examId);
+    }
+
+    private Peers load(Long examId) {
+        List<ExamSubmission> submissions = examSubmissionRepo.findPassedSubmissionIds(examId);
+        long[] submissionIds = new long[submissions.size()];
+        long[] accountIds = new long[submissions.size()];
+        for (int i = 0; i < submissions.size(); i++) {
+            submissionIds[i] = submissions.get(i).getId();
+            accountIds[i] = submissions.get(i).getAccountId();
+        }
+        return new Peers(submissionIds, accountIds);
+    }
+
+    static class Peers {
+        private final long[] submissionIds;
+        private final long[] accountIds;
+
+        Peers(long[] submissionIds, long[] accountIds) {
+            this.submissionIds = submissionIds;
+            this.accountIds = accountIds;
+        }
+
+        //한 계정이 여러 번 뽑히지 않도록 계정 기준으로 중복 제거
+        List<Long> sample(long accountId, int size) {
+            int n = submissionIds.length;
+            if (size == 0 || n == 0)
+                return List.of();
+            if (n <= size * SCAN_FACTOR)
+                return scan(accountId, size);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Long> picked = new ArrayList<>(size);
+            Set<Long> pickedAccounts = new HashSet<>();
+            pickedAccounts.add(accountId);
+            for (int tries = 0; picked.size() < size && tries < size * SCAN_FACTOR * 2; tries++) {
+                int i = random.nextInt(n);
+                if (pickedAccounts.add(accountIds[i]))
+                    picked.add(submissionIds[i]);
+            }
+            return picked;
+        }
+
+        private List<Long> scan(long accountId, int size) {
+            List<Integer> indexes = new ArrayList<>(submissionIds.length);
+            for (int i = 0; i < submissionIds.length; i++)
+                indexes.add(i);
+            Collections.shuffle(indexes, ThreadLocalRandom.current());
+            List<Long> picked = new ArrayList<>(size);
+            Set<Long> pickedAccounts = new HashSet<>();
+            pickedAccounts.add(accountId);
+            for (int i : indexes) {
+                if (picked.size() == size)
+                    break;
+                if (pickedAccounts.add(accountIds[i]))
+                    picked.add(submissionIds[i]);
+            }
+            return picked;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.AiCompletion;
+import site.devroad.softeer.utility.AiPromptType;
+import site.devroad.softeer.utility.OpenAiUtility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+//같은 파일 내용에 대한 OpenAI 요청 결과를 메모리 -> DB 순으로 재사용
+@Component
+public class AiCodeCache {
+
+    private static Logger logger = LoggerFactory.getLogger(AiCodeCache.class);
+    private final AiCodeCacheRepo aiCodeCacheRepo;
+    private final OpenAiUtility openAiUtility;
+    private final long dbMaxEntries;
+    private final Map<String, AiCompletion> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong dbHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedTokens = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public AiCodeCache(AiCodeCacheRepo aiCodeCacheRepo, OpenAiUtility openAiUtility,
+                       @Value("${aiCache.memoryEntries:1000}") int memoryEntries,
+                       @Value("${aiCache.dbMaxEntries:20000}") long dbMaxEntries) {
+        this.aiCodeCacheRepo = aiCodeCacheRepo;
+        this.openAiUtility = openAiUtility;
+        this.dbMaxEntries = dbMaxEntries;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AiCompletion> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+    }
+
+    public AiCompletion complete(AiPromptType promptType, String rawCode) {
+        String model = openAiUtility.getModel();
+        String cacheKey = cacheKey(promptType, model, rawCode);
+
+        AiCompletion cached = getFromMemory(cacheKey);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            savedTokens.addAndGet(cached.getTotalTokens());
+            return cached;
+        }
+
+        Optional<AiCompletion> stored = findFromDb(cacheKey);
+        if (stored.isPresent()) {
+            dbHits.incrementAndGet();
+            savedTokens.addAndGet(stored.get().getTotalTokens());
+            putToMemory(cacheKey, stored.get());
+            return stored.get();
+        }
+
+        misses.incrementAndGet();
+        AiCompletion completion = openAiUtility.complete(promptType, rawCode);
+        //실패한 응답은 캐시하지 않음
+        if (completion == null || completion.getText() == null)
+            return completion;
+        putToMemory(cacheKey, completion);
+        saveToDb(cacheKey, promptType, model, completion);
+        return completion;
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = memoryHits.get() + dbHits.get();
+        long total = hits + misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("dbHits", dbHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hits / total);
+        stats.put("savedTokens", savedTokens.get());
+        stats.put("memoryEntries", memorySize());
+        stats.put("dbEvictions", evictions.get());
+        return stats;
+    }
+
+    static String cacheKey(AiPromptType promptType, String model, String rawCode) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((promptType.name() + "\n" + model + "\n").getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest(rawCode.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash)
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AiCompletion getFromMemory(String cacheKey) {
+        synchronized (memory) {
+            return memory.get(cacheKey);
+        }
+    }
+
+    private void putToMemory(String cacheKey, AiCompletion completion) {
+        synchronized (memory) {
+            memory.put(cacheKey, completion);
+        }
+    }
+
+    private int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    //DB 캐시 장애가 리뷰 자체를 막지 않도록 오류는 로그만 남김
+    private Optional<AiCompletion> findFromDb(String cacheKey) {
+        try {
+            Optional<AiCompletion> stored = aiCodeCacheRepo.findByKey(cacheKey);
+            if (stored.isPresent())
+                aiCodeCacheRepo.touch(cacheKey);
+            return stored;
+        } catch (DataAccessException e) {
+            logger.warn("ai code cache read failed : {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void saveToDb(String cacheKey, AiPromptType promptType, String model, AiCompletion completion) {
+        try {
+            if (!aiCodeCacheRepo.save(cacheKey, promptType, model, completion))
+                return;
+            long overflow = aiCodeCacheRepo.count() - dbMaxEntries;
+            if (overflow > 0)
+                evictions.addAndGet(aiCodeCacheRepo.deleteLeastRecentlyUsed(overflow));
+        } catch (DataAccessException e) {
+            logger.warn("ai code cache write failed : {}", e.getMessage());
+        }
+    }
+}
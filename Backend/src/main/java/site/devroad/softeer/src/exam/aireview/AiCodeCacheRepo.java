@@ -0,0 +1,53 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import site.devroad.softeer.utility.AiCompletion;
+import site.devroad.softeer.utility.AiPromptType;
+
+import java.util.Optional;
+
+@Repository
+public class AiCodeCacheRepo {
+    private final JdbcTemplate jdbcTemplate;
+
+    public AiCodeCacheRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<AiCompletion> findByKey(String cacheKey) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT response, total_tokens FROM AiCodeCache WHERE cache_key = ?",
+                    (rs, rowNum) -> new AiCompletion(rs.getString("response"), rs.getInt("total_tokens")), cacheKey));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void touch(String cacheKey) {
+        jdbcTemplate.update("UPDATE AiCodeCache SET hit_count = hit_count + 1, last_hit_at = CURRENT_TIMESTAMP WHERE cache_key = ?", cacheKey);
+    }
+
+    //같은 키를 다른 요청이 먼저 저장했다면 그대로 둠
+    public boolean save(String cacheKey, AiPromptType promptType, String model, AiCompletion completion) {
+        try {
+            jdbcTemplate.update("INSERT INTO AiCodeCache (cache_key, prompt_type, model, response, total_tokens) VALUES (?, ?, ?, ?, ?)",
+                    cacheKey, promptType.name(), model, completion.getText(), completion.getTotalTokens());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AiCodeCache", Long.class);
+    }
+
+    //가장 오래 사용되지 않은 항목부터 삭제
+    public int deleteLeastRecentlyUsed(long limit) {
+        return jdbcTemplate.update("DELETE FROM AiCodeCache WHERE cache_key IN " +
+                "(SELECT cache_key FROM (SELECT cache_key FROM AiCodeCache ORDER BY last_hit_at LIMIT ?) old)", limit);
+    }
+}
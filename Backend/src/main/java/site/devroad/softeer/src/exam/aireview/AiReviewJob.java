@@ -0,0 +1,51 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import java.sql.Timestamp;
+
+public class AiReviewJob {
+    private final Long id;
+    private final Long examSubmissionId;
+    private final AiReviewJobState state;
+    private final String issueUrl;
+    private final String errorMessage;
+    private final Integer attempts;
+    private final Timestamp updatedAt;
+
+    public AiReviewJob(Long id, Long examSubmissionId, AiReviewJobState state, String issueUrl, String errorMessage, Integer attempts, Timestamp updatedAt) {
+        this.id = id;
+        this.examSubmissionId = examSubmissionId;
+        this.state = state;
+        this.issueUrl = issueUrl;
+        this.errorMessage = errorMessage;
+        this.attempts = attempts;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getExamSubmissionId() {
+        return examSubmissionId;
+    }
+
+    public AiReviewJobState getState() {
+        return state;
+    }
+
+    public String getIssueUrl() {
+        return issueUrl;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+}
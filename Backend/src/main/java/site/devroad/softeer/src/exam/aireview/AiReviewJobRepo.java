@@ -0,0 +1,85 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class AiReviewJobRepo {
+    private static final int MAX_ERROR_LENGTH = 512;
+    private final JdbcTemplate jdbcTemplate;
+
+    public AiReviewJobRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<AiReviewJob> findByExamSubmissionId(Long examSubmissionId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM AiReviewJob WHERE exam_submission_id = ?"
+                    , aiReviewJobRowMapper(), examSubmissionId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    public List<AiReviewJob> findByState(AiReviewJobState state) {
+        return jdbcTemplate.query("SELECT * FROM AiReviewJob WHERE state = ? ORDER BY id"
+                , aiReviewJobRowMapper(), state.name());
+    }
+
+    //exam_submission_id unique key로 중복 작업 생성을 막음, 이미 있으면 false
+    public boolean createQueuedJob(Long examSubmissionId) {
+        try {
+            jdbcTemplate.update("INSERT INTO AiReviewJob (exam_submission_id, state) VALUES (?, ?)",
+                    examSubmissionId, AiReviewJobState.QUEUED.name());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public boolean requeueFailed(Long jobId) {
+        return jdbcTemplate.update("UPDATE AiReviewJob SET state = ?, error_message = NULL WHERE id = ? AND state = ?",
+                AiReviewJobState.QUEUED.name(), jobId, AiReviewJobState.FAILED.name()) == 1;
+    }
+
+    //QUEUED -> RUNNING 으로 바뀐 경우에만 true (같은 작업이 두 번 실행되지 않도록)
+    public boolean markRunning(Long jobId) {
+        return jdbcTemplate.update("UPDATE AiReviewJob SET state = ?, attempts = attempts + 1 WHERE id = ? AND state = ?",
+                AiReviewJobState.RUNNING.name(), jobId, AiReviewJobState.QUEUED.name()) == 1;
+    }
+
+    public void markDone(Long jobId, String issueUrl) {
+        jdbcTemplate.update("UPDATE AiReviewJob SET state = ?, issue_url = ?, error_message = NULL WHERE id = ?",
+                AiReviewJobState.DONE.name(), issueUrl, jobId);
+    }
+
+    public void markFailed(Long jobId, String errorMessage) {
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH)
+            errorMessage = errorMessage.substring(0, MAX_ERROR_LENGTH);
+        jdbcTemplate.update("UPDATE AiReviewJob SET state = ?, error_message = ? WHERE id = ?",
+                AiReviewJobState.FAILED.name(), errorMessage, jobId);
+    }
+
+    public int resetRunningToQueued() {
+        return jdbcTemplate.update("UPDATE AiReviewJob SET state = ? WHERE state = ?",
+                AiReviewJobState.QUEUED.name(), AiReviewJobState.RUNNING.name());
+    }
+
+    private RowMapper<AiReviewJob> aiReviewJobRowMapper() {
+        return (rs, rowNum) -> {
+            Long id = rs.getLong("id");
+            Long examSubmissionId = rs.getLong("exam_submission_id");
+            AiReviewJobState state = AiReviewJobState.valueOf(rs.getString("state"));
+            String issueUrl = rs.getString("issue_url");
+            String errorMessage = rs.getString("error_message");
+            Integer attempts = rs.getInt("attempts");
+            return new AiReviewJob(id, examSubmissionId, state, issueUrl, errorMessage, attempts, rs.getTimestamp("updated_at"));
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.ExamService;
+import site.devroad.softeer.src.exam.ExamSubmissionRepo;
+import site.devroad.softeer.src.exam.model.ExamSubmission;
+
+import java.util.Optional;
+
+@Service
+public class AiReviewJobService {
+    private static final Logger logger = LoggerFactory.getLogger(AiReviewJobService.class);
+    private final AiReviewJobRepo aiReviewJobRepo;
+    private final ExamSubmissionRepo examSubmissionRepo;
+    private final ExamService examService;
+    private final TaskExecutor aiReviewExecutor;
+
+    public AiReviewJobService(AiReviewJobRepo aiReviewJobRepo, ExamSubmissionRepo examSubmissionRepo, ExamService examService,
+                              @Qualifier("aiReviewExecutor") TaskExecutor aiReviewExecutor) {
+        this.aiReviewJobRepo = aiReviewJobRepo;
+        this.examSubmissionRepo = examSubmissionRepo;
+        this.examService = examService;
+        this.aiReviewExecutor = aiReviewExecutor;
+    }
+
+    //같은 ExamSubmission에 대한 요청은 진행 중이거나 끝난 작업을 그대로 돌려줌, 실패한 작업만 다시 큐에 넣음
+    public AiReviewJob enqueue(Long examSubmissionId) {
+        Optional<AiReviewJob> existing = aiReviewJobRepo.findByExamSubmissionId(examSubmissionId);
+        if (existing.isPresent()) {
+            AiReviewJob job = existing.get();
+            if (job.getState() != AiReviewJobState.FAILED || !aiReviewJobRepo.requeueFailed(job.getId()))
+                return getJob(examSubmissionId);
+        } else if (!aiReviewJobRepo.createQueuedJob(examSubmissionId)) {
+            return getJob(examSubmissionId);
+        }
+        AiReviewJob job = getJob(examSubmissionId);
+        submit(job);
+        return job;
+    }
+
+    public Optional<AiReviewJob> findJob(Long examSubmissionId) {
+        return aiReviewJobRepo.findByExamSubmissionId(examSubmissionId);
+    }
+
+    //서버가 재시작되면 끝나지 않은 작업을 다시 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        try {
+            int interrupted = aiReviewJobRepo.resetRunningToQueued();
+            int rejected = 0;
+            for (AiReviewJob job : aiReviewJobRepo.findByState(AiReviewJobState.QUEUED)) {
+                //큐가 차서 거절된 작업은 FAILED 로 남기고(다시 요청하면 재실행) 나머지 작업은 계속 넣음
+                try {
+                    submit(job);
+                } catch (CustomException e) {
+                    rejected++;
+                }
+            }
+            logger.info("ai review jobs resumed, {} were interrupted, {} were rejected", interrupted, rejected);
+        } catch (DataAccessException | CustomException e) {
+            logger.warn("ai review jobs not resumed : {}", e.getMessage());
+        }
+    }
+
+    private void submit(AiReviewJob job) {
+        try {
+            aiReviewExecutor.execute(() -> run(job.getId(), job.getExamSubmissionId()));
+        } catch (TaskRejectedException e) {
+            aiReviewJobRepo.markFailed(job.getId(), ExceptionType.AI_REVIEW_QUEUE_FULL.getMessage());
+            throw new CustomException(ExceptionType.AI_REVIEW_QUEUE_FULL);
+        }
+    }
+
+    private void run(Long jobId, Long examSubmissionId) {
+        if (!aiReviewJobRepo.markRunning(jobId))
+            return;
+        try {
+            String issueUrl = examService.doAiReview(examSubmissionId);
+            aiReviewJobRepo.markDone(jobId, issueUrl);
+        } catch (CustomException e) {
+            if (e.getExceptionType() == ExceptionType.AI_REVIEW_ALREADY_DONE) {
+                String issueUrl = examSubmissionRepo.findExamSubmissionById(examSubmissionId)
+                        .map(ExamSubmission::getUrl).orElse("");
+                aiReviewJobRepo.markDone(jobId, issueUrl);
+                return;
+            }
+            logger.warn("ai review job {} failed : {}", jobId, e.getExceptionType().getMessage());
+            aiReviewJobRepo.markFailed(jobId, e.getExceptionType().getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("ai review job {} failed", jobId, e);
+            aiReviewJobRepo.markFailed(jobId, e.getMessage());
+        }
+    }
+
+    private AiReviewJob getJob(Long examSubmissionId) {
+        return aiReviewJobRepo.findByExamSubmissionId(examSubmissionId)
+                .orElseThrow(() -> new CustomException(ExceptionType.AI_REVIEW_JOB_NOT_FOUND));
+    }
+}
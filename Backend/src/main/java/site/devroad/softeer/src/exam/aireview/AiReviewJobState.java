@@ -0,0 +1,8 @@
+package site.devroad.softeer.src.exam.aireview;
+
+public enum AiReviewJobState {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
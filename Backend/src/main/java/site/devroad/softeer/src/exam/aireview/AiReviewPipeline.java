@@ -0,0 +1,109 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.AiCompletion;
+import site.devroad.softeer.utility.AiPromptType;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class AiReviewPipeline {
+
+    private static Logger logger = LoggerFactory.getLogger(AiReviewPipeline.class);
+    private final AiCodeCache aiCodeCache;
+    private final TaskExecutor openAiExecutor;
+    private final long callTimeoutMillis;
+
+    @Autowired
+    public AiReviewPipeline(AiCodeCache aiCodeCache,
+                            @Qualifier("openAiExecutor") TaskExecutor openAiExecutor,
+                            @Value("${openAi.callTimeoutMillis:30000}") long callTimeoutMillis) {
+        this.aiCodeCache = aiCodeCache;
+        this.openAiExecutor = openAiExecutor;
+        this.callTimeoutMillis = callTimeoutMillis;
+    }
+
+    //파일별 요약/리뷰 요청을 동시에 보내고 파일명 순으로 정렬된 결과를 돌려줌
+    public List<FileReview> reviewAll(Map<String, String> codes) {
+        Map<String, CompletableFuture<String>> summaries = new TreeMap<>();
+        Map<String, CompletableFuture<String>> reviews = new TreeMap<>();
+        for (Map.Entry<String, String> entry : codes.entrySet()) {
+            String code = entry.getValue();
+            summaries.put(entry.getKey(), call(AiPromptType.SUMMARY, code));
+            reviews.put(entry.getKey(), call(AiPromptType.REVIEW, code));
+        }
+
+        List<FileReview> result = new ArrayList<>();
+        for (String fileName : summaries.keySet()) {
+            Outcome summary = await(fileName, summaries.get(fileName));
+            Outcome review = await(fileName, reviews.get(fileName));
+            result.add(new FileReview(fileName, summary.text, summary.error, review.text, review.error));
+        }
+        return result;
+    }
+
+    //시간 제한은 큐에서 꺼내 실행을 시작할 때부터 잼, 그 전에 이미 끝난(실패한) 요청은 OpenAI 를 호출하지 않고 건너뜀
+    private CompletableFuture<String> call(AiPromptType promptType, String code) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            openAiExecutor.execute(() -> {
+                if (result.isDone())
+                    return;
+                result.orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+                try {
+                    AiCompletion completion = aiCodeCache.complete(promptType, code);
+                    result.complete(completion == null ? null : completion.getText());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private Outcome await(String fileName, CompletableFuture<String> future) {
+        try {
+            String text = future.join();
+            if (text == null)
+                return Outcome.failed("OpenAI 응답이 없습니다.");
+            return Outcome.ok(text);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            logger.warn("ai review failed for {} : {}", fileName, cause.toString());
+            if (cause instanceof TimeoutException)
+                return Outcome.failed(callTimeoutMillis + "ms 안에 응답이 오지 않았습니다.");
+            return Outcome.failed(cause.getClass().getSimpleName() + " : " + cause.getMessage());
+        }
+    }
+
+    private static class Outcome {
+        private final String text;
+        private final String error;
+
+        private Outcome(String text, String error) {
+            this.text = text;
+            this.error = error;
+        }
+
+        static Outcome ok(String text) {
+            return new Outcome(text, null);
+        }
+
+        static Outcome failed(String error) {
+            return new Outcome(null, error);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package site.devroad.softeer.src.exam.aireview;
+
+public class FileReview {
+    private final String fileName;
+    private final String summary;
+    private final String summaryError;
+    private final String review;
+    private final String reviewError;
+
+    public FileReview(String fileName, String summary, String summaryError, String review, String reviewError) {
+        this.fileName = fileName;
+        this.summary = summary;
+        this.summaryError = summaryError;
+        this.review = review;
+        this.reviewError = reviewError;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getSummaryError() {
+        return summaryError;
+    }
+
+    public String getReview() {
+        return review;
+    }
+
+    public String getReviewError() {
+        return reviewError;
+    }
+
+    public boolean hasSummary() {
+        return summaryError == null;
+    }
+
+    public boolean hasReview() {
+        return reviewError == null;
+    }
+}
@@ -2,18 +2,19 @@ package site.devroad.softeer.src.exam.dto;
 
 public class PutExamDetailReq {
     private final Long examId;
-    private final Boolean result;
+    //문항 순서대로 고른 보기 번호, 고르지 않은 문항은 -1
+    private final int[] answers;
 
-    public PutExamDetailReq(Long examId, Boolean result) {
+    public PutExamDetailReq(Long examId, int[] answers) {
         this.examId = examId;
-        this.result = result;
+        this.answers = answers;
     }
 
     public Long getExamId() {
         return examId;
     }
 
-    public Boolean getResult() {
-        return result;
+    public int[] getAnswers() {
+        return answers;
     }
 }
@@ -2,12 +2,36 @@ package site.devroad.softeer.src.exam.dto;
 
 public class PutExamDetailRes {
     private final Boolean success;
+    private final Integer score;
+    private final Integer correctCount;
+    private final Integer questionCount;
+    private final Boolean passed;
 
-    public PutExamDetailRes() {
+    public PutExamDetailRes(Integer score, Integer correctCount, Integer questionCount, Boolean passed) {
         this.success = true;
+        this.score = score;
+        this.correctCount = correctCount;
+        this.questionCount = questionCount;
+        this.passed = passed;
     }
 
     public Boolean getSuccess() {
         return success;
     }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public Integer getCorrectCount() {
+        return correctCount;
+    }
+
+    public Integer getQuestionCount() {
+        return questionCount;
+    }
+
+    public Boolean getPassed() {
+        return passed;
+    }
 }
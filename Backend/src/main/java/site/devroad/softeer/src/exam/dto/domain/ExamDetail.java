@@ -9,26 +9,25 @@ public class ExamDetail {
     private String description;
     private String type;
 
-    private List<Integer> ans;
     private List<MultiChoiceQuestion> questions;
 
-    private ExamDetail(String subjectName, String url, String name, String description, String type, List<Integer> ans, List<MultiChoiceQuestion> questions) {
+    private ExamDetail(String subjectName, String url, String name, String description, String type, List<MultiChoiceQuestion> questions) {
         this.subjectName = subjectName;
         this.url = url;
         this.name = name;
         this.description = description;
         this.type = type;
-        this.ans = ans;
         this.questions = questions;
     }
 
-    public static ExamDetail createMCQDetail(ExamDetail examDetail, List<Integer> ans, List<MultiChoiceQuestion> questions) {
+    //정답은 내려보내지 않고 서버에서 채점 (ExamPayloadCache.ExamPayload#countCorrect)
+    public static ExamDetail createMCQDetail(ExamDetail examDetail, List<MultiChoiceQuestion> questions) {
         return new ExamDetail(examDetail.subjectName, examDetail.url, examDetail.name,
-                examDetail.description, examDetail.getType(), ans, questions);
+                examDetail.description, examDetail.getType(), questions);
     }
 
     public static ExamDetail createFRQDetail(String subjectName, String url, String name, String description, String type) {
-        return new ExamDetail(subjectName, url, name, description, type, null, null);
+        return new ExamDetail(subjectName, url, name, description, type, null);
     }
 
     public String getSubjectName() {
@@ -51,10 +50,6 @@ public class ExamDetail {
         return type;
     }
 
-    public List<Integer> getAns() {
-        return ans;
-    }
-
     public List<MultiChoiceQuestion> getQuestions() {
         return questions;
     }
@@ -0,0 +1,187 @@
+package site.devroad.softeer.src.exam.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.ExamService;
+import site.devroad.softeer.utility.TossUtility;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class PaymentConfirmService {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentConfirmService.class);
+    private final PaymentOrderRepo paymentOrderRepo;
+    private final TossUtility tossUtility;
+    private final ExamService examService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor paymentExecutor;
+    private final int confirmAttempts;
+    private final long retryBackoffMillis;
+    //실행 대기 중인 주문, 상태 조회 때 같은 주문이 큐에 여러 번 들어가지 않도록 함
+    private final Set<Long> submitted = ConcurrentHashMap.newKeySet();
+
+    public PaymentConfirmService(PaymentOrderRepo paymentOrderRepo, TossUtility tossUtility, ExamService examService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("paymentExecutor") TaskExecutor paymentExecutor,
+                                 @Value("${payment.confirmAttempts:3}") int confirmAttempts,
+                                 @Value("${payment.retryBackoffMillis:1000}") long retryBackoffMillis) {
+        this.paymentOrderRepo = paymentOrderRepo;
+        this.tossUtility = tossUtility;
+        this.examService = examService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.paymentExecutor = paymentExecutor;
+        this.confirmAttempts = Math.max(1, confirmAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    //토스 success 리다이렉트에서 호출, 주문만 기록하고 승인은 paymentExecutor 에서 진행
+    //같은 orderId 로 다시 들어오면 새로 만들지 않고 기존 주문을 돌려줌
+    public PaymentOrder accept(String orderId, String paymentKey, Integer amount) {
+        Long accountId = parseAccountId(orderId);
+        if (paymentKey == null || paymentKey.isBlank() || amount == null || amount <= 0)
+            throw new CustomException(ExceptionType.PAYMENT_ORDER_INVALID);
+        paymentOrderRepo.createPendingOrder(orderId, accountId, paymentKey, amount);
+        PaymentOrder order = getOrder(orderId);
+        if (order.getState() == PaymentOrderState.PENDING)
+            submit(order);
+        return order;
+    }
+
+    //다른 계정의 주문은 없는 주문으로 취급, 큐가 차서 밀려난 주문은 조회할 때 다시 넣음
+    public PaymentOrder findOrder(String orderId, Long accountId) {
+        PaymentOrder order = paymentOrderRepo.findByOrderId(orderId)
+                .filter(found -> found.getAccountId().equals(accountId))
+                .orElseThrow(() -> new CustomException(ExceptionType.PAYMENT_ORDER_NOT_FOUND));
+        if (order.getState() == PaymentOrderState.PENDING)
+            submit(order);
+        return order;
+    }
+
+    //서버가 재시작되면 승인 중이던 주문을 다시 실행 (Idempotency-Key 가 같으므로 토스에서 중복 승인되지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingOrders() {
+        try {
+            int interrupted = paymentOrderRepo.resetConfirmingToPending();
+            for (PaymentOrder order : paymentOrderRepo.findByState(PaymentOrderState.PENDING)) {
+                submit(order);
+            }
+            logger.info("payment orders resumed, {} were interrupted", interrupted);
+        } catch (DataAccessException | CustomException e) {
+            logger.warn("payment orders not resumed : {}", e.getMessage());
+        }
+    }
+
+    private void submit(PaymentOrder order) {
+        if (!submitted.add(order.getId()))
+            return;
+        try {
+            paymentExecutor.execute(() -> {
+                try {
+                    run(order);
+                } finally {
+                    submitted.remove(order.getId());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            submitted.remove(order.getId());
+            logger.warn("payment queue is full, order {} stays pending", order.getOrderId());
+        }
+    }
+
+    private void run(PaymentOrder order) {
+        if (!paymentOrderRepo.markConfirming(order.getId()))
+            return;
+        String lastError = null;
+        //토스에서 승인된 뒤 DB 반영에 실패하면 FAILED 로 끝내지 않고 다시 실행되도록 PENDING 으로 돌려놓음
+        boolean captured = false;
+        for (int attempt = 1; attempt <= confirmAttempts; attempt++) {
+            try {
+                TossUtility.ConfirmResult result = tossUtility.confirmPayment(order.getOrderId(), order.getPaymentKey(), order.getAmount());
+                if (result.isConfirmed()) {
+                    captured = true;
+                    applyConfirmed(order);
+                    return;
+                }
+                lastError = result.getStatus() + " " + result.getMessage();
+                if (!result.isRetryable())
+                    break;
+            } catch (IOException e) {
+                lastError = e.toString();
+            } catch (RuntimeException e) {
+                if (!captured) {
+                    logger.warn("payment order {} failed", order.getOrderId(), e);
+                    paymentOrderRepo.markFailed(order.getId(), e.getMessage());
+                    return;
+                }
+                //같은 Idempotency-Key 로 다시 승인을 요청해도 결제는 한 번만 일어나므로 승인부터 다시 시도
+                lastError = e.toString();
+            }
+            logger.warn("payment order {} confirm attempt {} failed : {}", order.getOrderId(), attempt, lastError);
+            if (attempt < confirmAttempts && !sleep(retryBackoffMillis * attempt))
+                return;
+        }
+        if (captured) {
+            logger.error("payment order {} was captured but not applied, left pending : {}", order.getOrderId(), lastError);
+            paymentOrderRepo.markPending(order.getId(), lastError);
+            return;
+        }
+        logger.warn("payment order {} failed : {}", order.getOrderId(), lastError);
+        paymentOrderRepo.markFailed(order.getId(), lastError);
+    }
+
+    //구독 연장과 주문 상태 변경을 한 트랜잭션으로 묶어서 한 번만 반영되도록 함
+    //다른 실행이 이미 이 주문을 가져갔으면(CONFIRMING 이 아니면) 구독을 연장하지 않음
+    private void applyConfirmed(PaymentOrder order) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (paymentOrderRepo.markConfirmed(order.getId()))
+                examService.makePurchased(order.getAccountId());
+            else
+                logger.warn("payment order {} is no longer confirming, subscription not extended", order.getOrderId());
+        });
+    }
+
+    //종료 중에 인터럽트되면 CONFIRMING 으로 남겨두고 재시작 때 다시 실행
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    //   orderId : accountId + "_" + examId + "_" + randomStr,
+    private Long parseAccountId(String orderId) {
+        if (orderId == null || orderId.length() > 64)
+            throw new CustomException(ExceptionType.PAYMENT_ORDER_INVALID);
+        String[] parsedOrderId = orderId.split("_");
+        if (parsedOrderId.length < 3)
+            throw new CustomException(ExceptionType.PAYMENT_ORDER_INVALID);
+        try {
+            return Long.valueOf(parsedOrderId[0]);
+        } catch (NumberFormatException e) {
+            throw new CustomException(ExceptionType.PAYMENT_ORDER_INVALID);
+        }
+    }
+
+    private PaymentOrder getOrder(String orderId) {
+        Optional<PaymentOrder> order = paymentOrderRepo.findByOrderId(orderId);
+        return order.orElseThrow(() -> new CustomException(ExceptionType.PAYMENT_ORDER_NOT_FOUND));
+    }
+}
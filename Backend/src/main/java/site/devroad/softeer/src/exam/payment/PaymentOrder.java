@@ -0,0 +1,64 @@
+package site.devroad.softeer.src.exam.payment;
+
+import java.sql.Timestamp;
+
+public class PaymentOrder {
+    private final Long id;
+    private final String orderId;
+    private final Long accountId;
+    private final String paymentKey;
+    private final Integer amount;
+    private final PaymentOrderState state;
+    private final String errorMessage;
+    private final Integer attempts;
+    private final Timestamp updatedAt;
+
+    public PaymentOrder(Long id, String orderId, Long accountId, String paymentKey, Integer amount, PaymentOrderState state,
+                        String errorMessage, Integer attempts, Timestamp updatedAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.accountId = accountId;
+        this.paymentKey = paymentKey;
+        this.amount = amount;
+        this.state = state;
+        this.errorMessage = errorMessage;
+        this.attempts = attempts;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getPaymentKey() {
+        return paymentKey;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public PaymentOrderState getState() {
+        return state;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package site.devroad.softeer.src.exam.payment;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class PaymentOrderRepo {
+    private static final int MAX_ERROR_LENGTH = 512;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentOrderRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<PaymentOrder> findByOrderId(String orderId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM PaymentOrder WHERE order_id = ?"
+                    , paymentOrderRowMapper(), orderId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    public List<PaymentOrder> findByState(PaymentOrderState state) {
+        return jdbcTemplate.query("SELECT * FROM PaymentOrder WHERE state = ? ORDER BY id"
+                , paymentOrderRowMapper(), state.name());
+    }
+
+    //order_id unique key로 같은 주문이 두 번 만들어지지 않도록 함, 이미 있으면 false
+    public boolean createPendingOrder(String orderId, Long accountId, String paymentKey, Integer amount) {
+        try {
+            jdbcTemplate.update("INSERT INTO PaymentOrder (order_id, account_id, payment_key, amount, state) VALUES (?, ?, ?, ?, ?)",
+                    orderId, accountId, paymentKey, amount, PaymentOrderState.PENDING.name());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    //PENDING -> CONFIRMING 으로 바뀐 경우에만 true (같은 주문이 동시에 두 번 승인 요청되지 않도록)
+    public boolean markConfirming(Long id) {
+        return jdbcTemplate.update("UPDATE PaymentOrder SET state = ?, attempts = attempts + 1, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE id = ? AND state = ?",
+                PaymentOrderState.CONFIRMING.name(), id, PaymentOrderState.PENDING.name()) == 1;
+    }
+
+    //아래 상태 변경은 이 실행이 잡고 있는 CONFIRMING 주문에만 적용, 다른 실행이 가져간 주문이면 false
+    public boolean markConfirmed(Long id) {
+        return jdbcTemplate.update("UPDATE PaymentOrder SET state = ?, error_message = NULL, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE id = ? AND state = ?",
+                PaymentOrderState.CONFIRMED.name(), id, PaymentOrderState.CONFIRMING.name()) == 1;
+    }
+
+    public boolean markFailed(Long id, String errorMessage) {
+        return jdbcTemplate.update("UPDATE PaymentOrder SET state = ?, error_message = ?, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE id = ? AND state = ?",
+                PaymentOrderState.FAILED.name(), truncate(errorMessage), id, PaymentOrderState.CONFIRMING.name()) == 1;
+    }
+
+    //승인은 됐지만 구독 반영에 실패한 주문, 상태 조회나 재시작 때 다시 실행
+    public boolean markPending(Long id, String errorMessage) {
+        return jdbcTemplate.update("UPDATE PaymentOrder SET state = ?, error_message = ?, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE id = ? AND state = ?",
+                PaymentOrderState.PENDING.name(), truncate(errorMessage), id, PaymentOrderState.CONFIRMING.name()) == 1;
+    }
+
+    public int resetConfirmingToPending() {
+        return jdbcTemplate.update("UPDATE PaymentOrder SET state = ?, updated_at = CURRENT_TIMESTAMP WHERE state = ?",
+                PaymentOrderState.PENDING.name(), PaymentOrderState.CONFIRMING.name());
+    }
+
+    private static String truncate(String errorMessage) {
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH)
+            return errorMessage.substring(0, MAX_ERROR_LENGTH);
+        return errorMessage;
+    }
+
+    private RowMapper<PaymentOrder> paymentOrderRowMapper() {
+        return (rs, rowNum) -> {
+            Long id = rs.getLong("id");
+            String orderId = rs.getString("order_id");
+            Long accountId = rs.getLong("account_id");
+            String paymentKey = rs.getString("payment_key");
+            Integer amount = rs.getInt("amount");
+            PaymentOrderState state = PaymentOrderState.valueOf(rs.getString("state"));
+            String errorMessage = rs.getString("error_message");
+            Integer attempts = rs.getInt("attempts");
+            return new PaymentOrder(id, orderId, accountId, paymentKey, amount, state, errorMessage, attempts, rs.getTimestamp("updated_at"));
+        };
+    }
+}
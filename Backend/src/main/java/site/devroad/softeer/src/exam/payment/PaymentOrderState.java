@@ -0,0 +1,8 @@
+package site.devroad.softeer.src.exam.payment;
+
+public enum PaymentOrderState {
+    PENDING,
+    CONFIRMING,
+    CONFIRMED,
+    FAILED
+}
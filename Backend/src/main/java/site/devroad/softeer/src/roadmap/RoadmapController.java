@@ -55,8 +55,8 @@ public class RoadmapController {
 
     @PutMapping("/api/chapter/{chapterId}")
     public ResponseEntity<?> finishChapter(@RequestAttribute(value = "accountId") Long accountId, @PathVariable("chapterId") Long chapterId) {
+        //현재 챕터 변경까지 완료 이벤트로 함께 반영됨
         PutChapterFinishRes putChapterFinishRes = courseService.putFinishChapter(accountId, chapterId);
-        roadmapService.setCurChapterId(accountId, putChapterFinishRes.getNextChapterId());
         return new ResponseEntity<>(putChapterFinishRes, HttpStatus.ACCEPTED);
     }
 
@@ -66,6 +66,14 @@ public class RoadmapController {
         return new ResponseEntity<>(new PostRoadmapRes(true), HttpStatus.CREATED);
     }
 
+    //cohort 단위 로드맵 일괄 생성 (Admin)
+    @PostMapping("/api/roadmap/bulk")
+    public ResponseEntity<?> createRoadmaps(@RequestAttribute(value = "accountId") Long adminId, @RequestBody PostBulkRoadmapReq bulkRoadmapReq) {
+        if (!userService.isAdmin(adminId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+        return new ResponseEntity<>(roadmapService.createRoadmaps(bulkRoadmapReq), HttpStatus.CREATED);
+    }
+
     @GetMapping("/api/chapter/{chapterId}")
     public ResponseEntity<?> getChapterDetail(@RequestAttribute(value = "accountId") Long accountId, @PathVariable("chapterId") Long chapterId) {
         ChapterDetail chapterDetail = courseService.getChapterDetail(chapterId, accountId);
@@ -3,24 +3,34 @@ package site.devroad.softeer.src.roadmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
 import site.devroad.softeer.src.roadmap.model.Roadmap;
+import site.devroad.softeer.src.roadmap.model.SubjectExam;
 import site.devroad.softeer.src.roadmap.model.SubjectToRoadmap;
 
-import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public class RoadmapRepo {
+    private static final int BATCH_SIZE = 500;
     private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public RoadmapRepo(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
+    public RoadmapRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public Optional<Roadmap> findRoadmapById(Long id) {
@@ -35,6 +45,15 @@ public class RoadmapRepo {
         jdbcTemplate.update("UPDATE Roadmap SET chapter_id = ? WHERE id = ?", curChapterId, roadmapId);
     }
 
+    //accountId -> 현재 챕터를 batch 로 반영, 로드맵이 없는 계정은 무시됨
+    public void updateCurChapterIdsByAccountIds(Map<Long, Long> chapterIdByAccountId) {
+        List<Object[]> rows = new ArrayList<>(chapterIdByAccountId.size());
+        for (Map.Entry<Long, Long> entry : chapterIdByAccountId.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE Roadmap SET chapter_id = ? WHERE id = (SELECT roadmap_id FROM Account WHERE id = ?)", rows);
+    }
+
     public Optional<Roadmap> findRoadmapByAccountId(Long accountId) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT r.* FROM Account a JOIN Roadmap r " +
@@ -53,12 +72,40 @@ public class RoadmapRepo {
         }
     }
 
+    //로드맵의 subject와 subject별 MCQ/FRQ exam id를 한 번에 조회 (sequence 순)
+    public List<SubjectExam> findSubjectExamsByRoadmapId(Long roadmapId) {
+        return jdbcTemplate.query("SELECT s.id AS subject_id,\n" +
+                "s.name AS subject_name,\n" +
+                "MAX(CASE WHEN e.type = 'MCQ' THEN e.id END) AS mcq_exam_id,\n" +
+                "MAX(CASE WHEN e.type = 'FRQ' THEN e.id END) AS frq_exam_id\n" +
+                "FROM SubjectToRoadmap str\n" +
+                "JOIN Subject s ON s.id = str.subject_id\n" +
+                "LEFT JOIN Exam e ON e.subject_id = s.id\n" +
+                "WHERE str.roadmap_id = ?\n" +
+                "GROUP BY str.id, str.sequence, s.id, s.name\n" +
+                "ORDER BY str.sequence", subjectExamRowMapper(), roadmapId);
+    }
+
     public void addSubjectToRoadMap(Long roadmapId, Long subjectId, Integer seq) throws CustomException {
         //roadmap id 하나 받아서 seq해서 넣기.
         jdbcTemplate.update("insert into SubjectToRoadmap(roadmap_id, subject_id, sequence) values(?, ?, ?)", roadmapId, subjectId, seq);
 
     }
 
+    //여러 로드맵에 같은 과목 순서를 batch 로 넣음 (sequence 는 1부터)
+    public void addSubjectsToRoadmaps(List<Long> roadmapIds, List<Long> subjectSequence) {
+        List<Object[]> rows = new ArrayList<>(roadmapIds.size() * subjectSequence.size());
+        for (Long roadmapId : roadmapIds) {
+            for (int i = 0; i < subjectSequence.size(); i++) {
+                rows.add(new Object[]{roadmapId, subjectSequence.get(i), i + 1});
+            }
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("insert into SubjectToRoadmap(roadmap_id, subject_id, sequence) values(?, ?, ?)",
+                    rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
     public void deleteRoadmap(Long roadmapId) {
         try {
             jdbcTemplate.update("update Account set roadmap_id = null where roadmap_id = ?", roadmapId);
@@ -70,8 +117,39 @@ public class RoadmapRepo {
     }
 
     public Long createRoadmap(String roadmapName) throws CustomException {
-        jdbcTemplate.update("insert into Roadmap(name) values(?)", roadmapName);
-        return jdbcTemplate.queryForObject("select max(id) from Roadmap", Long.class);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("insert into Roadmap(name) values(?)", Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, roadmapName);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    //batch insert 후 생성된 id 를 names 순서대로 반환
+    public List<Long> createRoadmaps(List<String> roadmapNames) {
+        List<Long> ids = new ArrayList<>(roadmapNames.size());
+        for (int from = 0; from < roadmapNames.size(); from += BATCH_SIZE) {
+            List<String> chunk = roadmapNames.subList(from, Math.min(from + BATCH_SIZE, roadmapNames.size()));
+            ids.addAll(jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+                try (PreparedStatement ps = con.prepareStatement("insert into Roadmap(name) values(?)", Statement.RETURN_GENERATED_KEYS)) {
+                    for (String name : chunk) {
+                        ps.setString(1, name);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    List<Long> keys = new ArrayList<>(chunk.size());
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        while (rs.next())
+                            keys.add(rs.getLong(1));
+                    }
+                    if (keys.size() != chunk.size())
+                        throw new CustomException(ExceptionType.DATABASE_ERROR);
+                    return keys;
+                }
+            }));
+        }
+        return ids;
     }
 
     private RowMapper<Roadmap> roadmapRowMapper() {
@@ -83,6 +161,16 @@ public class RoadmapRepo {
         };
     }
 
+    private RowMapper<SubjectExam> subjectExamRowMapper() {
+        return (rs, rowNum) -> {
+            Long subjectId = rs.getLong("subject_id");
+            String subjectName = rs.getString("subject_name");
+            Long mcqExamId = rs.getObject("mcq_exam_id") == null ? null : rs.getLong("mcq_exam_id");
+            Long frqExamId = rs.getObject("frq_exam_id") == null ? null : rs.getLong("frq_exam_id");
+            return new SubjectExam(subjectId, subjectName, mcqExamId, frqExamId);
+        };
+    }
+
     private RowMapper<SubjectToRoadmap> subjectToRoadmapRowMapper() {
         return (rs, rowNum) -> {
             Long id = rs.getLong("id");
@@ -3,45 +3,56 @@ package site.devroad.softeer.src.roadmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
 import site.devroad.softeer.src.exam.ExamRepo;
 import site.devroad.softeer.src.exam.ExamSubmissionRepo;
-import site.devroad.softeer.src.exam.model.Exam;
 import site.devroad.softeer.src.exam.model.ExamSubmission;
 import site.devroad.softeer.src.exam.model.SubmissionType;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
 import site.devroad.softeer.src.roadmap.dto.GetRoadmapDetailRes;
+import site.devroad.softeer.src.roadmap.dto.PostBulkRoadmapReq;
+import site.devroad.softeer.src.roadmap.dto.PostBulkRoadmapRes;
 import site.devroad.softeer.src.roadmap.dto.PostRoadmapReq;
 import site.devroad.softeer.src.roadmap.dto.domain.SubjectDetail;
 import site.devroad.softeer.src.roadmap.model.Roadmap;
-import site.devroad.softeer.src.roadmap.subject.Subject;
+import site.devroad.softeer.src.roadmap.model.SubjectExam;
 import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
 import site.devroad.softeer.src.user.UserRepo;
 import site.devroad.softeer.src.user.model.Account;
 import site.devroad.softeer.src.user.model.LoginInfo;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class RoadmapService {
 
-    private final static String MCQ = "MCQ";
-    private final static String FRQ = "FRQ";
     private static Logger logger = LoggerFactory.getLogger(RoadmapService.class);
     private final RoadmapRepo roadmapRepo;
     private final SubjectRepo subjectRepo;
     private final ExamRepo examRepo;
     private final ExamSubmissionRepo examSubmissionRepo;
     private final UserRepo userRepo;
+    private final ProgressRepo progressRepo;
+    private final ChapterCompletionWriter chapterCompletionWriter;
 
-    public RoadmapService(RoadmapRepo roadmapRepo, SubjectRepo subjectRepo, ExamRepo examRepo, ExamSubmissionRepo examSubmissionRepo, UserRepo userRepo) {
+    public RoadmapService(RoadmapRepo roadmapRepo, SubjectRepo subjectRepo, ExamRepo examRepo, ExamSubmissionRepo examSubmissionRepo, UserRepo userRepo,
+                          ProgressRepo progressRepo, ChapterCompletionWriter chapterCompletionWriter) {
         this.roadmapRepo = roadmapRepo;
         this.subjectRepo = subjectRepo;
         this.examRepo = examRepo;
         this.examSubmissionRepo = examSubmissionRepo;
         this.userRepo = userRepo;
+        this.progressRepo = progressRepo;
+        this.chapterCompletionWriter = chapterCompletionWriter;
     }
 
     public GetRoadmapDetailRes getSubjects(Long accountId) {
@@ -57,36 +68,35 @@ public class RoadmapService {
         }
         Roadmap roadmap = roadmapById.get();
         Long roadmapId = roadmap.getId();
-        List<Subject> subjectsByRoadmapId = subjectRepo.findSubjectsByRoadmapId(roadmapId);
+        List<SubjectExam> subjectExams = roadmapRepo.findSubjectExamsByRoadmapId(roadmapId);
+        //examId -> 가장 최근 submission type
+        Map<Long, SubmissionType> latestSubmissionTypes = new HashMap<>();
+        for (ExamSubmission submission : examSubmissionRepo.findLatestByRoadmapIdAndAccountId(roadmapId, accountId)) {
+            latestSubmissionTypes.put(submission.getExamId(), submission.getSubmissionType());
+        }
         List<SubjectDetail> subjectDetails = new ArrayList<>();
-        for (Subject subject : subjectsByRoadmapId) {
-            //accountId와 subjectId를 가지고 조회하기
-            String subjectName = subject.getName();
-            Long subjectId = subject.getId();
-            Optional<Exam> mcq = examRepo.findExamBySubjectIdAndType(subjectId, MCQ);
-            Optional<Exam> frq = examRepo.findExamBySubjectIdAndType(subjectId, FRQ);
-            if (mcq.isEmpty() || frq.isEmpty())
+        for (SubjectExam subjectExam : subjectExams) {
+            if (!subjectExam.hasBothExams())
                 throw new CustomException(ExceptionType.EXAM_NOT_FOUND);
-            
-            Exam mcqExam = mcq.get();
-            Exam frqExam = frq.get();
-            Optional<ExamSubmission> mcqSubmission = examSubmissionRepo.findByExamIdAndAccountId(mcqExam.getId(), accountId);
-            Optional<ExamSubmission> frqSubmission = examSubmissionRepo.findByExamIdAndAccountId(frqExam.getId(), accountId);
+
+            Long mcqExamId = subjectExam.getMcqExamId();
+            Long frqExamId = subjectExam.getFrqExamId();
             //디폴트 상태인 NONE
             SubmissionType mcqSubmissionType = SubmissionType.NONE;
             SubmissionType frqSubmissionType = SubmissionType.NONE;
 
             //subscribe를 한 상태에서는 제출이 존재한다면 submission type을 받아옴
             if (userSubscribed) {
-                mcqSubmissionType = mcqSubmission.isPresent() ? mcqSubmission.get().getSubmissionType() : SubmissionType.PURCHASED;
-                frqSubmissionType = frqSubmission.isPresent() ? frqSubmission.get().getSubmissionType() : SubmissionType.PURCHASED;
+                mcqSubmissionType = latestSubmissionTypes.getOrDefault(mcqExamId, SubmissionType.PURCHASED);
+                frqSubmissionType = latestSubmissionTypes.getOrDefault(frqExamId, SubmissionType.PURCHASED);
             }
-            subjectDetails.add(new SubjectDetail(subjectName, subjectId, mcqSubmissionType, frqSubmissionType, mcqExam.getId(), frqExam.getId()));
+            subjectDetails.add(new SubjectDetail(subjectExam.getSubjectName(), subjectExam.getSubjectId(), mcqSubmissionType, frqSubmissionType, mcqExamId, frqExamId));
         }
         return new GetRoadmapDetailRes(subjectDetails);
     }
 
     public Long getCurChapterId(Long accountId) {
+        chapterCompletionWriter.awaitApplied(accountId);
         Optional<Roadmap> roadmapByAccountId = roadmapRepo.findRoadmapByAccountId(accountId);
         if (roadmapByAccountId.isEmpty())
             throw new CustomException(ExceptionType.ROADMAP_NOT_FOUND);
@@ -94,6 +104,8 @@ public class RoadmapService {
     }
 
     public void setCurChapterId(Long accountId, Long curChapterId) {
+        //밀린 완료 이벤트가 나중에 반영되면서 이 값을 덮어쓰지 않도록 먼저 반영
+        chapterCompletionWriter.awaitApplied(accountId);
         Optional<Roadmap> roadmapByAccountId = roadmapRepo.findRoadmapByAccountId(accountId);
         if (roadmapByAccountId.isEmpty())
             throw new CustomException(ExceptionType.ROADMAP_NOT_FOUND);
@@ -101,6 +113,7 @@ public class RoadmapService {
         roadmapRepo.updateCurChapterId(roadmapId, curChapterId);
     }
 
+    @Transactional
     public void createRoadmap(PostRoadmapReq roadmapReq) {
         Optional<LoginInfo> loginInfo = userRepo.findLoginInfoByEmail(roadmapReq.getEmail());
         if (loginInfo.isEmpty()) {
@@ -114,9 +127,46 @@ public class RoadmapService {
 
         userRepo.setRoadmap(account.getId(), roadmapId);
 
-        for (int i = 0; i < roadmapReq.getSubjectSequence().size(); i++) {
-            roadmapRepo.addSubjectToRoadMap(roadmapId, roadmapReq.getSubjectSequence().get(i), i + 1);
+        roadmapRepo.addSubjectsToRoadmaps(List.of(roadmapId), roadmapReq.getSubjectSequence());
+        //과목 구성이 끝난 뒤 진행 집계를 다시 계산하도록 비움
+        progressRepo.deleteAccountProgress(account.getId());
+    }
+
+    //같은 과목 순서로 여러 계정의 로드맵을 한 번에 생성 (없는 email 은 건너뛰고 응답에 담음)
+    @Transactional
+    public PostBulkRoadmapRes createRoadmaps(PostBulkRoadmapReq bulkRoadmapReq) {
+        List<String> emails = new ArrayList<>(new LinkedHashSet<>(bulkRoadmapReq.getEmails()));
+        Map<String, Account> accountsByEmail = userRepo.findAccountsByEmails(emails);
+
+        List<String> notFoundEmails = new ArrayList<>();
+        List<Account> accounts = new ArrayList<>();
+        for (String email : emails) {
+            Account account = accountsByEmail.get(email);
+            if (account == null)
+                notFoundEmails.add(email);
+            else
+                accounts.add(account);
+        }
+        if (accounts.isEmpty())
+            return new PostBulkRoadmapRes(false, 0, notFoundEmails);
+
+        List<String> roadmapNames = new ArrayList<>(accounts.size());
+        List<Long> accountIds = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            roadmapNames.add(account.getName() + "'s roadmap");
+            accountIds.add(account.getId());
+        }
+        List<Long> roadmapIds = roadmapRepo.createRoadmaps(roadmapNames);
+
+        Map<Long, Long> roadmapIdByAccountId = new LinkedHashMap<>();
+        for (int i = 0; i < accountIds.size(); i++) {
+            roadmapIdByAccountId.put(accountIds.get(i), roadmapIds.get(i));
         }
+        userRepo.setRoadmaps(roadmapIdByAccountId);
+        roadmapRepo.addSubjectsToRoadmaps(roadmapIds, bulkRoadmapReq.getSubjectSequence());
+        progressRepo.deleteAccountProgresses(accountIds);
+        logger.info("bulk roadmap created : {} accounts, {} not found", accounts.size(), notFoundEmails.size());
+        return new PostBulkRoadmapRes(true, accounts.size(), notFoundEmails);
     }
 
     public void deleteRoadmapByAccountId(Long targetAccountId) {
@@ -124,6 +174,7 @@ public class RoadmapService {
         if(roadmapOptional.isEmpty())
             return;
         roadmapRepo.deleteRoadmap(roadmapOptional.get().getId());
+        progressRepo.deleteAccountProgress(targetAccountId);
 
     }
 }
@@ -5,20 +5,37 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import site.devroad.softeer.src.roadmap.dto.domain.ChapterDetail;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Repository
 public class ChapterRepo {
     private final JdbcTemplate jdbcTemplate;
+    private final ReadThroughCache<Long, Optional<Chapter>> chapterCache;
+    private final ReadThroughCache<Long, List<Chapter>> courseChaptersCache;
 
-    public ChapterRepo(JdbcTemplate jdbcTemplate) {
+    public ChapterRepo(JdbcTemplate jdbcTemplate, CatalogCacheRegistry catalogCacheRegistry) {
         this.jdbcTemplate = jdbcTemplate;
+        this.chapterCache = catalogCacheRegistry.create("chapter");
+        this.courseChaptersCache = catalogCacheRegistry.create("chapter.byCourse");
+    }
+
+    public void preload() {
+        Map<Long, List<Chapter>> chaptersByCourse = new HashMap<>();
+        for (Chapter chapter : jdbcTemplate.query("SELECT * FROM Chapter ORDER BY course_id, sequence", chapterRowMapper())) {
+            chapterCache.put(chapter.getId(), Optional.of(chapter));
+            chaptersByCourse.computeIfAbsent(chapter.getCourseId(), key -> new ArrayList<>()).add(chapter);
+        }
+        chaptersByCourse.forEach((courseId, chapters) -> courseChaptersCache.put(courseId, List.copyOf(chapters)));
     }
 
     public Optional<Chapter> findChapterById(Long id) {
+        return chapterCache.get(id, this::loadChapterById);
+    }
+
+    private Optional<Chapter> loadChapterById(Long id) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM Chapter WHERE id = ?"
                     , chapterRowMapper(), id));
@@ -52,9 +69,13 @@ public class ChapterRepo {
     }
 
     public List<Chapter> findChaptersByCourseId(Long courseId) {
+        return courseChaptersCache.get(courseId, this::loadChaptersByCourseId);
+    }
+
+    private List<Chapter> loadChaptersByCourseId(Long courseId) {
         try {
-            return jdbcTemplate.query("SELECT * FROM Chapter WHERE course_id = ? ORDER BY sequence"
-                    , chapterRowMapper(), courseId);
+            return List.copyOf(jdbcTemplate.query("SELECT * FROM Chapter WHERE course_id = ? ORDER BY sequence"
+                    , chapterRowMapper(), courseId));
         } catch (EmptyResultDataAccessException e) {
             return Collections.emptyList();
         }
@@ -85,13 +106,13 @@ public class ChapterRepo {
         }
     }
 
+    //코스의 챕터 목록이 캐시되어 있으므로 DB 를 다시 조회하지 않음
     public Optional<Chapter> findNextChapter(Long courseId, Integer sequence) {
-        try {
-            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM Chapter WHERE course_id = ? and sequence = ?"
-                    , chapterRowMapper(), courseId, sequence));
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
+        for (Chapter chapter : findChaptersByCourseId(courseId)) {
+            if (chapter.getSequence().equals(sequence))
+                return Optional.of(chapter);
         }
+        return Optional.empty();
     }
 
     private RowMapper<Chapter> chapterRowMapper() {
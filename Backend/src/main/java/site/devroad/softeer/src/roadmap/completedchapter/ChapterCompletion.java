@@ -0,0 +1,42 @@
+package site.devroad.softeer.src.roadmap.completedchapter;
+
+//챕터 완료 이벤트, journal 에 한 줄로 기록된 뒤 ChapterCompletionWriter 가 모아서 DB 에 반영
+public class ChapterCompletion {
+    private final Long accountId;
+    private final Long chapterId;
+    private final Long courseId;
+    private final Long nextChapterId;
+
+    public ChapterCompletion(Long accountId, Long chapterId, Long courseId, Long nextChapterId) {
+        this.accountId = accountId;
+        this.chapterId = chapterId;
+        this.courseId = courseId;
+        this.nextChapterId = nextChapterId;
+    }
+
+    static ChapterCompletion parse(String line) {
+        String[] fields = line.split(",");
+        return new ChapterCompletion(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+    }
+
+    String format() {
+        return accountId + "," + chapterId + "," + courseId + "," + nextChapterId + "\n";
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getChapterId() {
+        return chapterId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getNextChapterId() {
+        return nextChapterId;
+    }
+}
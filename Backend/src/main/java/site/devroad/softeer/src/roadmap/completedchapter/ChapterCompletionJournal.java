@@ -0,0 +1,176 @@
+package site.devroad.softeer.src.roadmap.completedchapter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//append-only 파일 journal, DB 에 반영된 위치(byte offset)는 checkpoint 파일에 따로 기록
+//전부 반영된 뒤 파일이 compactBytes 보다 커지면 비워서 다시 씀
+//읽을 수 없는 줄과 DB 에 반영할 수 없는 이벤트는 rejected 파일로 옮겨 기록
+class ChapterCompletionJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ChapterCompletionJournal.class);
+    private final Path checkpointPath;
+    private final Path rejectedPath;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final long compactBytes;
+    private long checkpoint;
+
+    ChapterCompletionJournal(Path dir, boolean fsync, long compactBytes) {
+        try {
+            Files.createDirectories(dir);
+            this.checkpointPath = dir.resolve("chapter-completion.checkpoint");
+            this.rejectedPath = dir.resolve("chapter-completion.rejected");
+            this.channel = FileChannel.open(dir.resolve("chapter-completion.journal"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.fsync = fsync;
+            this.compactBytes = compactBytes;
+            this.checkpoint = Files.exists(checkpointPath)
+                    ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0L;
+            if (checkpoint > channel.size())
+                checkpoint = 0L;
+            truncatePartialRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //기록이 끝난 위치(다음 이벤트의 시작 offset)를 돌려줌
+    synchronized long append(ChapterCompletion completion) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(completion.format().getBytes(StandardCharsets.US_ASCII));
+            long position = channel.size();
+            while (buffer.hasRemaining())
+                position += channel.write(buffer, position);
+            if (fsync)
+                channel.force(false);
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //checkpoint 이후, 아직 DB 에 반영되지 않은 이벤트 (재시작 시 복구용)
+    synchronized List<Entry> readPending() {
+        try {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - checkpoint));
+            channel.read(buffer, checkpoint);
+            String content = new String(buffer.array(), StandardCharsets.US_ASCII);
+            List<Entry> entries = new ArrayList<>();
+            long offset = checkpoint;
+            int start = 0;
+            for (int end = content.indexOf('\n'); end >= 0; end = content.indexOf('\n', start)) {
+                offset += end - start + 1;
+                String line = content.substring(start, end);
+                start = end + 1;
+                ChapterCompletion completion;
+                try {
+                    completion = ChapterCompletion.parse(line);
+                } catch (RuntimeException e) {
+                    reject(line, "unparsable");
+                    continue;
+                }
+                entries.add(new Entry(completion, offset));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void checkpoint(long offset) {
+        try {
+            if (offset == channel.size() && offset >= compactBytes) {
+                channel.truncate(0);
+                offset = 0L;
+            }
+            Path tmp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+            Files.writeString(tmp, Long.toString(offset));
+            Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            checkpoint = offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //반영하지 않고 건너뛸 이벤트를 원문 그대로 남겨 두어 수동으로 확인할 수 있게 함
+    synchronized void reject(String line, String reason) {
+        logger.error("chapter completion event rejected ({}) : {}", reason, line);
+        try {
+            Files.writeString(rejectedPath, line + " #" + reason + "\n", StandardCharsets.US_ASCII,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("chapter completion rejected file write failed", e);
+        }
+    }
+
+    synchronized long getCheckpoint() {
+        return checkpoint;
+    }
+
+    //기록 도중 서버가 죽으면 마지막 줄이 잘려 남으므로, 마지막 줄바꿈 뒤의 내용을 잘라냄
+    private void truncatePartialRecord() throws IOException {
+        long size = channel.size();
+        long end = size;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (end > checkpoint) {
+            long from = Math.max(checkpoint, end - buffer.capacity());
+            buffer.clear().limit((int) (end - from));
+            while (buffer.hasRemaining() && channel.read(buffer, from + buffer.position()) > 0) {
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    truncate(size, from + i + 1);
+                    return;
+                }
+            }
+            end = from;
+        }
+        truncate(size, checkpoint);
+    }
+
+    private void truncate(long size, long validEnd) throws IOException {
+        if (validEnd == size)
+            return;
+        logger.warn("chapter completion journal has a partial record, truncating {} bytes", size - validEnd);
+        channel.truncate(validEnd);
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    static class Entry {
+        private final ChapterCompletion completion;
+        private final long endOffset;
+
+        Entry(ChapterCompletion completion, long endOffset) {
+            this.completion = completion;
+            this.endOffset = endOffset;
+        }
+
+        ChapterCompletion getCompletion() {
+            return completion;
+        }
+
+        long getEndOffset() {
+            return endOffset;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package site.devroad.softeer.src.roadmap.completedchapter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.roadmap.RoadmapRepo;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//챕터 완료(CompletedChapter insert, CourseProgress 증가, Roadmap 현재 챕터 변경)를 write-behind 로 반영
+//이벤트는 먼저 journal 파일에 기록(fsync)하고 응답한 뒤, flushMillis 마다 batchSize 개씩 한 트랜잭션으로 DB 에 반영
+//같은 계정의 읽기 전에는 awaitApplied 로 그 계정의 밀린 이벤트를 먼저 반영해서 자기 쓰기가 항상 보이도록 함
+//journal 은 서버 로컬 파일이므로 같은 계정 요청이 여러 서버로 나뉘는 배포에서는 chapterJournal.enabled=false 로 둘 것
+@Component
+public class ChapterCompletionWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ChapterCompletionWriter.class);
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    private final CompletedChapterRepo completedChapterRepo;
+    private final ProgressRepo progressRepo;
+    private final RoadmapRepo roadmapRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor chapterCompletionExecutor;
+    private final boolean enabled;
+    private final long flushMillis;
+    private final int batchSize;
+    private final ChapterCompletionJournal journal;
+    private final Queue<ChapterCompletionJournal.Entry> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Long, AtomicInteger> pendingByAccount = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public ChapterCompletionWriter(CompletedChapterRepo completedChapterRepo, ProgressRepo progressRepo, RoadmapRepo roadmapRepo,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("chapterCompletionExecutor") TaskExecutor chapterCompletionExecutor,
+                                   @Value("${chapterJournal.enabled:true}") boolean enabled,
+                                   @Value("${chapterJournal.dir:journal}") String dir,
+                                   @Value("${chapterJournal.fsync:true}") boolean fsync,
+                                   @Value("${chapterJournal.flushMillis:200}") long flushMillis,
+                                   @Value("${chapterJournal.batchSize:500}") int batchSize,
+                                   @Value("${chapterJournal.compactBytes:1048576}") long compactBytes) {
+        this.completedChapterRepo = completedChapterRepo;
+        this.progressRepo = progressRepo;
+        this.roadmapRepo = roadmapRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chapterCompletionExecutor = chapterCompletionExecutor;
+        this.enabled = enabled;
+        this.flushMillis = flushMillis;
+        this.batchSize = batchSize;
+        this.journal = enabled ? new ChapterCompletionJournal(Path.of(dir), fsync, compactBytes) : null;
+        if (enabled) {
+            //지난 실행에서 반영되지 못한 이벤트를 다시 큐에 넣음 (insert 는 중복을 건너뛰므로 두 번 반영돼도 안전)
+            for (ChapterCompletionJournal.Entry entry : journal.readPending())
+                enqueue(entry);
+            if (!queue.isEmpty())
+                logger.info("chapter completion journal recovered {} events", queue.size());
+        }
+    }
+
+    public void submit(ChapterCompletion completion) {
+        if (!enabled) {
+            apply(List.of(completion));
+            return;
+        }
+        //journal 기록 순서와 큐 순서가 같아야 checkpoint 가 맞으므로 함께 묶음
+        synchronized (journal) {
+            enqueue(new ChapterCompletionJournal.Entry(completion, journal.append(completion)));
+        }
+    }
+
+    //이 계정의 밀린 이벤트가 있으면 호출한 스레드에서 바로 반영
+    public void awaitApplied(Long accountId) {
+        AtomicInteger pending = pendingByAccount.get(accountId);
+        while (pending != null && pending.get() > 0) {
+            if (!flush())
+                throw new CustomException(ExceptionType.DATABASE_ERROR);
+            pending = pendingByAccount.get(accountId);
+        }
+    }
+
+    //반영되지 않은 이벤트가 남아 있는 계정 수
+    int pendingAccounts() {
+        return pendingByAccount.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled)
+            return;
+        chapterCompletionExecutor.execute(() -> {
+            long delay = flushMillis;
+            while (running) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                //예외 하나로 flush 스레드가 죽으면 이벤트가 journal 에만 쌓이므로 로그를 남기고 간격을 늘려 계속 시도
+                try {
+                    delay = flush() ? flushMillis : Math.min(delay * 2, MAX_BACKOFF_MILLIS);
+                } catch (RuntimeException e) {
+                    logger.error("chapter completion flush loop failed", e);
+                    delay = Math.min(delay * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled)
+            return;
+        running = false;
+        while (!queue.isEmpty()) {
+            if (!flush())
+                break;
+        }
+        journal.close();
+    }
+
+    //큐 앞쪽 batchSize 개를 한 트랜잭션으로 반영, 실패하면 한 건씩 다시 반영해서 DB 가 받을 수 없는 이벤트는 rejected 로 빼냄
+    //DB 연결 문제처럼 일시적인 실패는 그 이벤트부터 큐에 남겨 다음에 다시 시도
+    synchronized boolean flush() {
+        List<ChapterCompletionJournal.Entry> batch = new ArrayList<>();
+        Iterator<ChapterCompletionJournal.Entry> iterator = queue.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize)
+            batch.add(iterator.next());
+        if (batch.isEmpty())
+            return true;
+        List<ChapterCompletion> completions = new ArrayList<>(batch.size());
+        for (ChapterCompletionJournal.Entry entry : batch)
+            completions.add(entry.getCompletion());
+        int done;
+        try {
+            apply(completions);
+            done = batch.size();
+        } catch (RuntimeException e) {
+            logger.warn("chapter completion flush failed, retrying {} events one by one : {}", batch.size(), e.getMessage());
+            done = applyOneByOne(batch);
+        }
+        if (done == 0)
+            return false;
+        for (int i = 0; i < done; i++) {
+            queue.poll();
+            //0 이 되면 지워서 한 번이라도 챕터를 완료한 계정마다 항목이 쌓이지 않도록 함
+            pendingByAccount.computeIfPresent(batch.get(i).getCompletion().getAccountId(),
+                    (key, pending) -> pending.decrementAndGet() == 0 ? null : pending);
+        }
+        journal.checkpoint(batch.get(done - 1).getEndOffset());
+        return done == batch.size();
+    }
+
+    //앞에서부터 처리(반영 또는 rejected)한 이벤트 수
+    private int applyOneByOne(List<ChapterCompletionJournal.Entry> batch) {
+        int done = 0;
+        for (ChapterCompletionJournal.Entry entry : batch) {
+            try {
+                apply(List.of(entry.getCompletion()));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    logger.warn("chapter completion flush failed, {} events kept : {}", batch.size() - done, e.getMessage());
+                    return done;
+                }
+                journal.reject(entry.getCompletion().format().trim(), e.getClass().getSimpleName());
+            }
+            done++;
+        }
+        return done;
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof TransactionException;
+    }
+
+    //증가와 삭제가 같은 키에서 compute 로 원자적으로 일어나야 삭제된 카운터에 증가하는 일이 없음
+    private void enqueue(ChapterCompletionJournal.Entry entry) {
+        pendingByAccount.compute(entry.getCompletion().getAccountId(), (key, pending) -> {
+            if (pending == null)
+                pending = new AtomicInteger();
+            pending.incrementAndGet();
+            return pending;
+        });
+        queue.add(entry);
+    }
+
+    private void apply(List<ChapterCompletion> completions) {
+        //같은 계정/챕터가 여러 번 들어온 경우 insert 는 한 번만, 현재 챕터는 마지막 이벤트 기준
+        Map<List<Long>, ChapterCompletion> unique = new LinkedHashMap<>();
+        Map<Long, Long> nextChapterIdByAccount = new LinkedHashMap<>();
+        for (ChapterCompletion completion : completions) {
+            unique.putIfAbsent(List.of(completion.getAccountId(), completion.getChapterId()), completion);
+            nextChapterIdByAccount.put(completion.getAccountId(), completion.getNextChapterId());
+        }
+        List<ChapterCompletion> inserts = new ArrayList<>(unique.values());
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] inserted = completedChapterRepo.createCompletedChaptersIfAbsent(inserts);
+            Map<List<Long>, Integer> deltaByAccountCourse = new LinkedHashMap<>();
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] > 0) {
+                    ChapterCompletion completion = inserts.get(i);
+                    deltaByAccountCourse.merge(List.of(completion.getAccountId(), completion.getCourseId()), 1, Integer::sum);
+                }
+            }
+            if (!deltaByAccountCourse.isEmpty())
+                progressRepo.increaseCompletedChapters(deltaByAccountCourse);
+            roadmapRepo.updateCurChapterIdsByAccountIds(nextChapterIdByAccount);
+        });
+    }
+}
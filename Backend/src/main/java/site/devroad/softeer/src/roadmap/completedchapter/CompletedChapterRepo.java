@@ -8,8 +8,8 @@ import org.springframework.stereotype.Repository;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
 
-import javax.sql.DataSource;
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +17,8 @@ import java.util.Optional;
 public class CompletedChapterRepo {
     private final JdbcTemplate jdbcTemplate;
 
-    public CompletedChapterRepo(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public CompletedChapterRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public void createCompletedChapter(Long accountId, Long chapterId) throws CustomException {
@@ -29,6 +29,16 @@ public class CompletedChapterRepo {
         }
     }
 
+    //이미 완료한 챕터는 건너뛰고 batch 로 insert, 행마다 실제로 들어갔는지(1/0)를 돌려줌
+    public int[] createCompletedChaptersIfAbsent(List<ChapterCompletion> completions) {
+        List<Object[]> rows = new ArrayList<>(completions.size());
+        for (ChapterCompletion completion : completions) {
+            rows.add(new Object[]{completion.getAccountId(), completion.getChapterId(), completion.getAccountId(), completion.getChapterId()});
+        }
+        return jdbcTemplate.batchUpdate("INSERT INTO CompletedChapter(account_id, chapter_id) SELECT ?, ? FROM DUAL\n" +
+                "WHERE NOT EXISTS (SELECT 1 FROM CompletedChapter WHERE account_id = ? AND chapter_id = ?)", rows);
+    }
+
     public Optional<CompletedChapter> readCompletedChapter(Long accountId, Long chapterId) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM CompletedChapter\n" +
@@ -6,8 +6,9 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
 
-import javax.sql.DataSource;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -16,13 +17,24 @@ import java.util.Optional;
 public class CourseRepo {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ReadThroughCache<Long, Optional<Course>> courseCache;
 
     @Autowired
-    public CourseRepo(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public CourseRepo(JdbcTemplate jdbcTemplate, CatalogCacheRegistry catalogCacheRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.courseCache = catalogCacheRegistry.create("course");
+    }
+
+    public void preload() {
+        for (Course course : jdbcTemplate.query("SELECT * FROM Course", courseRowMapper()))
+            courseCache.put(course.getId(), Optional.of(course));
     }
 
     public Optional<Course> findCourseById(Long id) {
+        return courseCache.get(id, this::loadCourseById);
+    }
+
+    private Optional<Course> loadCourseById(Long id) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM Course WHERE id = ?"
                     , courseRowMapper(), id));
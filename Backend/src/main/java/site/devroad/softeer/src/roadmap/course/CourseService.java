@@ -6,10 +6,12 @@ import site.devroad.softeer.exceptions.ExceptionType;
 import site.devroad.softeer.src.roadmap.RoadmapRepo;
 import site.devroad.softeer.src.roadmap.chapter.Chapter;
 import site.devroad.softeer.src.roadmap.chapter.ChapterRepo;
-import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapter;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletion;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
 import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapterRepo;
 import site.devroad.softeer.src.roadmap.dto.PutChapterFinishRes;
 import site.devroad.softeer.src.roadmap.dto.domain.ChapterDetail;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,15 +23,21 @@ public class CourseService {
     private final ChapterRepo chapterRepo;
     private final CourseRepo courseRepo;
     private final CompletedChapterRepo completedChapterRepo;
+    private final ProgressRepo progressRepo;
+    private final ChapterCompletionWriter chapterCompletionWriter;
 
-    public CourseService(RoadmapRepo roadmapRepo, ChapterRepo chapterRepo, CourseRepo courseRepo, CompletedChapterRepo completedChapterRepo) {
+    public CourseService(RoadmapRepo roadmapRepo, ChapterRepo chapterRepo, CourseRepo courseRepo, CompletedChapterRepo completedChapterRepo,
+                         ProgressRepo progressRepo, ChapterCompletionWriter chapterCompletionWriter) {
         this.roadmapRepo = roadmapRepo;
         this.chapterRepo = chapterRepo;
         this.courseRepo = courseRepo;
         this.completedChapterRepo = completedChapterRepo;
+        this.progressRepo = progressRepo;
+        this.chapterCompletionWriter = chapterCompletionWriter;
     }
 
     public List<ChapterDetail> getChapterDetails(Long courseId, Long accountId) {
+        chapterCompletionWriter.awaitApplied(accountId);
         return chapterRepo.findChapterDetailByCourseId(courseId, accountId);
     }
 
@@ -53,6 +61,7 @@ public class CourseService {
     }
 
     public ChapterDetail getChapterDetail(Long chapterId, Long accountId) {
+        chapterCompletionWriter.awaitApplied(accountId);
         Optional<ChapterDetail> chapterDetailById = chapterRepo.findChapterDetailById(chapterId, accountId);
         if (chapterDetailById.isEmpty()) {
             Optional<Chapter> chapterById = chapterRepo.findChapterById(chapterId);
@@ -74,23 +83,18 @@ public class CourseService {
         return completedChapterCnt == chapterCountByCourseId;
     }
 
+    //완료 여부 판단에 필요한 조회는 코스의 완료 챕터 한 번뿐이고, 쓰기(완료 기록, 진행 집계, 현재 챕터)는 write-behind 로 반영
     public PutChapterFinishRes putFinishChapter(Long accountId, Long chapterId) {
-        //chapterId로 다음 챕터를 갖옴
-        Optional<Chapter> nextChapter = getNextChapter(chapterId);
-        //chapter를 다 들었는지 확인
-        Boolean courseFinished = getCourseFinished(accountId, chapterId);
-        //completed chapter에 해당하는 chapter가 있는지 확인하고 있따면 그냥 다음 챕터를 리턴함
-        Optional<CompletedChapter> completedChapterOptional = completedChapterRepo.readCompletedChapter(accountId, chapterId);
-        if (completedChapterOptional.isPresent()) {
-            if (nextChapter.isPresent())
-                return new PutChapterFinishRes(courseFinished, nextChapter.get().getId());
-            return new PutChapterFinishRes(courseFinished, FINISHED);
-        }
-        completedChapterRepo.createCompletedChapter(accountId, chapterId);
-        if (nextChapter.isPresent()) {
-            return new PutChapterFinishRes(courseFinished, nextChapter.get().getId());
-        }
-        return new PutChapterFinishRes(courseFinished, FINISHED);
+        chapterCompletionWriter.awaitApplied(accountId);
+        Chapter chapter = getChapter(chapterId);
+        Long courseId = chapter.getCourseId();
+        Optional<Chapter> nextChapter = chapterRepo.findNextChapter(courseId, chapter.getSequence() + 1);
+        Long nextChapterId = nextChapter.isPresent() ? nextChapter.get().getId() : FINISHED;
+        //코스 완료 여부는 이번 챕터를 반영하기 전 기준
+        int completedChapterCnt = completedChapterRepo.readCompletedChapters(accountId, courseId).size();
+        Boolean courseFinished = completedChapterCnt == getChapterCountByCourseId(courseId);
+        chapterCompletionWriter.submit(new ChapterCompletion(accountId, chapterId, courseId, nextChapterId));
+        return new PutChapterFinishRes(courseFinished, nextChapterId);
     }
 
     public int getChapterCountByCourseId(Long courseId) {
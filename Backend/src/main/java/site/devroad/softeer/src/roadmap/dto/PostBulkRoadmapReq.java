@@ -0,0 +1,21 @@
+package site.devroad.softeer.src.roadmap.dto;
+
+import java.util.List;
+
+public class PostBulkRoadmapReq {
+    private List<String> emails;
+    private List<Long> subjectSequence;
+
+    public PostBulkRoadmapReq(List<String> emails, List<Long> subjectSequence) {
+        this.emails = emails;
+        this.subjectSequence = subjectSequence;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    public List<Long> getSubjectSequence() {
+        return subjectSequence;
+    }
+}
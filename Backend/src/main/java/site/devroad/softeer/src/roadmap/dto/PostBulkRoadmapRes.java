@@ -0,0 +1,27 @@
+package site.devroad.softeer.src.roadmap.dto;
+
+import java.util.List;
+
+public class PostBulkRoadmapRes {
+    private Boolean success;
+    private Integer createdCount;
+    private List<String> notFoundEmails;
+
+    public PostBulkRoadmapRes(Boolean success, Integer createdCount, List<String> notFoundEmails) {
+        this.success = success;
+        this.createdCount = createdCount;
+        this.notFoundEmails = notFoundEmails;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public Integer getCreatedCount() {
+        return createdCount;
+    }
+
+    public List<String> getNotFoundEmails() {
+        return notFoundEmails;
+    }
+}
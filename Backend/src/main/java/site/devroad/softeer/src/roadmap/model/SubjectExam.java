@@ -0,0 +1,35 @@
+package site.devroad.softeer.src.roadmap.model;
+
+public class SubjectExam {
+    private final Long subjectId;
+    private final String subjectName;
+    private final Long mcqExamId;
+    private final Long frqExamId;
+
+    public SubjectExam(Long subjectId, String subjectName, Long mcqExamId, Long frqExamId) {
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.mcqExamId = mcqExamId;
+        this.frqExamId = frqExamId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public Long getMcqExamId() {
+        return mcqExamId;
+    }
+
+    public Long getFrqExamId() {
+        return frqExamId;
+    }
+
+    public boolean hasBothExams() {
+        return mcqExamId != null && frqExamId != null;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.cache.ReadThroughCache;
 
 import java.util.Collections;
 import java.util.List;
@@ -12,10 +14,22 @@ import java.util.Optional;
 
 @Repository
 public class SubjectRepo {
+    private static final String ALL = "all";
     private final JdbcTemplate jdbcTemplate;
+    private final ReadThroughCache<Long, Optional<Subject>> subjectCache;
+    private final ReadThroughCache<String, List<Subject>> allSubjectCache;
 
-    public SubjectRepo(JdbcTemplate jdbcTemplate) {
+    public SubjectRepo(JdbcTemplate jdbcTemplate, CatalogCacheRegistry catalogCacheRegistry) {
         this.jdbcTemplate = jdbcTemplate;
+        this.subjectCache = catalogCacheRegistry.create("subject");
+        this.allSubjectCache = catalogCacheRegistry.create("subject.all");
+    }
+
+    public void preload() {
+        List<Subject> subjects = loadAll(ALL);
+        allSubjectCache.put(ALL, subjects);
+        for (Subject subject : subjects)
+            subjectCache.put(subject.getId(), Optional.of(subject));
     }
 
     private RowMapper<Subject> subjectRowMapper() {
@@ -28,6 +42,10 @@ public class SubjectRepo {
     }
 
     public Optional<Subject> findById(Long subjectId) {
+        return subjectCache.get(subjectId, this::loadById);
+    }
+
+    private Optional<Subject> loadById(Long subjectId) {
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM Subject WHERE id = ?"
                     , subjectRowMapper(), subjectId));
@@ -37,8 +55,12 @@ public class SubjectRepo {
     }
 
     public List<Subject> findAll() {
+        return allSubjectCache.get(ALL, this::loadAll);
+    }
+
+    private List<Subject> loadAll(String key) {
         try {
-            return jdbcTemplate.query("SELECT * FROM Subject", subjectRowMapper());
+            return List.copyOf(jdbcTemplate.query("SELECT * FROM Subject", subjectRowMapper()));
         } catch (EmptyResultDataAccessException e) {
             return Collections.emptyList();
         }
@@ -7,7 +7,6 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import site.devroad.softeer.src.roadmap.model.SubjectToRoadmap;
 
-import javax.sql.DataSource;
 import java.util.Optional;
 
 @Repository
@@ -15,8 +14,8 @@ public class SubjectToRoadmapRepo {
     private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public SubjectToRoadmapRepo(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
+    public SubjectToRoadmapRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public Optional<SubjectToRoadmap> findSTRByIds(Long roadmapId, Long subjectId) {
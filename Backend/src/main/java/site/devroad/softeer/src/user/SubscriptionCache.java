@@ -0,0 +1,92 @@
+package site.devroad.softeer.src.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+//계정별 구독 만료 시각(Subscribe.end_at) 캐시, 인증된 요청마다 나가던 Subscribe 조회를 없앰
+//구독은 연장만 되고 줄어들지 않으므로 구독 중이면 만료 시각까지 DB 를 보지 않음
+//구독하지 않은 계정은 다른 서버에서 구독할 수 있으므로 ttl 동안만 보관, 같은 서버의 구독/연장은 UserRepo 에서 바로 invalidate
+@Component
+public class SubscriptionCache {
+    private static final long NOT_SUBSCRIBED = Long.MIN_VALUE;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final MetricsRegistry metricsRegistry;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    //로딩 중에 무효화가 일어나면 오래된 값을 넣지 않도록 세대 번호를 비교
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public SubscriptionCache(MetricsRegistry metricsRegistry,
+                             @Value("${subscription.cache.maxSize:100000}") int maxSize,
+                             @Value("${subscription.cache.ttlSeconds:300}") long ttlSeconds) {
+        this(metricsRegistry, maxSize, ttlSeconds * 1000, System::currentTimeMillis);
+    }
+
+    SubscriptionCache(MetricsRegistry metricsRegistry, int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.metricsRegistry = metricsRegistry;
+        metricsRegistry.gauge("subscription_cache_size", entries::size);
+    }
+
+    //loader 는 end_at 을 읽어 옴, 구독 기록이 없으면 Optional.empty()
+    public boolean isSubscribed(Long accountId, Function<Long, Optional<Timestamp>> loader) {
+        long now = clock.getAsLong();
+        Entry entry = entries.get(accountId);
+        if (entry != null && entry.expiresAt > now) {
+            metricsRegistry.increment("subscription_cache_requests_total", "result", "hit");
+            return entry.endAt > now;
+        }
+        metricsRegistry.increment("subscription_cache_requests_total", "result", "miss");
+        long loadGeneration = generation.get();
+        long endAt = loader.apply(accountId).map(Timestamp::getTime).orElse(NOT_SUBSCRIBED);
+        put(accountId, endAt, now, loadGeneration);
+        return endAt > now;
+    }
+
+    public void invalidate(Long accountId) {
+        generation.incrementAndGet();
+        entries.remove(accountId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(Long accountId, long endAt, long now, long loadGeneration) {
+        //가득 차면 만료된 항목을 정리하고, 그래도 가득 차 있으면 캐시하지 않음
+        if (entries.size() >= maxSize && !entries.containsKey(accountId)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize) {
+                metricsRegistry.increment("subscription_cache_rejected_total");
+                return;
+            }
+        }
+        long expiresAt = endAt > now ? endAt : now + ttlMillis;
+        if (generation.get() == loadGeneration)
+            entries.put(accountId, new Entry(endAt, expiresAt));
+    }
+
+    private static class Entry {
+        private final long endAt;
+        private final long expiresAt;
+
+        private Entry(long endAt, long expiresAt) {
+            this.endAt = endAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package site.devroad.softeer.src.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
 import site.devroad.softeer.src.user.dto.*;
+import site.devroad.softeer.src.user.dto.domain.UserDetail;
+import site.devroad.softeer.src.user.model.RoadmapFilter;
+import site.devroad.softeer.src.user.model.UserFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @RestController
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/api/user/signup")
@@ -29,6 +42,18 @@ public class UserController {
         return new ResponseEntity<>(postSignInRes, HttpStatus.OK);
     }
 
+    @PostMapping("/api/user/refresh")
+    public ResponseEntity<?> postRefresh(@RequestBody PostRefreshReq postRefreshReq) {
+        PostSignInRes postSignInRes = userService.refresh(postRefreshReq);
+        return new ResponseEntity<>(postSignInRes, HttpStatus.OK);
+    }
+
+    @PostMapping("/api/user/signout")
+    public ResponseEntity<?> postSignOut(@RequestBody PostRefreshReq postRefreshReq) {
+        userService.signOut(postRefreshReq);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @GetMapping("/api/user")
     public ResponseEntity<?> getUserDetail(@RequestAttribute(value = "accountId") Long accountId) {
         GetUserDetailRes getUserDetailRes = userService.getUserDetail(accountId);
@@ -44,4 +69,76 @@ public class UserController {
     public ResponseEntity<?> getAllUser(@RequestAttribute(value = "accountId") Long accountId) {
         return new ResponseEntity<>(userService.getAllUser(accountId), HttpStatus.OK);
     }
+
+    @GetMapping("/api/user/noRoadmap/page")
+    public ResponseEntity<?> getNoRoadmapUserPage(@RequestAttribute(value = "accountId") Long accountId,
+                                                  @RequestParam(required = false) String name,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(userService.getNoRoadmapUserPage(accountId, name, after, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/user/noRoadmap/stream")
+    public ResponseEntity<StreamingResponseBody> streamNoRoadmapUser(@RequestAttribute(value = "accountId") Long accountId,
+                                                                     @RequestParam(required = false) String name) {
+        if (!userService.isAdmin(accountId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+        UserFilter filter = UserFilter.noRoadmap(name);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeArrayFieldStart("users");
+                userService.streamUsers(filter, chunk -> writeChunk(generator, chunk, true));
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/api/admin/users/page")
+    public ResponseEntity<?> getUserPage(@RequestAttribute(value = "accountId") Long accountId,
+                                         @RequestParam(defaultValue = "ANY") RoadmapFilter roadmap,
+                                         @RequestParam(required = false) String name,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer size) {
+        GetUserPageRes getUserPageRes = userService.getUserPage(accountId, UserFilter.students(roadmap, name), after, size);
+        return new ResponseEntity<>(getUserPageRes, HttpStatus.OK);
+    }
+
+    //GET /api/admin/users 와 같은 모양의 JSON 을 청크 단위로 흘려보냄
+    @GetMapping("/api/admin/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers(@RequestAttribute(value = "accountId") Long accountId,
+                                                             @RequestParam(defaultValue = "ANY") RoadmapFilter roadmap,
+                                                             @RequestParam(required = false) String name) {
+        if (!userService.isAdmin(accountId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+        UserFilter filter = UserFilter.students(roadmap, name);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeArrayFieldStart("userDetailList");
+                userService.streamUsers(filter, chunk -> writeChunk(generator, chunk, false));
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private void writeChunk(JsonGenerator generator, List<UserDetail> chunk, boolean emailOnly) {
+        try {
+            for (UserDetail userDetail : chunk) {
+                if (emailOnly)
+                    generator.writeString(userDetail.getEmail());
+                else
+                    generator.writeObject(userDetail);
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
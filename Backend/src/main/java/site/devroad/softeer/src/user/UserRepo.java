@@ -7,28 +7,35 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
 import site.devroad.softeer.src.exam.dto.domain.PeerDetail;
 import site.devroad.softeer.src.user.dto.domain.UserDetail;
 import site.devroad.softeer.src.user.model.Account;
 import site.devroad.softeer.src.user.model.LoginInfo;
+import site.devroad.softeer.src.user.model.RoadmapFilter;
+import site.devroad.softeer.src.user.model.UserFilter;
 
-import javax.sql.DataSource;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 @Transactional(readOnly = false)
 public class UserRepo {
     private JdbcTemplate jdbcTemplate;
+    private SubscriptionCache subscriptionCache;
 
     @Autowired
-    public UserRepo(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
+    public UserRepo(JdbcTemplate jdbcTemplate, SubscriptionCache subscriptionCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.subscriptionCache = subscriptionCache;
     }
 
     public LoginInfo createLoginInfo(String email, String password, Long accountId) {
@@ -62,6 +69,19 @@ public class UserRepo {
         }
     }
 
+    //email -> Account (없는 email 은 빠짐)
+    public Map<String, Account> findAccountsByEmails(List<String> emails) {
+        Map<String, Account> accounts = new HashMap<>();
+        if (emails.isEmpty())
+            return accounts;
+        String placeholders = String.join(", ", Collections.nCopies(emails.size(), "?"));
+        jdbcTemplate.query("SELECT l.email, a.* FROM LoginInfo l JOIN Account a ON a.id = l.account_id " +
+                "WHERE l.email IN (" + placeholders + ")", rs -> {
+            accounts.put(rs.getString("email"), accountRowMapper().mapRow(rs, rs.getRow()));
+        }, emails.toArray());
+        return accounts;
+    }
+
     public List<UserDetail> findAllUser() {
         try {
             return jdbcTemplate.query("SELECT * FROM LoginInfo l JOIN Account a " +
@@ -71,6 +91,27 @@ public class UserRepo {
         }
     }
 
+    //keyset 페이지네이션 : OFFSET 없이 afterId 다음 id 부터 size 개를 PK 순서로 읽으므로 뒤 페이지도 비용이 같음
+    public List<UserDetail> findUserPage(UserFilter filter, Long afterId, int size) {
+        StringBuilder sql = new StringBuilder("SELECT a.id AS account_id, l.email, a.roadmap_id, a.name FROM Account a " +
+                "JOIN LoginInfo l ON l.account_id = a.id WHERE a.id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterId);
+        if (filter.isStudentsOnly())
+            sql.append(" AND a.type = 'Student'");
+        if (filter.getRoadmap() == RoadmapFilter.ASSIGNED)
+            sql.append(" AND a.roadmap_id IS NOT NULL");
+        if (filter.getRoadmap() == RoadmapFilter.NONE)
+            sql.append(" AND a.roadmap_id IS NULL");
+        if (filter.getNamePrefix() != null) {
+            sql.append(" AND a.name LIKE ? ESCAPE '!'");
+            args.add(filter.getNamePrefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+        sql.append(" ORDER BY a.id LIMIT ?");
+        args.add(size);
+        return jdbcTemplate.query(sql.toString(), allUserRowMapper(), args.toArray());
+    }
+
     public List<LoginInfo> findNoRoadmapUser() {
         try {
             return jdbcTemplate.query("SELECT l.* FROM LoginInfo l JOIN Account a " +
@@ -89,48 +130,85 @@ public class UserRepo {
     }
 
     public Boolean isUserSubscribed(Long accountId) throws CustomException {
+        return subscriptionCache.isSubscribed(accountId, this::findSubscribeEndAt);
+    }
+
+    private Optional<Timestamp> findSubscribeEndAt(Long accountId) {
         try {
-            Timestamp ends = jdbcTemplate.queryForObject(
+            return Optional.ofNullable(jdbcTemplate.queryForObject(
                     "select end_at from Subscribe where account_id = ?", Timestamp.class, accountId
-            );
-            return ends.after(new Date());
+            ));
         } catch (EmptyResultDataAccessException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
 
+    //그 사이 비밀번호가 바뀌었으면 덮어쓰지 않음
+    public boolean updatePasswordHash(Long loginInfoId, String oldHash, String newHash) {
+        return jdbcTemplate.update("UPDATE LoginInfo SET password = ? WHERE id = ? AND password = ?",
+                newHash, loginInfoId, oldHash) == 1;
+    }
+
     public void setRoadmap(Long id, Long roadmapId) {
         jdbcTemplate.update("UPDATE Account SET roadmap_id = ? WHERE id=?", roadmapId, id);
     }
 
+    //accountId -> roadmapId 를 batch 로 반영
+    public void setRoadmaps(Map<Long, Long> roadmapIdByAccountId) {
+        List<Object[]> rows = new ArrayList<>(roadmapIdByAccountId.size());
+        for (Map.Entry<Long, Long> entry : roadmapIdByAccountId.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE Account SET roadmap_id = ? WHERE id=?", rows);
+    }
+
     public void doSubscribe(Long accountId) {
         jdbcTemplate.update("INSERT Subscribe(account_id) VALUES (?)", accountId);
+        invalidateSubscription(accountId);
         extendSubscribeEndDate(accountId, 31);
     }
 
+    //트랜잭션 안이면 커밋 후에 한 번 더 비움, 그 사이 다른 요청이 커밋 전 값을 다시 캐시할 수 있으므로
+    private void invalidateSubscription(Long accountId) {
+        subscriptionCache.invalidate(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    subscriptionCache.invalidate(accountId);
+                }
+            });
+        }
+    }
+
     public void extendSubscribeEndDate(Long accountId, Integer date) {
         try {
             jdbcTemplate.update("UPDATE Subscribe \n" +
                     "SET end_at = ADDDATE(IF(NOW() > end_at, NOW(), end_at), INTERVAL ? DAY)\n" +
                     "where account_id = ?", date, accountId);
+            invalidateSubscription(accountId);
         } catch (DataAccessException e) {
             e.printStackTrace();
             throw new CustomException(ExceptionType.DATABASE_ERROR);
         }
     }
 
-    public List<PeerDetail> findPeerDetailByExamId(Long accountId, Long examId) {
+    //샘플링된 제출만 조인해서 읽음
+    //로드맵이 없거나 다 끝낸(chapter_id = -1) 계정도 뽑힌 만큼 돌려주도록 현재 과목은 LEFT JOIN (없으면 null)
+    public List<PeerDetail> findPeerDetailBySubmissionIds(List<Long> submissionIds) {
+        if (submissionIds.isEmpty())
+            return List.of();
+        String placeholders = String.join(", ", Collections.nCopies(submissionIds.size(), "?"));
         return jdbcTemplate.query(
                 "SELECT es.url,es.account_id,a.name ,s.name as \"curSubjectName\" \n" +
                         "from ExamSubmission es \n" +
                         "join Account a On a.id = es.account_id \n" +
-                        "JOIN Roadmap r On r.id = a.roadmap_id  \n" +
-                        "JOIN Chapter c2 On c2.id = r.chapter_id \n" +
-                        "JOIN Course c On c.id = c2.course_id \n" +
-                        "JOIN Subject s On s.id =c.subject_id \n" +
-                        "WHERE es.is_passed=4 and es.exam_id = ? \n" +
-                        "AND es.account_id != ?", peerDetailRowMapper(), examId, accountId);
+                        "LEFT JOIN Roadmap r On r.id = a.roadmap_id  \n" +
+                        "LEFT JOIN Chapter c2 On c2.id = r.chapter_id \n" +
+                        "LEFT JOIN Course c On c.id = c2.course_id \n" +
+                        "LEFT JOIN Subject s On s.id =c.subject_id \n" +
+                        "WHERE es.id IN (" + placeholders + ")", peerDetailRowMapper(), submissionIds.toArray());
     }
 
     private RowMapper<PeerDetail> peerDetailRowMapper() {
@@ -1,55 +1,62 @@
 package site.devroad.softeer.src.user;
 
-import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
-import site.devroad.softeer.src.exam.ExamSubmissionRepo;
-import site.devroad.softeer.src.exam.model.ExamSubmission;
-import site.devroad.softeer.src.exam.model.SubmissionType;
-import site.devroad.softeer.src.roadmap.RoadmapRepo;
-import site.devroad.softeer.src.roadmap.chapter.Chapter;
 import site.devroad.softeer.src.roadmap.chapter.ChapterRepo;
-import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapterRepo;
-import site.devroad.softeer.src.roadmap.model.Roadmap;
-import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
 import site.devroad.softeer.src.user.dto.*;
 import site.devroad.softeer.src.user.dto.domain.UserDetail;
 import site.devroad.softeer.src.user.model.Account;
 import site.devroad.softeer.src.user.model.LoginInfo;
+import site.devroad.softeer.src.user.model.UserFilter;
+import site.devroad.softeer.src.user.progress.AccountProgress;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
+import site.devroad.softeer.src.user.progress.UserDashboard;
+import site.devroad.softeer.src.user.token.RefreshTokenService;
 import site.devroad.softeer.utility.JwtUtility;
+import site.devroad.softeer.utility.PasswordHasher;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 500;
     private final UserRepo userRepo;
-    private final RoadmapRepo roadmapRepo;
-    private final SubjectRepo subjectRepo;
-    private final ExamSubmissionRepo examSubmissionRepo;
-    private final CompletedChapterRepo completedChapterRepo;
+    private final ProgressRepo progressRepo;
     private final ChapterRepo chapterRepo;
     private final JwtUtility jwtUtility;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHasher passwordHasher;
+    private final ChapterCompletionWriter chapterCompletionWriter;
 
-    public UserService(UserRepo userRepo, RoadmapRepo roadmapRepo, SubjectRepo subjectRepo, ExamSubmissionRepo examSubmissionRepo, CompletedChapterRepo completedChapterRepo, ChapterRepo chapterRepo, JwtUtility jwtUtility) {
+    public UserService(UserRepo userRepo, ProgressRepo progressRepo, ChapterRepo chapterRepo, JwtUtility jwtUtility,
+                       RefreshTokenService refreshTokenService, PasswordHasher passwordHasher,
+                       ChapterCompletionWriter chapterCompletionWriter) {
         this.userRepo = userRepo;
-        this.roadmapRepo = roadmapRepo;
-        this.subjectRepo = subjectRepo;
-        this.examSubmissionRepo = examSubmissionRepo;
-        this.completedChapterRepo = completedChapterRepo;
+        this.progressRepo = progressRepo;
         this.chapterRepo = chapterRepo;
         this.jwtUtility = jwtUtility;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHasher = passwordHasher;
+        this.chapterCompletionWriter = chapterCompletionWriter;
     }
 
     public PostSignUpRes join(PostSignUpReq req) {
         validateSignUp(req);
+        //해시 풀이 거절하면 계정이 반쯤 만들어지지 않도록 먼저 해시
+        String hashPassword = passwordHasher.hash(req.getPassword());
         Account student = userRepo.createAccountInfo(req.getName(), req.getPhone(), "Student");
-        String hashPassword = BCrypt.hashpw(req.getPassword(), BCrypt.gensalt());
         userRepo.createLoginInfo(req.getEmail(), hashPassword, student.getId());
         return new PostSignUpRes(student.getId());
     }
@@ -61,17 +68,40 @@ public class UserService {
             throw new CustomException(ExceptionType.ACCOUNT_NOT_FOUND);
         }
         String password = req.getPassword();
-        boolean authentication = BCrypt.checkpw(password, loginInfo.get().getPassword());
+        String storedHash = loginInfo.get().getPassword();
+        boolean authentication = passwordHasher.verify(password, storedHash);
         if (authentication) {
+            //설정된 cost 와 다르게 저장된 해시는 백그라운드에서 다시 해시
+            if (passwordHasher.needsRehash(storedHash)) {
+                Long loginInfoId = loginInfo.get().getId();
+                passwordHasher.rehashLater(password, rehashed -> userRepo.updatePasswordHash(loginInfoId, storedHash, rehashed));
+            }
             Long accountId = loginInfo.get().getAccountId();
             Account accountById = getAccountById(accountId);
             String jwt = jwtUtility.makeJwtToken(accountId, accountById.getName());
-            boolean admin = isAdmin(accountId);
-            return new PostSignInRes(jwt, admin);
+            boolean admin = accountById.getType().equals("Admin");
+            String refreshToken = refreshTokenService.issue(accountId);
+            return new PostSignInRes(jwt, refreshToken, admin);
         }
         throw new CustomException(ExceptionType.AUTHENTICATION_FAILED);
     }
 
+    //refresh token 으로 세션 갱신, 비밀번호(BCrypt) 검증 없이 새 jwt 와 회전된 refresh token 발급
+    public PostSignInRes refresh(PostRefreshReq req) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(req.getRefreshToken());
+        Long accountId = rotation.getAccountId();
+        Account accountById = getAccountById(accountId);
+        String jwt = jwtUtility.makeJwtToken(accountId, accountById.getName());
+        boolean admin = accountById.getType().equals("Admin");
+        return new PostSignInRes(jwt, rotation.getRefreshToken(), admin);
+    }
+
+    public void signOut(PostRefreshReq req) {
+        if (req.getRefreshToken() == null)
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        refreshTokenService.revoke(req.getRefreshToken());
+    }
+
     public void validateSignUp(PostSignUpReq req) {
         String phone = req.getPhone();
         String email = req.getEmail();
@@ -106,53 +136,54 @@ public class UserService {
     }
 
     public GetUserDetailRes getUserDetail(Long accountId) throws CustomException {
-        Optional<Account> accountById = userRepo.findAccountById(accountId);
-        if (accountById.isEmpty())
+        //현재 챕터와 코스 진행 집계는 write-behind 로 반영되므로 이 계정의 밀린 이벤트부터 반영
+        chapterCompletionWriter.awaitApplied(accountId);
+        //계정, 로드맵, 구독, 진행 집계를 한 번에 조회
+        Optional<UserDashboard> dashboardById = progressRepo.findDashboard(accountId);
+        if (dashboardById.isEmpty())
             throw new CustomException(ExceptionType.ACCOUNT_NOT_FOUND);
-        Account account = accountById.get();
-        String userName = account.getName();
-        Optional<Roadmap> roadmapByAccountId = roadmapRepo.findRoadmapByAccountId(accountId);
+        UserDashboard dashboard = dashboardById.get();
+        String userName = dashboard.getUserName();
         //roadmapId가 없다면 subscribe 여부는 false
-        if (roadmapByAccountId.isEmpty())
+        if (dashboard.getRoadmapId() == null || dashboard.getChapterId() == null)
             return GetUserDetailRes.createNoRoadmapUserDetail(accountId, userName, false);
 
-        Roadmap roadmap = roadmapByAccountId.get();
-        Long roadmapId = roadmap.getId();
-        Long chapterId = roadmap.getChapterId();
-        int totalSubjects = subjectRepo.findSubjectsByRoadmapId(roadmapId).size();
-        Boolean userSubscribe = isUserSubscribe(accountId);
+        Long roadmapId = dashboard.getRoadmapId();
+        Long chapterId = dashboard.getChapterId();
+        //집계가 없거나 로드맵이 바뀐 경우에만 다시 계산
+        AccountProgress accountProgress = dashboard.getAccountProgress();
+        if (accountProgress == null)
+            accountProgress = progressRepo.rebuildAccountProgress(accountId, roadmapId);
+        long totalSubjects = accountProgress.getTotalSubjects();
+        Timestamp subscribeEndAt = dashboard.getSubscribeEndAt();
+        Boolean userSubscribe = subscribeEndAt != null && subscribeEndAt.after(new Date());
         if (chapterId == 0) {
-            return GetUserDetailRes.createNotStartUserDetail(accountId, roadmapId, (long) totalSubjects, userName, userSubscribe);
+            return GetUserDetailRes.createNotStartUserDetail(accountId, roadmapId, totalSubjects, userName, userSubscribe);
         }
 
         GetUserDetailRes getUserDetailRes = GetUserDetailRes.createUserDetail();
         getUserDetailRes.setSubscribe(userSubscribe);
         getUserDetailRes.setUserId(accountId);
         getUserDetailRes.setUserName(userName);
-        getUserDetailRes.setRoadmapId(account.getRoadMapId());
+        getUserDetailRes.setRoadmapId(roadmapId);
         getUserDetailRes.setCurChapterPK(chapterId);
-        getUserDetailRes.setTotalSubjectIdx((long) totalSubjects);
-        List<ExamSubmission> mcqSubmissions = examSubmissionRepo.findMCQByRoadmapIdAndAccountId(roadmapId, accountId);
-        long cnt = mcqSubmissions.stream()
-                .filter(examSubmission -> examSubmission.getSubmissionType() == SubmissionType.PASSED)
-                .count();
-        getUserDetailRes.setCurSubjectIdx(cnt);
+        getUserDetailRes.setTotalSubjectIdx(totalSubjects);
+        getUserDetailRes.setCurSubjectIdx((long) accountProgress.getPassedSubjects());
 
         //진행 중인 챕터가 없을 때와 한 챕터가 종료 되었을 때 분리
         if (chapterId == -1) {
             getUserDetailRes.setChapterPercent(1F);
             return getUserDetailRes;
         }
-        Optional<Chapter> chapterById = chapterRepo.findChapterById(chapterId);
-        if (chapterById.isEmpty())
+        if (dashboard.getCourseId() == null)
             throw new CustomException(ExceptionType.CHAPTER_NOT_FOUND);
-        Chapter chapter = chapterById.get();
-        Long courseId = chapter.getCourseId();
-        String title = chapter.getTitle();
-        getUserDetailRes.setCurChapterName(title);
+        Long courseId = dashboard.getCourseId();
+        getUserDetailRes.setCurChapterName(dashboard.getChapterTitle());
+        //코스의 전체 챕터 수는 카탈로그 캐시에서 가져옴
         int totalChapterCnt = chapterRepo.findChaptersByCourseId(courseId).size();
-        //완료된 completed chatpers
-        int completedChapterCnt = completedChapterRepo.readCompletedChapters(accountId, courseId).size();
+        Integer completedChapterCnt = dashboard.getCompletedChapters();
+        if (completedChapterCnt == null)
+            completedChapterCnt = progressRepo.rebuildCourseProgress(accountId, courseId);
         getUserDetailRes.setChapterPercent(completedChapterCnt / (float) totalChapterCnt);
         return getUserDetailRes;
     }
@@ -164,6 +195,52 @@ public class UserService {
         return new GetAllUserRes(allUser);
     }
 
+    public GetUserPageRes getUserPage(Long accountId, UserFilter filter, Long after, Integer size) {
+        if (!isAdmin(accountId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+        int limit = pageSize(size);
+        List<UserDetail> page = userRepo.findUserPage(filter, after == null ? 0L : after, limit);
+        return new GetUserPageRes(page, nextCursor(page, limit));
+    }
+
+    public GetNoUserPageRes getNoRoadmapUserPage(Long accountId, String namePrefix, Long after, Integer size) {
+        if (!isAdmin(accountId))
+            throw new CustomException(ExceptionType.NO_ADMIN_USER);
+        int limit = pageSize(size);
+        List<UserDetail> page = userRepo.findUserPage(UserFilter.noRoadmap(namePrefix), after == null ? 0L : after, limit);
+        List<String> users = new ArrayList<>(page.size());
+        for (UserDetail userDetail : page) {
+            users.add(userDetail.getEmail());
+        }
+        return new GetNoUserPageRes(users, nextCursor(page, limit));
+    }
+
+    //전체 목록을 STREAM_CHUNK_SIZE 단위 keyset 페이지로 읽어 넘김 -> 유저 수와 무관하게 한 청크만 메모리에 올라감
+    public void streamUsers(UserFilter filter, Consumer<List<UserDetail>> chunkConsumer) {
+        long after = 0L;
+        while (true) {
+            List<UserDetail> chunk = userRepo.findUserPage(filter, after, STREAM_CHUNK_SIZE);
+            if (chunk.isEmpty())
+                return;
+            chunkConsumer.accept(chunk);
+            if (chunk.size() < STREAM_CHUNK_SIZE)
+                return;
+            after = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null)
+            return DEFAULT_PAGE_SIZE;
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private Long nextCursor(List<UserDetail> page, int limit) {
+        if (page.size() < limit)
+            return null;
+        return page.get(page.size() - 1).getId();
+    }
+
     public Account getAccountById(Long accountId) {
         Optional<Account> accountById = userRepo.findAccountById(accountId);
         if (accountById.isEmpty())
@@ -0,0 +1,28 @@
+package site.devroad.softeer.src.user.dto;
+
+import java.util.List;
+
+public class GetNoUserPageRes {
+    Boolean success;
+    List<String> users;
+    //다음 페이지 요청의 after 값, 마지막 페이지면 null
+    Long nextCursor;
+
+    public GetNoUserPageRes(List<String> users, Long nextCursor) {
+        this.success = true;
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public List<String> getUsers() {
+        return users;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,30 @@
+package site.devroad.softeer.src.user.dto;
+
+import site.devroad.softeer.src.user.dto.domain.UserDetail;
+
+import java.util.List;
+
+public class GetUserPageRes {
+    private boolean success;
+    private List<UserDetail> userDetailList;
+    //다음 페이지 요청의 after 값, 마지막 페이지면 null
+    private Long nextCursor;
+
+    public GetUserPageRes(List<UserDetail> userDetailList, Long nextCursor) {
+        this.success = true;
+        this.userDetailList = userDetailList;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public List<UserDetail> getUserDetailList() {
+        return userDetailList;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,16 @@
+package site.devroad.softeer.src.user.dto;
+
+public class PostRefreshReq {
+    private String refreshToken;
+
+    public PostRefreshReq() {
+    }
+
+    public PostRefreshReq(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
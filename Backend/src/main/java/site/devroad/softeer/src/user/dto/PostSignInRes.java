@@ -3,11 +3,13 @@ package site.devroad.softeer.src.user.dto;
 public class PostSignInRes {
     private boolean success;
     private String jwt;
+    private String refreshToken;
     private boolean admin;
 
-    public PostSignInRes(String jwt, boolean admin) {
+    public PostSignInRes(String jwt, String refreshToken, boolean admin) {
         this.success = true;
         this.jwt = jwt;
+        this.refreshToken = refreshToken;
         this.admin = admin;
     }
 
@@ -22,4 +24,8 @@ public class PostSignInRes {
     public String getJwt() {
         return jwt;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
@@ -0,0 +1,8 @@
+package site.devroad.softeer.src.user.model;
+
+//관리자 유저 목록의 로드맵 배정 여부 필터
+public enum RoadmapFilter {
+    ANY,
+    ASSIGNED,
+    NONE
+}
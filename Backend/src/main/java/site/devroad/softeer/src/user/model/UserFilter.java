@@ -0,0 +1,35 @@
+package site.devroad.softeer.src.user.model;
+
+public class UserFilter {
+    private final RoadmapFilter roadmap;
+    private final String namePrefix;
+    private final boolean studentsOnly;
+
+    public UserFilter(RoadmapFilter roadmap, String namePrefix, boolean studentsOnly) {
+        this.roadmap = roadmap == null ? RoadmapFilter.ANY : roadmap;
+        this.namePrefix = namePrefix == null || namePrefix.isBlank() ? null : namePrefix;
+        this.studentsOnly = studentsOnly;
+    }
+
+    //GET /api/admin/users 와 같은 대상 (Student 계정)
+    public static UserFilter students(RoadmapFilter roadmap, String namePrefix) {
+        return new UserFilter(roadmap, namePrefix, true);
+    }
+
+    //GET /api/user/noRoadmap 과 같은 대상 (계정 종류와 무관하게 로드맵이 없는 계정)
+    public static UserFilter noRoadmap(String namePrefix) {
+        return new UserFilter(RoadmapFilter.NONE, namePrefix, false);
+    }
+
+    public RoadmapFilter getRoadmap() {
+        return roadmap;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public boolean isStudentsOnly() {
+        return studentsOnly;
+    }
+}
@@ -0,0 +1,31 @@
+package site.devroad.softeer.src.user.progress;
+
+public class AccountProgress {
+    private final Long accountId;
+    private final Long roadmapId;
+    private final Integer totalSubjects;
+    private final Integer passedSubjects;
+
+    public AccountProgress(Long accountId, Long roadmapId, Integer totalSubjects, Integer passedSubjects) {
+        this.accountId = accountId;
+        this.roadmapId = roadmapId;
+        this.totalSubjects = totalSubjects;
+        this.passedSubjects = passedSubjects;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getRoadmapId() {
+        return roadmapId;
+    }
+
+    public Integer getTotalSubjects() {
+        return totalSubjects;
+    }
+
+    public Integer getPassedSubjects() {
+        return passedSubjects;
+    }
+}
@@ -0,0 +1,120 @@
+package site.devroad.softeer.src.user.progress;
+
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import site.devroad.softeer.src.exam.model.SubmissionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//AccountProgress(로드맵 과목 통과 수), CourseProgress(코스별 완료 챕터 수) 집계 테이블
+@Repository
+public class ProgressRepo {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProgressRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //로드맵이 바뀐 경우 AccountProgress 는 조인되지 않으므로 다시 집계됨
+    public Optional<UserDashboard> findDashboard(Long accountId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT a.id, a.name, a.roadmap_id, r.chapter_id, s.end_at,\n" +
+                    "ap.account_id AS progress_account_id, ap.total_subjects, ap.passed_subjects,\n" +
+                    "ch.course_id, ch.title, cp.completed_chapters\n" +
+                    "FROM Account a\n" +
+                    "LEFT JOIN Roadmap r ON r.id = a.roadmap_id\n" +
+                    "LEFT JOIN Subscribe s ON s.account_id = a.id\n" +
+                    "LEFT JOIN AccountProgress ap ON ap.account_id = a.id AND ap.roadmap_id = a.roadmap_id\n" +
+                    "LEFT JOIN Chapter ch ON ch.id = r.chapter_id\n" +
+                    "LEFT JOIN CourseProgress cp ON cp.account_id = a.id AND cp.course_id = ch.course_id\n" +
+                    "WHERE a.id = ?", userDashboardRowMapper(), accountId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    public AccountProgress rebuildAccountProgress(Long accountId, Long roadmapId) {
+        Integer totalSubjects = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SubjectToRoadmap WHERE roadmap_id = ?",
+                Integer.class, roadmapId);
+        Integer passedSubjects = jdbcTemplate.queryForObject("SELECT COUNT(*)\n" +
+                "FROM ExamSubmission es\n" +
+                "JOIN Exam e ON es.exam_id = e.id\n" +
+                "JOIN SubjectToRoadmap str ON e.subject_id = str.subject_id\n" +
+                "WHERE str.roadmap_id = ?\n" +
+                "AND es.account_id = ?\n" +
+                "AND e.type = 'MCQ'\n" +
+                "AND es.is_passed = ?", Integer.class, roadmapId, accountId, SubmissionType.PASSED.getIs_passed());
+        jdbcTemplate.update("INSERT INTO AccountProgress (account_id, roadmap_id, total_subjects, passed_subjects) VALUES (?, ?, ?, ?)\n" +
+                        "ON DUPLICATE KEY UPDATE roadmap_id = VALUES(roadmap_id), total_subjects = VALUES(total_subjects), passed_subjects = VALUES(passed_subjects)",
+                accountId, roadmapId, totalSubjects, passedSubjects);
+        return new AccountProgress(accountId, roadmapId, totalSubjects, passedSubjects);
+    }
+
+    public int rebuildCourseProgress(Long accountId, Long courseId) {
+        Integer completedChapters = jdbcTemplate.queryForObject("SELECT COUNT(*)\n" +
+                "FROM CompletedChapter cc\n" +
+                "JOIN Chapter c ON cc.chapter_id = c.id\n" +
+                "WHERE c.course_id = ?\n" +
+                "AND cc.account_id = ?", Integer.class, courseId, accountId);
+        jdbcTemplate.update("INSERT INTO CourseProgress (account_id, course_id, completed_chapters) VALUES (?, ?, ?)\n" +
+                        "ON DUPLICATE KEY UPDATE completed_chapters = VALUES(completed_chapters)",
+                accountId, courseId, completedChapters);
+        return completedChapters;
+    }
+
+    //집계 행이 아직 없으면 아무것도 하지 않음 (다음 조회 때 새로 집계)
+    public void increaseCompletedChapters(Long accountId, Long courseId) {
+        jdbcTemplate.update("UPDATE CourseProgress SET completed_chapters = completed_chapters + 1 WHERE account_id = ? AND course_id = ?",
+                accountId, courseId);
+    }
+
+    //(accountId, courseId) 마다 늘어난 완료 챕터 수를 batch 로 반영
+    public void increaseCompletedChapters(Map<List<Long>, Integer> deltaByAccountCourse) {
+        List<Object[]> rows = new ArrayList<>(deltaByAccountCourse.size());
+        for (Map.Entry<List<Long>, Integer> entry : deltaByAccountCourse.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), entry.getKey().get(0), entry.getKey().get(1)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE CourseProgress SET completed_chapters = completed_chapters + ? WHERE account_id = ? AND course_id = ?", rows);
+    }
+
+    //시험이 현재 로드맵의 MCQ 인 경우에만 반영
+    public void addPassedSubjects(Long accountId, Long examId, int delta) {
+        jdbcTemplate.update("UPDATE AccountProgress ap SET passed_subjects = passed_subjects + ?\n" +
+                "WHERE ap.account_id = ?\n" +
+                "AND EXISTS (SELECT 1 FROM Exam e\n" +
+                "    JOIN SubjectToRoadmap str ON str.subject_id = e.subject_id\n" +
+                "    WHERE e.id = ? AND e.type = 'MCQ' AND str.roadmap_id = ap.roadmap_id)", delta, accountId, examId);
+    }
+
+    public void deleteAccountProgress(Long accountId) {
+        jdbcTemplate.update("DELETE FROM AccountProgress WHERE account_id = ?", accountId);
+    }
+
+    public void deleteAccountProgresses(List<Long> accountIds) {
+        List<Object[]> rows = new ArrayList<>(accountIds.size());
+        for (Long accountId : accountIds) {
+            rows.add(new Object[]{accountId});
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM AccountProgress WHERE account_id = ?", rows);
+    }
+
+    private RowMapper<UserDashboard> userDashboardRowMapper() {
+        return (rs, rowNum) -> {
+            Long accountId = rs.getLong("id");
+            Long roadmapId = rs.getObject("roadmap_id") == null ? null : rs.getLong("roadmap_id");
+            Long chapterId = rs.getObject("chapter_id") == null ? null : rs.getLong("chapter_id");
+            AccountProgress accountProgress = null;
+            if (rs.getObject("progress_account_id") != null)
+                accountProgress = new AccountProgress(accountId, roadmapId, rs.getInt("total_subjects"), rs.getInt("passed_subjects"));
+            Long courseId = rs.getObject("course_id") == null ? null : rs.getLong("course_id");
+            Integer completedChapters = rs.getObject("completed_chapters") == null ? null : rs.getInt("completed_chapters");
+            return new UserDashboard(accountId, rs.getString("name"), roadmapId, chapterId, rs.getTimestamp("end_at"),
+                    accountProgress, courseId, rs.getString("title"), completedChapters);
+        };
+    }
+}
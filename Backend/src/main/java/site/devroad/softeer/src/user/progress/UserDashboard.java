@@ -0,0 +1,65 @@
+package site.devroad.softeer.src.user.progress;
+
+import java.sql.Timestamp;
+
+//GET /api/user 에 필요한 값을 한 번의 조회로 담음, 집계가 아직 없으면 progress 값은 null
+public class UserDashboard {
+    private final Long accountId;
+    private final String userName;
+    private final Long roadmapId;
+    private final Long chapterId;
+    private final Timestamp subscribeEndAt;
+    private final AccountProgress accountProgress;
+    private final Long courseId;
+    private final String chapterTitle;
+    private final Integer completedChapters;
+
+    public UserDashboard(Long accountId, String userName, Long roadmapId, Long chapterId, Timestamp subscribeEndAt,
+                         AccountProgress accountProgress, Long courseId, String chapterTitle, Integer completedChapters) {
+        this.accountId = accountId;
+        this.userName = userName;
+        this.roadmapId = roadmapId;
+        this.chapterId = chapterId;
+        this.subscribeEndAt = subscribeEndAt;
+        this.accountProgress = accountProgress;
+        this.courseId = courseId;
+        this.chapterTitle = chapterTitle;
+        this.completedChapters = completedChapters;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public Long getRoadmapId() {
+        return roadmapId;
+    }
+
+    public Long getChapterId() {
+        return chapterId;
+    }
+
+    public Timestamp getSubscribeEndAt() {
+        return subscribeEndAt;
+    }
+
+    public AccountProgress getAccountProgress() {
+        return accountProgress;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getChapterTitle() {
+        return chapterTitle;
+    }
+
+    public Integer getCompletedChapters() {
+        return completedChapters;
+    }
+}
@@ -0,0 +1,45 @@
+package site.devroad.softeer.src.user.token;
+
+import java.sql.Timestamp;
+
+public class RefreshToken {
+    private final Long id;
+    private final Long accountId;
+    private final String familyId;
+    private final Timestamp expiresAt;
+    private final Timestamp usedAt;
+    private final Timestamp revokedAt;
+
+    public RefreshToken(Long id, Long accountId, String familyId, Timestamp expiresAt, Timestamp usedAt, Timestamp revokedAt) {
+        this.id = id;
+        this.accountId = accountId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+        this.usedAt = usedAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Timestamp getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Timestamp getUsedAt() {
+        return usedAt;
+    }
+
+    public Timestamp getRevokedAt() {
+        return revokedAt;
+    }
+}
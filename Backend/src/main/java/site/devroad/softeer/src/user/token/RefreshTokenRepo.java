@@ -0,0 +1,59 @@
+package site.devroad.softeer.src.user.token;
+
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+@Repository
+public class RefreshTokenRepo {
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createToken(Long accountId, String familyId, String tokenHash, Timestamp expiresAt) {
+        jdbcTemplate.update("INSERT INTO RefreshToken (account_id, family_id, token_hash, expires_at) VALUES (?, ?, ?, ?)",
+                accountId, familyId, tokenHash, expiresAt);
+    }
+
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT * FROM RefreshToken WHERE token_hash = ?",
+                    refreshTokenRowMapper(), tokenHash));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    //아직 쓰이지 않은 토큰만 사용 처리, 동시에 같은 토큰으로 요청이 오면 한 쪽만 true
+    public boolean markUsed(Long id) {
+        return jdbcTemplate.update("UPDATE RefreshToken SET used_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ? AND used_at IS NULL AND revoked_at IS NULL", id) == 1;
+    }
+
+    public int revokeFamily(String familyId) {
+        return jdbcTemplate.update("UPDATE RefreshToken SET revoked_at = CURRENT_TIMESTAMP " +
+                "WHERE family_id = ? AND revoked_at IS NULL", familyId);
+    }
+
+    public int deleteExpiredByAccountId(Long accountId) {
+        return jdbcTemplate.update("DELETE FROM RefreshToken WHERE account_id = ? AND expires_at < CURRENT_TIMESTAMP", accountId);
+    }
+
+    private RowMapper<RefreshToken> refreshTokenRowMapper() {
+        return (rs, rowNum) -> {
+            Long id = rs.getLong("id");
+            Long accountId = rs.getLong("account_id");
+            String familyId = rs.getString("family_id");
+            Timestamp expiresAt = rs.getTimestamp("expires_at");
+            Timestamp usedAt = rs.getTimestamp("used_at");
+            Timestamp revokedAt = rs.getTimestamp("revoked_at");
+            return new RefreshToken(id, accountId, familyId, expiresAt, usedAt, revokedAt);
+        };
+    }
+}
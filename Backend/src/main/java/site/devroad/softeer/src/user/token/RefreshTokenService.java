@@ -0,0 +1,111 @@
+package site.devroad.softeer.src.user.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+//refresh token 발급/회전/폐기
+//사용된 토큰은 다시 쓸 수 없고, 재사용이 감지되면(탈취 의심) 같은 family 의 토큰을 모두 폐기
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final Duration ttl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepo refreshTokenRepo, @Value("${jwt.refresh.ttlDays:14}") long ttlDays) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    //로그인 시 새 family 로 발급
+    public String issue(Long accountId) {
+        refreshTokenRepo.deleteExpiredByAccountId(accountId);
+        return create(accountId, UUID.randomUUID().toString());
+    }
+
+    //토큰을 사용 처리하고 같은 family 로 새 토큰 발급, 토큰 주인 accountId 를 돌려줌
+    //재사용 감지 시 family 폐기가 예외와 함께 롤백되지 않도록 CustomException 은 롤백하지 않음
+    @Transactional(noRollbackFor = CustomException.class)
+    public Rotation rotate(String token) {
+        RefreshToken refreshToken = find(token);
+        if (refreshToken.getRevokedAt() != null)
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        if (refreshToken.getUsedAt() != null || !refreshTokenRepo.markUsed(refreshToken.getId())) {
+            logger.warn("refresh token reuse detected : account {}, family {}", refreshToken.getAccountId(), refreshToken.getFamilyId());
+            refreshTokenRepo.revokeFamily(refreshToken.getFamilyId());
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_REUSED);
+        }
+        if (refreshToken.getExpiresAt().getTime() < System.currentTimeMillis())
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        String next = create(refreshToken.getAccountId(), refreshToken.getFamilyId());
+        return new Rotation(refreshToken.getAccountId(), next);
+    }
+
+    //로그아웃 : 이 토큰에서 이어진 family 전체 폐기
+    public void revoke(String token) {
+        Optional<RefreshToken> refreshToken = refreshTokenRepo.findByTokenHash(hash(token));
+        refreshToken.ifPresent(t -> refreshTokenRepo.revokeFamily(t.getFamilyId()));
+    }
+
+    private RefreshToken find(String token) {
+        if (token == null || token.isBlank())
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        Optional<RefreshToken> refreshToken = refreshTokenRepo.findByTokenHash(hash(token));
+        if (refreshToken.isEmpty())
+            throw new CustomException(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        return refreshToken.get();
+    }
+
+    private String create(Long accountId, String familyId) {
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        refreshTokenRepo.createToken(accountId, familyId, hash(token), new Timestamp(System.currentTimeMillis() + ttl.toMillis()));
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Rotation {
+        private final Long accountId;
+        private final String refreshToken;
+
+        public Rotation(Long accountId, String refreshToken) {
+            this.accountId = accountId;
+            this.refreshToken = refreshToken;
+        }
+
+        public Long getAccountId() {
+            return accountId;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package site.devroad.softeer.utility;
+
+public class AiCompletion {
+    private final String text;
+    private final int totalTokens;
+
+    public AiCompletion(String text, int totalTokens) {
+        this.text = text;
+        this.totalTokens = totalTokens;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getTotalTokens() {
+        return totalTokens;
+    }
+}
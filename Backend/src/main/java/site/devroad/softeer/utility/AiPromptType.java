@@ -0,0 +1,22 @@
+package site.devroad.softeer.utility;
+
+public enum AiPromptType {
+    SUMMARY("what does this code does?", 50),
+    REVIEW("\n\n you did a good job but there is 5 suggestion for improving your code: \n", 150);
+
+    private final String suffix;
+    private final int maxTokens;
+
+    AiPromptType(String suffix, int maxTokens) {
+        this.suffix = suffix;
+        this.maxTokens = maxTokens;
+    }
+
+    public String getPrompt(String rawCode) {
+        return rawCode + suffix;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+}
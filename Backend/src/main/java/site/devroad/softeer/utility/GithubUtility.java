@@ -4,17 +4,21 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import site.devroad.softeer.exceptions.CustomException;
 import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.net.URLDecoder;
+import java.net.http.HttpRequest;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class GithubUtility {
@@ -27,6 +31,27 @@ public class GithubUtility {
     @Value("${github.apiKey}")
     private String token;
 
+    @Value("${github.apiBaseUrl:https://api.github.com}")
+    private String apiBaseUrl;
+
+    //tree : 트리 한 번 조회 후 blob 병렬 다운로드, contents : 디렉토리 단위 순차 조회
+    @Value("${github.fetchMode:tree}")
+    private String fetchMode;
+
+    @Value("${github.maxFileBytes:100000}")
+    private long maxFileBytes;
+
+    @Value("${github.maxFiles:100}")
+    private int maxFiles;
+
+    private final OutboundHttpClient httpClient;
+    private final TaskExecutor downloadExecutor;
+
+    public GithubUtility(OutboundHttpClient httpClient, @Qualifier("githubExecutor") TaskExecutor downloadExecutor) {
+        this.httpClient = httpClient;
+        this.downloadExecutor = downloadExecutor;
+    }
+
     private static Map<String, String> extensionMap = new HashMap<>(){{
         put("Java", ".java");
         put("Python", ".py");
@@ -36,141 +61,94 @@ public class GithubUtility {
     }};
 
     public String getMainExtensionFromRepo(String owner, String repo) {
-        try {
-            String path = "https://api.github.com/repos/" + owner + "/" + repo;
-            URL url = new URL(path);
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("GET");
-            con.setRequestProperty("Authorization", "Bearer " + token);
-            con.setRequestProperty("Accept", "application/vnd.github.v3+json");
-
-            int status = con.getResponseCode();
-            if (status != 200) {
-                throw new RuntimeException("Failed to get repository contents: " + status);
-            }
-
-            InputStream in = con.getInputStream();
-            byte[] responseBytes = in.readAllBytes();
-            String response = new String(responseBytes);
-
-            JSONObject jsonObject = new JSONObject(response);
-
-            String language = jsonObject.getString("language");
-            if (!extensionMap.containsKey(language))
-                return ".java";
-            return extensionMap.get(language);
-        }catch (IOException e){
-            e.printStackTrace();
-            throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
-        }
+        JSONObject jsonObject = getJsonObject(apiBaseUrl + "/repos/" + owner + "/" + repo);
+        String language = jsonObject.optString("language");
+        if (!extensionMap.containsKey(language))
+            return ".java";
+        return extensionMap.get(language);
     }
 
     public Map<String, String> getAllCodeFromRepo(String owner, String repo, String fileType) {
-        try {
-            String path = "https://api.github.com/repos/" + owner + "/" + repo + "/contents";
-            URL url = new URL(path);
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("GET");
-            con.setRequestProperty("Authorization", "Bearer " + token);
-            con.setRequestProperty("Accept", "application/vnd.github.v3+json");
-
-            int status = con.getResponseCode();
-            if (status != 200) {
-                throw new RuntimeException("Failed to get repository contents: " + status);
-            }
+        if (fetchMode.equals("contents"))
+            return getAllCodeFromContents(owner, repo, fileType);
+        return getAllCodeFromTree(owner, repo, fileType);
+    }
 
-            InputStream in = con.getInputStream();
-            byte[] responseBytes = in.readAllBytes();
-            String response = new String(responseBytes);
-
-            JSONArray jsonArray = new JSONArray(response);
-
-            logger.info("jsonArray {}", jsonArray);
-            Map<String, String> javaFiles = new HashMap<>();
-
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject obj = (JSONObject) jsonArray.get(i);
-                String name = (String) obj.get("name");
-                String type = (String) obj.get("type");
-                String pathUrl = (String) obj.get("url");
-                if (type.equals("dir")) {
-                    javaFiles.putAll(getFilesFromDirectory(pathUrl, fileType));
-                } else if (name.endsWith(fileType)) {
-                    String downloadUrl = (String) obj.get("download_url");
-                    String content = getFileContentFromUrl(downloadUrl);
-                    javaFiles.put(getFileName(pathUrl), content);
-                }
+    //recursive tree 조회 한 번으로 파일 목록을 받고, 조건에 맞는 blob만 동시에 다운로드
+    public Map<String, String> getAllCodeFromTree(String owner, String repo, String fileType) {
+        String repoPath = apiBaseUrl + "/repos/" + owner + "/" + repo;
+        String branch = getJsonObject(repoPath).getString("default_branch");
+        JSONObject tree = getJsonObject(repoPath + "/git/trees/" + branch + "?recursive=1");
+        if (tree.optBoolean("truncated"))
+            logger.warn("tree of {}/{} is truncated", owner, repo);
+
+        List<JSONObject> blobs = new ArrayList<>();
+        JSONArray entries = tree.getJSONArray("tree");
+        for (int i = 0; i < entries.length(); i++) {
+            JSONObject entry = entries.getJSONObject(i);
+            if (!entry.getString("type").equals("blob") || !entry.getString("path").endsWith(fileType))
+                continue;
+            if (entry.optLong("size") > maxFileBytes) {
+                logger.info("skip {} : {} bytes", entry.getString("path"), entry.optLong("size"));
+                continue;
             }
-
-            return javaFiles;
-        }catch (IOException e){
-            e.printStackTrace();
-            throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
+            blobs.add(entry);
+        }
+        blobs.sort(Comparator.comparing(entry -> entry.getString("path")));
+        if (blobs.size() > maxFiles) {
+            logger.info("{}/{} has {} files, only first {} are fetched", owner, repo, blobs.size(), maxFiles);
+            blobs = blobs.subList(0, maxFiles);
         }
-    }
-
-    //create new Issue from originGitUrl and returns new Issue url;
-    public String createIssue(String owner, String repo, String title, String content){
-        logger.info("createIssue {}, {}, {}", owner+"/"+repo, title, content);
-
-        try {
-            URL url = new URL("https://api.github.com/repos/" + owner+"/"+repo + "/issues");
-
-            logger.info(url.toString());
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-
-            con.setRequestMethod("POST");
-            String encodedString = "Bearer " + gitApiKey;
-            logger.info("auth {}", encodedString);
-            con.setRequestProperty("Authorization", encodedString);
-            con.setRequestProperty("Accept", "application/vnd.github+json");
-            con.setDoOutput(true);
-
-            Map<String, String> data = new HashMap<>();
-            data.put("title", title);
-            data.put("body", content);
-            JSONObject json = new JSONObject(data);
-
-            OutputStream os = con.getOutputStream();
-            os.write(json.toString().getBytes());
-            os.flush();
-            os.close();
-
-            logger.info("Git Message successfully sended");
 
-            int responseCode = con.getResponseCode();
+        Map<String, CompletableFuture<String>> downloads = new LinkedHashMap<>();
+        for (JSONObject blob : blobs) {
+            String blobUrl = repoPath + "/git/blobs/" + blob.getString("sha");
+            downloads.put("/" + blob.getString("path"), CompletableFuture.supplyAsync(() -> getRaw(blobUrl), downloadExecutor));
+        }
 
-            InputStream in = null;
-            if (responseCode >= 200 && responseCode < 300) {
-                in = con.getInputStream();
-            } else {
-                in = con.getErrorStream();
+        Map<String, String> codes = new TreeMap<>();
+        for (Map.Entry<String, CompletableFuture<String>> download : downloads.entrySet()) {
+            try {
+                codes.put(download.getKey(), download.getValue().join());
+            } catch (CompletionException e) {
+                logger.warn("Failed to get blob {} : {}", download.getKey(), e.getCause() == null ? e : e.getCause().toString());
             }
+        }
+        return codes;
+    }
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-            String line;
-            StringBuffer response = new StringBuffer();
-
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-                response.append('\r');
-            }
-            reader.close();
+    public Map<String, String> getAllCodeFromContents(String owner, String repo, String fileType) {
+        return getFilesFromDirectory(apiBaseUrl + "/repos/" + owner + "/" + repo + "/contents", fileType);
+    }
 
-            logger.info("response message is {}", response.toString());
-            JSONObject jsons = new JSONObject(response.toString());
-            String issueURL = jsons.get("html_url").toString();
+    //create new Issue from originGitUrl and returns new Issue url;
+    public String createIssue(String owner, String repo, String title, String content){
+        logger.info("createIssue {}, {}", owner+"/"+repo, title);
 
-            logger.info("issue url : {}", issueURL);
+        Map<String, String> data = new HashMap<>();
+        data.put("title", title);
+        data.put("body", content);
+        HttpRequest request = httpClient.newRequest(apiBaseUrl + "/repos/" + owner + "/" + repo + "/issues")
+                .header("Authorization", "Bearer " + gitApiKey)
+                .header("Accept", "application/vnd.github+json")
+                .POST(HttpRequest.BodyPublishers.ofString(new JSONObject(data).toString()))
+                .build();
 
-            if(responseCode!=201){
-                logger.warn("Error code {}", response);
-                throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
-            }
-            return issueURL;
-        }catch (IOException e){
+        try {
+            //같은 이슈가 두 번 만들어지지 않도록 재시도하지 않음
+            return httpClient.execute(request, false, (status, in) -> {
+                JSONObject json = OutboundHttpClient.readJsonObject(in);
+                if (status != 201) {
+                    logger.warn("Error code {} {}", status, json);
+                    throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
+                }
+                String issueURL = json.get("html_url").toString();
+                logger.info("issue url : {}", issueURL);
+                return issueURL;
+            });
+        } catch (IOException e) {
             e.printStackTrace();
-            logger.warn("IOExcetion {}", "error occurs while getting result from toss server");
+            logger.warn("IOExcetion {}", "error occurs while getting result from github server");
             throw new CustomException(ExceptionType.GITHUB_API_IO_ERROR);
         }
     }
@@ -182,23 +160,8 @@ public class GithubUtility {
         return originalUrl.substring(originalUrl.indexOf("contents")+"contents".length());
     }
 
-    private Map<String, String> getFilesFromDirectory(String urlStr, String fileType) throws IOException {
-        URL url = new URL(urlStr);
-        HttpURLConnection con = (HttpURLConnection) url.openConnection();
-        con.setRequestMethod("GET");
-        con.setRequestProperty("Authorization", "Bearer " + token);
-        con.setRequestProperty("Accept", "application/vnd.github.v3+json");
-
-        int status = con.getResponseCode();
-        if (status != 200) {
-            throw new RuntimeException("Failed to get directory contents: " + status);
-        }
-
-        InputStream in = con.getInputStream();
-        byte[] responseBytes = in.readAllBytes();
-        String response = new String(responseBytes);
-
-        JSONArray jsonArray = new JSONArray(response.toString());
+    private Map<String, String> getFilesFromDirectory(String urlStr, String fileType) {
+        JSONArray jsonArray = getJsonArray(urlStr);
         Map<String, String> javaFiles = new HashMap<>();
 
         for (int i = 0; i < jsonArray.length(); i++) {
@@ -210,42 +173,57 @@ public class GithubUtility {
                 javaFiles.putAll(getFilesFromDirectory(pathUrl, fileType));
             } else if (name.endsWith(fileType)) {
                 String downloadUrl = (String) obj.get("download_url");
-                String content = getFileContentFromUrl(downloadUrl);
                 logger.info("download_url : {}", downloadUrl);
-                javaFiles.put(getFileName(pathUrl), content);
+                javaFiles.put(getFileName(pathUrl), getRaw(downloadUrl));
             }
         }
 
         return javaFiles;
     }
 
-    private String getFileContentFromUrl(String downloadUrl) throws IOException {
-        logger.info("get file content from {",downloadUrl);
-
-        URL url = new URL(downloadUrl);
-        HttpURLConnection con = (HttpURLConnection) url.openConnection();
-        con.setRequestMethod("GET");
-        con.setRequestProperty("Authorization", "Bearer " + token);
-        con.setRequestProperty("Accept", "application/vnd.github.v3.raw");
+    private HttpRequest get(String url, String accept) {
+        return httpClient.newRequest(url)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .GET()
+                .build();
+    }
 
-        int status = con.getResponseCode();
-        if (status != 200) {
-            throw new RuntimeException("Failed to get file content: " + status);
-        }
+    private JSONObject getJsonObject(String url) {
+        return (JSONObject) getJson(url, true);
+    }
 
-        InputStream in = con.getInputStream();
-        byte[] responseBytes = in.readAllBytes();
-        String content = new String(responseBytes);
+    private JSONArray getJsonArray(String url) {
+        return (JSONArray) getJson(url, false);
+    }
 
-        // Decode Base64-encoded files
-        if (content.contains("base64")) {
-            content = content.split(",")[1];
-            content = new String(Base64.getDecoder().decode(content));
+    private Object getJson(String url, boolean object) {
+        try {
+            return httpClient.execute(get(url, "application/vnd.github.v3+json"), true, (status, in) -> {
+                if (status != 200) {
+                    logger.warn("Github api error {} : {}", url, status);
+                    throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
+                }
+                return object ? OutboundHttpClient.readJsonObject(in) : OutboundHttpClient.readJsonArray(in);
+            });
+        } catch (IOException e) {
+            logger.warn("Github api io error {}", url, e);
+            throw new CustomException(ExceptionType.GITHUB_API_IO_ERROR);
         }
-
-        return content;
     }
 
-
-
+    private String getRaw(String url) {
+        try {
+            return httpClient.execute(get(url, "application/vnd.github.v3.raw"), true, (status, in) -> {
+                if (status != 200) {
+                    logger.warn("Failed to get file content {} : {}", url, status);
+                    throw new CustomException(ExceptionType.GITHUB_API_ERROR_RESPONSE);
+                }
+                return OutboundHttpClient.readString(in);
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to get file content {}", url, e);
+            throw new CustomException(ExceptionType.GITHUB_API_IO_ERROR);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package site.devroad.softeer.utility;
+
+import java.util.Date;
+
+public final class JwtPrincipal {
+    private final Long accountId;
+    private final String userName;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(Long accountId, String userName, Date expiration) {
+        this.accountId = accountId;
+        this.userName = userName;
+        //exp가 없는 토큰은 캐시에 오래 남지 않도록 바로 만료된 것으로 취급
+        this.expiresAtMillis = expiration == null ? 0L : expiration.getTime();
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,76 @@
+package site.devroad.softeer.utility;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//서명 검증이 끝난 jwt -> principal 캐시, 토큰 만료 시점에 제거된다.
+public class JwtPrincipalCache {
+    private final int maxSize;
+    private final Map<String, JwtPrincipal> principals = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public JwtPrincipalCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public JwtPrincipal get(String jwt, long nowMillis) {
+        JwtPrincipal principal = principals.get(jwt);
+        if (principal == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (principal.isExpired(nowMillis)) {
+            principals.remove(jwt, principal);
+            evictionCount.incrementAndGet();
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return principal;
+    }
+
+    public void put(String jwt, JwtPrincipal principal, long nowMillis) {
+        if (maxSize <= 0 || principal.isExpired(nowMillis))
+            return;
+        if (principals.size() >= maxSize)
+            evict(nowMillis);
+        principals.put(jwt, principal);
+    }
+
+    //만료된 토큰을 먼저 비우고, 그래도 가득 차 있다면 임의의 엔트리를 비운다.
+    private void evict(long nowMillis) {
+        principals.entrySet().removeIf(entry -> {
+            if (entry.getValue().isExpired(nowMillis)) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        Iterator<String> iterator = principals.keySet().iterator();
+        while (principals.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    public int size() {
+        return principals.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
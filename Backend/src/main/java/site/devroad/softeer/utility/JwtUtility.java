@@ -1,5 +1,6 @@
 package site.devroad.softeer.utility;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Header;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -21,6 +22,12 @@ public class JwtUtility {
     @Value("${jwt.secretKey}")
     private String secret;
 
+    private final JwtPrincipalCache principalCache;
+
+    public JwtUtility(@Value("${jwt.cache.maxSize:10000}") int cacheMaxSize) {
+        this.principalCache = new JwtPrincipalCache(cacheMaxSize);
+    }
+
     public String makeJwtToken(Long accountId, String username) {
         Date now = new Date();
         return Jwts.builder()
@@ -34,26 +41,47 @@ public class JwtUtility {
                 .compact();
     }
 
+    //서명 검증은 토큰당 한 번만 하고, 이후 요청은 만료 전까지 캐시에서 principal을 꺼내 씀
+    public JwtPrincipal getPrincipal(String jwt) throws CustomException {
+        if (jwt == null || jwt.isBlank())
+            throw new CustomException(ExceptionType.JWT_NOT_VALID);
+        long now = System.currentTimeMillis();
+        JwtPrincipal cached = principalCache.get(jwt, now);
+        if (cached != null)
+            return cached;
+        JwtPrincipal principal = parse(jwt);
+        principalCache.put(jwt, principal, now);
+        return principal;
+    }
+
     //throw custom Exception when error occurs
-    public void validateToken(String jwt) throws CustomException {
+    public JwtPrincipal parse(String jwt) throws CustomException {
         try {
-            Jwts.parser().setSigningKey(secret).parse(jwt);
+            Claims claims = Jwts.parser().setSigningKey(secret)
+                    .parseClaimsJws(jwt)
+                    .getBody();
+            Long accountId = Long.parseLong((String) claims.get("accountId"));
+            String userName = (String) claims.get("username");
+            return new JwtPrincipal(accountId, userName, claims.getExpiration());
         } catch (Exception e) {
             logger.info("JWT error : {}", e.getMessage());
             throw new CustomException(ExceptionType.JWT_NOT_VALID);
         }
     }
 
+    public void validateToken(String jwt) throws CustomException {
+        getPrincipal(jwt);
+    }
+
     public Long getAccountId(String jwt) {
-        return Long.parseLong((String) Jwts.parser().setSigningKey(secret)
-                .parseClaimsJws(jwt)
-                .getBody().get("accountId"));
+        return getPrincipal(jwt).getAccountId();
     }
 
     public String getUserName(String jwt) {
-        return ((String) Jwts.parser().setSigningKey(secret)
-                .parseClaimsJws(jwt)
-                .getBody().get("username"));
+        return getPrincipal(jwt).getUserName();
     }
 
+    public JwtPrincipalCache getPrincipalCache() {
+        return principalCache;
+    }
 }
@@ -6,12 +6,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import site.devroad.softeer.exceptions.CustomException;
-import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.http.HttpRequest;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,106 +20,79 @@ public class OpenAiUtility {
     private static Logger logger = LoggerFactory.getLogger(OpenAiUtility.class);
     @Value("${openAi.apiKey}")
     private String token;
+    @Value("${openAi.apiBaseUrl:https://api.openai.com}")
+    private String apiBaseUrl;
+    @Value("${openAi.model:text-davinci-003}")
+    private String model;
+    @Value("${openAi.callTimeoutMillis:30000}")
+    private int timeoutMillis;
 
-    private HttpURLConnection getConnection(String urlStr, String httpMethod, Map<String, Object> jsonBody) throws CustomException {
-        try{
-            URL url = new URL(urlStr);
-            logger.info("url is {} {}", url.toString(), token);
+    private final OutboundHttpClient httpClient;
 
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod(httpMethod);
-            con.setRequestProperty("Authorization", "Bearer " + token);
-            con.setRequestProperty("Content-Type", "application/json");
-
-            if(!httpMethod.equals("GET")){
-                con.setDoOutput(true);
-            }
-
-
-            JSONObject json = new JSONObject(jsonBody);
-
-            logger.info(json.toString());
-            OutputStream os = con.getOutputStream();
-            os.write(json.toString().getBytes());
-            os.flush();
-            os.close();
-
-            return con;
-        }catch(IOException e){
-            e.printStackTrace();
-            throw new CustomException(ExceptionType.CONNECTION_ESTABLISH_FAILED);
-        }
+    public OpenAiUtility(OutboundHttpClient httpClient) {
+        this.httpClient = httpClient;
     }
 
     public String getCodeSummary(String rawCode){
-        try {
-            //-d '{"model": "text-davinci-003", "prompt": "Say this is a test", "temperature": 0, "max_tokens": 7}'
-            Map<String, Object> body = new HashMap<>();
-            body.put("model", "text-davinci-003");
-            body.put("prompt", rawCode + "what does this code does?");
-            body.put("temperature", 0);
-            body.put("max_tokens", 50);
-
-            HttpURLConnection con = getConnection("https://api.openai.com/v1/completions", "POST", body);
-            String response = getResponse(con);
-
-            return getChoicesFromResponse(response);
-        }catch (IOException e){
-            logger.warn(e.getMessage());
-            return null;
-        }
+        AiCompletion completion = complete(AiPromptType.SUMMARY, rawCode);
+        return completion == null ? null : completion.getText();
     }
 
 
     public String getCodeReview(String rawCode){
+        AiCompletion completion = complete(AiPromptType.REVIEW, rawCode);
+        return completion == null ? null : completion.getText();
+    }
 
-        try {
-            Map<String, Object> body = new HashMap<>();
-            body.put("model", "text-davinci-003");
-            body.put("prompt", rawCode + "\n\n you did a good job but there is 5 suggestion for improving your code: \n");
-            body.put("temperature", 0);
-            body.put("max_tokens", 150);
 
-            HttpURLConnection con = getConnection("https://api.openai.com/v1/completions", "POST", body);
-            String response = getResponse(con);
+    //실패하면 null (호출하는 쪽에서 파일별 실패로 처리)
+    public AiCompletion complete(AiPromptType promptType, String rawCode){
+        //-d '{"model": "text-davinci-003", "prompt": "Say this is a test", "temperature": 0, "max_tokens": 7}'
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model);
+        body.put("prompt", promptType.getPrompt(rawCode));
+        body.put("temperature", 0);
+        body.put("max_tokens", promptType.getMaxTokens());
+
+        HttpRequest request = httpClient.newRequest(apiBaseUrl + "/v1/completions")
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(new JSONObject(body).toString()))
+                .build();
 
-            return getChoicesFromResponse(response);
+        try {
+            return httpClient.execute(request, true, (status, in) -> {
+                JSONObject json = OutboundHttpClient.readJsonObject(in);
+                logger.info("Response code {}", status);
+                if (status != 200) {
+                    logger.warn("OpenAI error {} : {}", status, json.optJSONObject("error"));
+                    return null;
+                }
+                return new AiCompletion(getChoicesFromResponse(json), getTotalTokensFromResponse(json));
+            });
         }catch (IOException e){
             logger.warn(e.getMessage());
             return null;
         }
     }
 
-
-    private String getResponse(HttpURLConnection con) throws IOException {
-        int responseCode = con.getResponseCode();
-        logger.info("Response code {}", responseCode);
-        InputStream in = null;
-        if (responseCode >= 200 && responseCode < 300) {
-            in = con.getInputStream();
-        } else {
-            in = con.getErrorStream();
-        }
-
-        BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-        String line;
-        StringBuffer response = new StringBuffer();
-
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
-            response.append('\r');
-        }
-        reader.close();
-        return response.toString();
+    public String getModel() {
+        return model;
     }
 
 
-    private String getChoicesFromResponse(String jsonString){
-        JSONObject json = new JSONObject(jsonString);
+    private String getChoicesFromResponse(JSONObject json){
         JSONArray choices = json.getJSONArray("choices");
         String text = choices.getJSONObject(0).getString("text");
         return text;
 
     }
-}
 
+    private int getTotalTokensFromResponse(JSONObject json){
+        JSONObject usage = json.optJSONObject("usage");
+        if(usage == null)
+            return 0;
+        return usage.optInt("total_tokens");
+    }
+}
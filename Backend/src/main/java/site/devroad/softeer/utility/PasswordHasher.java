@@ -0,0 +1,121 @@
+package site.devroad.softeer.utility;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+import site.devroad.softeer.utility.metrics.Timer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+//BCrypt 해시/검증을 passwordHashExecutor 에서 실행
+//큐가 가득 차거나 대기 시간이 waitMillis 를 넘으면 PASSWORD_HASH_BUSY(503) 로 바로 거절해서 다른 API 가 굶지 않도록 함
+@Component
+public class PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final MetricsRegistry metricsRegistry;
+    private final int cost;
+    private final long waitMillis;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Timer queueTimer;
+
+    public PasswordHasher(@Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                          MetricsRegistry metricsRegistry,
+                          @Value("${password.bcryptCost:10}") int cost,
+                          @Value("${password.waitMillis:3000}") long waitMillis) {
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.metricsRegistry = metricsRegistry;
+        this.cost = cost;
+        this.waitMillis = waitMillis;
+        this.hashTimer = metricsRegistry.timer("password_hash", "op", "hash");
+        this.verifyTimer = metricsRegistry.timer("password_hash", "op", "verify");
+        this.queueTimer = metricsRegistry.timer("password_hash_queue_wait");
+        metricsRegistry.gauge("password_hash_queue_depth", () -> passwordHashExecutor.getThreadPoolExecutor().getQueue().size());
+        metricsRegistry.gauge("password_hash_active", passwordHashExecutor::getActiveCount);
+    }
+
+    public String hash(String password) {
+        return call(hashTimer, () -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
+    }
+
+    public boolean verify(String password, String hashed) {
+        return call(verifyTimer, () -> BCrypt.checkpw(password, hashed));
+    }
+
+    //저장된 해시의 cost 가 설정값과 다르면 true ($2a$10$... 형식)
+    public boolean needsRehash(String hashed) {
+        try {
+            return Integer.parseInt(hashed.substring(4, 6)) != cost;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    //로그인 성공 후 현재 cost 로 다시 해시, 응답을 기다리게 하지 않고 풀이 바쁘면 다음 로그인으로 미룸
+    public void rehashLater(String password, Consumer<String> onRehashed) {
+        long submittedAt = System.nanoTime();
+        try {
+            passwordHashExecutor.execute(() -> {
+                queueTimer.record(System.nanoTime() - submittedAt);
+                long start = System.nanoTime();
+                String rehashed = BCrypt.hashpw(password, BCrypt.gensalt(cost));
+                hashTimer.record(System.nanoTime() - start);
+                try {
+                    onRehashed.accept(rehashed);
+                } catch (RuntimeException e) {
+                    logger.warn("password rehash failed : {}", e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            metricsRegistry.increment("password_hash_rejected_total", "op", "rehash");
+        }
+    }
+
+    private <T> T call(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submittedAt);
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            metricsRegistry.increment("password_hash_rejected_total", "op", "queue_full");
+            throw new CustomException(ExceptionType.PASSWORD_HASH_BUSY);
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            metricsRegistry.increment("password_hash_rejected_total", "op", "timeout");
+            throw new CustomException(ExceptionType.PASSWORD_HASH_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomException(ExceptionType.UNKNOWN_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new CustomException(ExceptionType.UNKNOWN_ERROR);
+        }
+    }
+}
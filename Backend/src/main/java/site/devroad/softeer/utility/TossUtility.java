@@ -1,72 +1,87 @@
 package site.devroad.softeer.utility;
 
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import site.devroad.softeer.exceptions.CustomException;
-import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Base64;
+import java.net.http.HttpRequest;
 
 @Component
 public class TossUtility {
     public static Logger logger = LoggerFactory.getLogger(TossUtility.class);
     @Value("${toss.apiKey}")
     private String tossApiKey;
-    public void validateTossParams(String orderId, String paymentKey, Integer amount) throws CustomException {
-        try {
-            URL url = new URL("https://api.tosspayments.com/v1/payments/confirm");
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("POST");
-            String encodedString = "Basic " + tossApiKey;
+    @Value("${toss.apiBaseUrl:https://api.tosspayments.com}")
+    private String apiBaseUrl;
 
+    private final OutboundHttpClient httpClient;
 
-            con.setRequestProperty("Authorization", encodedString);
-            con.setRequestProperty("Content-Type", "application/json");
-            con.setDoOutput(true);
+    public TossUtility(OutboundHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
 
-            String payload = String.format("{\"paymentKey\":\"%s\",\"amount\":%d,\"orderId\":\"%s\"}", paymentKey, amount, orderId);
-            OutputStream os = con.getOutputStream();
-            os.write(payload.getBytes());
-            os.flush();
-            os.close();
+    //결제 승인 요청, 응답 코드와 실패 메시지를 그대로 돌려주고 재시도 여부는 호출하는 쪽에서 판단
+    public ConfirmResult confirmPayment(String orderId, String paymentKey, Integer amount) throws IOException {
+        String payload = new JSONObject()
+                .put("paymentKey", paymentKey)
+                .put("amount", amount)
+                .put("orderId", orderId)
+                .toString();
+        //Idempotency-Key 를 주문번호로 고정해서 재시도해도 결제가 한 번만 승인되도록 함
+        HttpRequest request = httpClient.newRequest(apiBaseUrl + "/v1/payments/confirm")
+                .header("Authorization", "Basic " + tossApiKey)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", orderId)
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
 
-            int responseCode = con.getResponseCode();
+        return httpClient.execute(request, true, (status, in) -> {
+            String body = OutboundHttpClient.readString(in);
+            logger.info("toss confirm order_id : {}, response code : {}", orderId, status);
+            if (status == 200)
+                return new ConfirmResult(status, null);
+            logger.info("response message is {}", body);
+            return new ConfirmResult(status, errorMessage(body));
+        });
+    }
 
-            logger.info("encoded api key {}", encodedString);
-            logger.info("payload is {}" , payload);
-            logger.info("response code is {}", responseCode);
+    private static String errorMessage(String body) {
+        try {
+            JSONObject error = new JSONObject(body);
+            return error.optString("code") + " : " + error.optString("message");
+        } catch (RuntimeException e) {
+            return body;
+        }
+    }
 
-            InputStream in = null;
-            if (responseCode >= 200 && responseCode < 300) {
-                in = con.getInputStream();
-            } else {
-                in = con.getErrorStream();
-            }
+    public static class ConfirmResult {
+        private final int status;
+        private final String message;
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-            String line;
-            StringBuffer response = new StringBuffer();
+        public ConfirmResult(int status, String message) {
+            this.status = status;
+            this.message = message;
+        }
 
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-                response.append('\r');
-            }
-            reader.close();
+        public int getStatus() {
+            return status;
+        }
 
-            logger.info("response message is {}", response.toString());
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isConfirmed() {
+            return status == 200;
+        }
 
-            if(responseCode!=200){
-                throw new CustomException(ExceptionType.TOSS_ALREADY_PURCHASED);
-            }
-        }catch (IOException e){
-            e.printStackTrace();
-            logger.warn("IOExcetion {}", "error occurs while getting result from toss server");
-            throw new CustomException(ExceptionType.TOSS_PURCHASE_FAILED);
+        //429 와 5xx 는 토스 쪽 일시 장애로 보고 다시 시도
+        public boolean isRetryable() {
+            return status == 429 || status >= 500;
         }
     }
 }
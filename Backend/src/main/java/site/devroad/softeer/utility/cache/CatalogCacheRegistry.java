@@ -0,0 +1,50 @@
+package site.devroad.softeer.utility.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Subject, Course, Chapter, Exam 처럼 관리자가 바꿀 때만 변하는 데이터의 캐시 모음
+@Component
+public class CatalogCacheRegistry {
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, ReadThroughCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public CatalogCacheRegistry(@Value("${catalog.cache.ttlSeconds:600}") long ttlSeconds,
+                                @Value("${catalog.cache.maxSize:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public <K, V> ReadThroughCache<K, V> create(String name) {
+        ReadThroughCache<K, V> cache = new ReadThroughCache<>(name, ttlMillis, maxSize, System::currentTimeMillis);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(ReadThroughCache::invalidateAll);
+    }
+
+    //"subject" 는 subject, subject.all 처럼 같은 엔티티의 캐시를 모두 비움, 해당하는 캐시가 없으면 false
+    public boolean invalidate(String entity) {
+        boolean found = false;
+        for (Map.Entry<String, ReadThroughCache<?, ?>> entry : caches.entrySet()) {
+            if (entry.getKey().equals(entity) || entry.getKey().startsWith(entity + ".")) {
+                entry.getValue().invalidateAll();
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        caches.keySet().stream().sorted().forEach(name -> stats.put(name, caches.get(name).stats()));
+        return stats;
+    }
+}
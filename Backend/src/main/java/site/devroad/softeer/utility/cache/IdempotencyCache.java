@@ -0,0 +1,82 @@
+package site.devroad.softeer.utility.cache;
+
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//Idempotency-Key 헤더로 들어온 재시도 요청에 처음 응답을 그대로 돌려줌
+//같은 키로 동시에 들어온 요청은 먼저 온 요청의 결과를 기다리고, 실패한 요청은 기록하지 않아 다시 시도할 수 있음
+//같은 키에 다른 요청 내용(fingerprint)이 오면 IDEMPOTENCY_KEY_REUSED
+public class IdempotencyCache<V> {
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyCache(long ttlMillis, int maxSize, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public V execute(String key, Object fingerprint, Supplier<V> action) {
+        long now = clock.getAsLong();
+        //가득 차면 만료된 키를 정리하고, 그래도 가득 차 있으면 기록 없이 실행 (upsert 라 중복 실행돼도 안전)
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize)
+                return action.get();
+        }
+        Entry<V> created = new Entry<>(fingerprint, now + ttlMillis);
+        Entry<V> existing = entries.compute(key, (k, entry) -> entry == null || entry.expiresAt <= now ? created : entry);
+        if (existing != created) {
+            if (!Objects.equals(existing.fingerprint, fingerprint))
+                throw new CustomException(ExceptionType.IDEMPOTENCY_KEY_REUSED);
+            return await(existing.result);
+        }
+        try {
+            V value = action.get();
+            created.result.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private V await(CompletableFuture<V> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ExceptionType.UNKNOWN_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new CustomException(ExceptionType.UNKNOWN_ERROR);
+        }
+    }
+
+    private static class Entry<V> {
+        private final Object fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Entry(Object fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package site.devroad.softeer.utility.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+//없으면 loader 로 읽어서 채우는 캐시, ttl 이 지나면 다시 읽음
+//없는 id 로 조회해서 생긴 빈 결과(Optional.empty, 빈 컬렉션)는 캐시하지 않음
+//maxSize 에 닿으면 만료된 항목을 정리하고, 그래도 가득 차 있으면 저장하지 않고 loader 결과만 돌려줌
+public class ReadThroughCache<K, V> {
+    private final String name;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    //로딩 중에 무효화가 일어나면 오래된 값을 넣지 않도록 세대 번호를 비교
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ReadThroughCache(String name, long ttlMillis, int maxSize, LongSupplier clock) {
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = clock.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+        if (isCacheable(value) && generation.get() == loadGeneration)
+            store(key, value, now);
+        return value;
+    }
+
+    public void put(K key, V value) {
+        store(key, value, clock.getAsLong());
+    }
+
+    private void store(K key, V value, long now) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize)
+                return;
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+    }
+
+    private static boolean isCacheable(Object value) {
+        if (value == null)
+            return false;
+        if (value instanceof Optional)
+            return ((Optional<?>) value).isPresent();
+        if (value instanceof Collection)
+            return !((Collection<?>) value).isEmpty();
+        return true;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> stats() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("hits", hit);
+        stats.put("misses", misses.sum());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hit / total);
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package site.devroad.softeer.utility.http;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.devroad.softeer.utility.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+//외부 API(github, openai, toss) 호출이 공유하는 HTTP 클라이언트
+//커넥션 풀/keep-alive는 HttpClient 하나를 재사용해서 얻고, 호스트별 동시 요청 수/재시도/지연시간을 여기서 관리
+@Component
+public class OutboundHttpClient {
+
+    private static Logger logger = LoggerFactory.getLogger(OutboundHttpClient.class);
+    private static final Set<Integer> RETRY_STATUS = Set.of(429, 502, 503, 504);
+    private static final long MAX_BACKOFF_MILLIS = 10000;
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final int maxRetries;
+    private final long backoffMillis;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> hostLatency = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(@Value("${http.connectTimeoutMillis:3000}") long connectTimeoutMillis,
+                              @Value("${http.requestTimeoutMillis:30000}") long requestTimeoutMillis,
+                              @Value("${http.maxConcurrentPerHost:16}") int maxConcurrentPerHost,
+                              @Value("${http.maxRetries:2}") int maxRetries,
+                              @Value("${http.retryBackoffMillis:200}") long backoffMillis) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.maxRetries = maxRetries;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public HttpRequest.Builder newRequest(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(requestTimeout);
+    }
+
+    //retryable 이면 IOException 과 429/502/503/504 응답을 지수 백오프로 재시도
+    //호스트 permit 과 지연 시간은 handler 가 본문을 다 읽고 닫을 때까지 포함
+    public <T> T execute(HttpRequest request, boolean retryable, ResponseHandler<T> handler) throws IOException {
+        String host = request.uri().getHost() + (request.uri().getPort() == -1 ? "" : ":" + request.uri().getPort());
+        Semaphore permits = hostPermits.computeIfAbsent(host, key -> new Semaphore(maxConcurrentPerHost));
+        LatencyHistogram latency = hostLatency.computeIfAbsent(host, key -> new LatencyHistogram());
+        int attempt = 0;
+        while (true) {
+            long retryDelay;
+            acquire(permits, host);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<InputStream> response = null;
+                IOException failure = null;
+                try {
+                    response = send(request, host);
+                } catch (IOException e) {
+                    failure = e;
+                }
+
+                if (failure != null) {
+                    if (!retryable || attempt >= maxRetries)
+                        throw failure;
+                    logger.warn("{} {} failed ({}), retry {}", request.method(), request.uri().getHost(), failure.toString(), attempt + 1);
+                    retryDelay = backoff(attempt, null);
+                } else if (!retryable || attempt >= maxRetries || !RETRY_STATUS.contains(response.statusCode())) {
+                    try (InputStream body = response.body()) {
+                        return handler.handle(response.statusCode(), body);
+                    }
+                } else {
+                    response.body().close();
+                    logger.warn("{} {} answered {}, retry {}", request.method(), request.uri().getHost(), response.statusCode(), attempt + 1);
+                    retryDelay = backoff(attempt, response.headers().firstValue("Retry-After").orElse(null));
+                }
+            } finally {
+                latency.record((System.nanoTime() - start) / 1_000_000);
+                permits.release();
+            }
+            sleep(retryDelay);
+            attempt++;
+        }
+    }
+
+    public Map<String, LatencyHistogram> getLatencyByHost() {
+        return new TreeMap<>(hostLatency);
+    }
+
+    //응답을 문자열로 복사하지 않고 바로 JSON 파서에 넘김
+    public static Object readJson(InputStream in) throws IOException {
+        try {
+            return new JSONTokener(new InputStreamReader(in, StandardCharsets.UTF_8)).nextValue();
+        } catch (JSONException e) {
+            throw new IOException("invalid json response", e);
+        }
+    }
+
+    public static JSONObject readJsonObject(InputStream in) throws IOException {
+        Object json = readJson(in);
+        if (!(json instanceof JSONObject))
+            throw new IOException("json object expected");
+        return (JSONObject) json;
+    }
+
+    public static JSONArray readJsonArray(InputStream in) throws IOException {
+        Object json = readJson(in);
+        if (!(json instanceof JSONArray))
+            throw new IOException("json array expected");
+        return (JSONArray) json;
+    }
+
+    public static String readString(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private void acquire(Semaphore permits, String host) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for " + host);
+        }
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request, String host) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while calling " + host);
+        }
+    }
+
+    private long backoff(int attempt, String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return Math.min(Long.parseLong(retryAfter.trim()) * 1000, MAX_BACKOFF_MILLIS);
+            } catch (NumberFormatException ignored) {
+                //HTTP-date 형식은 지수 백오프로 대체
+            }
+        }
+        long delay = backoffMillis * (1L << Math.min(attempt, 10));
+        return Math.min(delay + ThreadLocalRandom.current().nextLong(backoffMillis + 1), MAX_BACKOFF_MILLIS);
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted during retry backoff");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package site.devroad.softeer.utility.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@FunctionalInterface
+public interface ResponseHandler<T> {
+    T handle(int status, InputStream body) throws IOException;
+}
@@ -0,0 +1,70 @@
+package site.devroad.softeer.utility.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//고정 구간(ms) 히스토그램, 백분위수는 구간 상한값으로 근사
+public class LatencyHistogram {
+    private static final long[] BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMillis = new LongAdder();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    public void record(long millis) {
+        int index = 0;
+        while (index < BOUNDS.length && millis > BOUNDS[index])
+            index++;
+        buckets.incrementAndGet(index);
+        count.increment();
+        sumMillis.add(millis);
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxMillis() {
+        return maxMillis.get();
+    }
+
+    public double getMeanMillis() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : (double) sumMillis.sum() / total;
+    }
+
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0)
+            return 0;
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return i < BOUNDS.length ? BOUNDS[i] : maxMillis.get();
+        }
+        return maxMillis.get();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", getCount());
+        snapshot.put("meanMillis", getMeanMillis());
+        snapshot.put("p50Millis", percentile(0.50));
+        snapshot.put("p95Millis", percentile(0.95));
+        snapshot.put("p99Millis", percentile(0.99));
+        snapshot.put("maxMillis", getMaxMillis());
+        Map<String, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS.length; i++)
+            bucketCounts.put("le" + BOUNDS[i], buckets.get(i));
+        bucketCounts.put("inf", buckets.get(BOUNDS.length));
+        snapshot.put("buckets", bucketCounts);
+        return snapshot;
+    }
+}
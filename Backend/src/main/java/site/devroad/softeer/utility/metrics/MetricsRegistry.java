@@ -0,0 +1,135 @@
+package site.devroad.softeer.utility.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//타이머/카운터/게이지 저장소, GET /api/admin/metrics 에서 Prometheus text format 으로 내보냄
+//이름과 태그 조합이 같으면 같은 인스턴스를 돌려주므로 호출하는 쪽에서 캐싱해 두면 조회 비용이 없음
+@Component
+public class MetricsRegistry {
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    public MetricsRegistry() {
+        gauge("jvm_memory_used_bytes", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        gauge("jvm_memory_max_bytes", () -> Runtime.getRuntime().maxMemory());
+        gauge("jvm_threads_live", () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    //tags 는 key, value 순서의 쌍
+    public Timer timer(String name, String... tags) {
+        String renderedTags = renderTags(tags);
+        return timers.computeIfAbsent(name + renderedTags, key -> new Timer(name, renderedTags));
+    }
+
+    public void increment(String name, String... tags) {
+        String renderedTags = renderTags(tags);
+        counters.computeIfAbsent(name + renderedTags, key -> new Counter(name, renderedTags)).value.increment();
+    }
+
+    public void gauge(String name, Supplier<? extends Number> supplier, String... tags) {
+        String renderedTags = renderTags(tags);
+        gauges.put(name + renderedTags, new Gauge(name, renderedTags, supplier));
+    }
+
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        String lastName = null;
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            String name = timer.getName() + "_seconds";
+            if (!name.equals(lastName)) {
+                sb.append("# TYPE ").append(name).append(" histogram\n");
+                lastName = name;
+            }
+            long[] cumulative = timer.cumulativeBuckets();
+            for (int i = 0; i < cumulative.length; i++) {
+                String le = i < Timer.BOUNDS_SECONDS.length ? String.valueOf(Timer.BOUNDS_SECONDS[i]) : "+Inf";
+                sb.append(name).append("_bucket").append(withTag(timer.getTags(), "le", le)).append(' ').append(cumulative[i]).append('\n');
+            }
+            sb.append(name).append("_count").append(timer.getTags()).append(' ').append(timer.getCount()).append('\n');
+            sb.append(name).append("_sum").append(timer.getTags()).append(' ').append(timer.getSumSeconds()).append('\n');
+        }
+        lastName = null;
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            String name = timer.getName() + "_seconds_max";
+            if (!name.equals(lastName)) {
+                sb.append("# TYPE ").append(name).append(" gauge\n");
+                lastName = name;
+            }
+            sb.append(name).append(timer.getTags()).append(' ').append(timer.getMaxSeconds()).append('\n');
+        }
+        lastName = null;
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            if (!counter.name.equals(lastName)) {
+                sb.append("# TYPE ").append(counter.name).append(" counter\n");
+                lastName = counter.name;
+            }
+            sb.append(counter.name).append(counter.tags).append(' ').append(counter.value.sum()).append('\n');
+        }
+        lastName = null;
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            if (!gauge.name.equals(lastName)) {
+                sb.append("# TYPE ").append(gauge.name).append(" gauge\n");
+                lastName = gauge.name;
+            }
+            Number value = gauge.supplier.get();
+            sb.append(gauge.name).append(gauge.tags).append(' ').append(value == null ? "NaN" : value.toString()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String renderTags(String... tags) {
+        if (tags.length == 0)
+            return "";
+        if (tags.length % 2 != 0)
+            throw new IllegalArgumentException("tags must be key, value pairs");
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0)
+                sb.append(',');
+            sb.append(tags[i]).append("=\"").append(escape(tags[i + 1])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String withTag(String tags, String key, String value) {
+        String tag = key + "=\"" + value + "\"";
+        if (tags.isEmpty())
+            return "{" + tag + "}";
+        return tags.substring(0, tags.length() - 1) + "," + tag + "}";
+    }
+
+    private static String escape(String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static class Counter {
+        private final String name;
+        private final String tags;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name, String tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+    }
+
+    private static class Gauge {
+        private final String name;
+        private final String tags;
+        private final Supplier<? extends Number> supplier;
+
+        private Gauge(String name, String tags, Supplier<? extends Number> supplier) {
+            this.name = name;
+            this.tags = tags;
+            this.supplier = supplier;
+        }
+    }
+}
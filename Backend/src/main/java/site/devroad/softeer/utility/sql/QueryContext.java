@@ -0,0 +1,31 @@
+package site.devroad.softeer.utility.sql;
+
+//요청 스레드에 QueryStats 를 붙여 둠 (QueryCountFilter 가 시작/종료, 요청 밖의 스레드에서는 집계하지 않음)
+public class QueryContext {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryContext() {
+    }
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null)
+            stats.record(sql, elapsedNanos);
+    }
+}
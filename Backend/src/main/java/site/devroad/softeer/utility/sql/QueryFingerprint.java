@@ -0,0 +1,25 @@
+package site.devroad.softeer.utility.sql;
+
+import java.util.regex.Pattern;
+
+//값만 다른 SQL 을 같은 형태로 묶기 위한 정규화 (리터럴 -> ?, IN 목록 -> (?+), 공백 정리)
+public class QueryFingerprint {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LENGTH = 300;
+
+    private QueryFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null)
+            return "<unknown>";
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?+)");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+        return fingerprint.length() > MAX_LENGTH ? fingerprint.substring(0, MAX_LENGTH) + "..." : fingerprint;
+    }
+}
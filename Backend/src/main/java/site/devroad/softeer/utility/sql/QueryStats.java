@@ -0,0 +1,49 @@
+package site.devroad.softeer.utility.sql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//요청 하나 동안 실행된 SQL 수, DB 시간, 문장 형태(fingerprint)별 횟수 (요청 스레드에서만 접근)
+public class QueryStats {
+    private int count;
+    private long nanos;
+    private final Map<String, Integer> countByFingerprint = new LinkedHashMap<>();
+
+    void record(String sql, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        countByFingerprint.merge(QueryFingerprint.of(sql), 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+
+    public int getMaxRepeat() {
+        int max = 0;
+        for (int repeat : countByFingerprint.values())
+            max = Math.max(max, repeat);
+        return max;
+    }
+
+    //minRepeat 번 이상 반복된 문장 (많은 순)
+    public List<Map.Entry<String, Integer>> getRepeated(int minRepeat) {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : countByFingerprint.entrySet()) {
+            if (entry.getValue() >= minRepeat)
+                repeated.add(entry);
+        }
+        repeated.sort((a, b) -> b.getValue() - a.getValue());
+        return repeated;
+    }
+
+    public Map<String, Integer> getCountByFingerprint() {
+        return countByFingerprint;
+    }
+}
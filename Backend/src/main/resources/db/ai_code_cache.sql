@@ -0,0 +1,12 @@
+-- OpenAI 요약/리뷰 결과 캐시 (sha256(prompt type + model + 파일 내용) 기준)
+CREATE TABLE IF NOT EXISTS AiCodeCache (
+    cache_key    CHAR(64)    NOT NULL PRIMARY KEY,
+    prompt_type  VARCHAR(16) NOT NULL,
+    model        VARCHAR(64) NOT NULL,
+    response     TEXT        NOT NULL,
+    total_tokens INT         NOT NULL DEFAULT 0,
+    hit_count    INT         NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    KEY idx_ai_code_cache_last_hit (last_hit_at)
+);
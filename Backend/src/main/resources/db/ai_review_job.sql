@@ -0,0 +1,20 @@
+-- AI 코드 리뷰 작업 상태 (ExamSubmission 당 하나)
+CREATE TABLE IF NOT EXISTS AiReviewJob (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    exam_submission_id BIGINT       NOT NULL,
+    state              VARCHAR(16)  NOT NULL,
+    issue_url          VARCHAR(512) NULL,
+    error_message      VARCHAR(512) NULL,
+    attempts           INT          NOT NULL DEFAULT 0,
+    created_at         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_ai_review_job_submission (exam_submission_id),
+    KEY idx_ai_review_job_state (state)
+);
+
+-- 작업 테이블 도입 이전에 이슈가 생성된 제출물은 DONE 으로 채워 둔다.
+INSERT INTO AiReviewJob (exam_submission_id, state, issue_url)
+SELECT es.id, 'DONE', es.url
+FROM ExamSubmission es
+WHERE es.url LIKE '%/issues/%'
+AND NOT EXISTS (SELECT 1 FROM AiReviewJob j WHERE j.exam_submission_id = es.id);
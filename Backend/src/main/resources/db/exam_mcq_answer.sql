@@ -0,0 +1,10 @@
+-- 객관식 문항별 채점 결과, 계정/시험/문항당 마지막 제출만 남김
+CREATE TABLE IF NOT EXISTS ExamMcqAnswer (
+    account_id  BIGINT      NOT NULL,
+    exam_id     BIGINT      NOT NULL,
+    sequence    INT         NOT NULL,
+    chosen      INT         NOT NULL,
+    correct     BOOLEAN     NOT NULL,
+    created_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, exam_id, sequence)
+);
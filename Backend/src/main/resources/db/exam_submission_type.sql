@@ -0,0 +1,13 @@
+-- 객관식 결과는 계정/시험당 한 행만 두고 upsert 로 갱신 (과제 제출은 type 이 NULL 이라 이력이 그대로 쌓임)
+ALTER TABLE ExamSubmission ADD COLUMN type VARCHAR(8) NULL AFTER exam_id;
+
+-- 기존에 중복으로 쌓인 객관식 결과는 가장 최근 한 건만 남김
+DELETE es FROM ExamSubmission es
+JOIN Exam e ON e.id = es.exam_id AND e.type = 'MCQ'
+JOIN ExamSubmission newer ON newer.account_id = es.account_id AND newer.exam_id = es.exam_id AND newer.id > es.id;
+
+UPDATE ExamSubmission es JOIN Exam e ON e.id = es.exam_id
+SET es.type = 'MCQ'
+WHERE e.type = 'MCQ';
+
+ALTER TABLE ExamSubmission ADD UNIQUE KEY uk_exam_submission_type (account_id, exam_id, type);
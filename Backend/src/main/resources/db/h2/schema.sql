@@ -0,0 +1,193 @@
+-- 벤치마크/부하 테스트용 H2 스키마 (MODE=MySQL)
+-- 운영 MySQL 스키마 중 애플리케이션이 사용하는 컬럼만 옮겨 둔 것
+CREATE TABLE IF NOT EXISTS Account (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(64)  NOT NULL,
+    roadmap_id  BIGINT       NULL,
+    phone       VARCHAR(32)  NOT NULL,
+    type        VARCHAR(16)  NOT NULL DEFAULT 'Student',
+    created_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_account_phone ON Account (phone);
+CREATE INDEX IF NOT EXISTS idx_account_roadmap ON Account (roadmap_id);
+
+CREATE TABLE IF NOT EXISTS LoginInfo (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    email       VARCHAR(128) NOT NULL,
+    password    VARCHAR(128) NOT NULL,
+    account_id  BIGINT       NOT NULL,
+    CONSTRAINT uk_login_info_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS Subscribe (
+    account_id  BIGINT       NOT NULL PRIMARY KEY,
+    end_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS Subject (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(64)  NOT NULL,
+    description VARCHAR(512) NULL
+);
+
+CREATE TABLE IF NOT EXISTS Course (
+    id            BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    subject_id    BIGINT       NOT NULL,
+    tutor_name    VARCHAR(64)  NULL,
+    thumbnail_url VARCHAR(512) NULL,
+    course_name   VARCHAR(128) NOT NULL,
+    description   VARCHAR(512) NULL,
+    language_id   BIGINT       NULL,
+    type          VARCHAR(16)  NULL
+);
+CREATE INDEX IF NOT EXISTS idx_course_subject ON Course (subject_id);
+
+CREATE TABLE IF NOT EXISTS Chapter (
+    id            BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    course_id     BIGINT       NOT NULL,
+    title         VARCHAR(128) NOT NULL,
+    chapter_url   VARCHAR(512) NULL,
+    thumbnail_url VARCHAR(512) NULL,
+    description   VARCHAR(512) NULL,
+    sequence      INT          NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_chapter_course ON Chapter (course_id, sequence);
+
+CREATE TABLE IF NOT EXISTS CompletedChapter (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    account_id  BIGINT       NOT NULL,
+    chapter_id  BIGINT       NOT NULL,
+    created_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_completed_chapter_account ON CompletedChapter (account_id, chapter_id);
+
+CREATE TABLE IF NOT EXISTS Roadmap (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(128) NOT NULL,
+    chapter_id  BIGINT       NULL
+);
+
+CREATE TABLE IF NOT EXISTS SubjectToRoadmap (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    roadmap_id  BIGINT       NOT NULL,
+    subject_id  BIGINT       NOT NULL,
+    sequence    INT          NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_str_roadmap ON SubjectToRoadmap (roadmap_id, sequence);
+
+CREATE TABLE IF NOT EXISTS Exam (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    subject_id  BIGINT       NOT NULL,
+    url         VARCHAR(512) NULL,
+    name        VARCHAR(128) NOT NULL,
+    description VARCHAR(512) NULL,
+    price       INT          NOT NULL DEFAULT 0,
+    type        VARCHAR(8)   NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_exam_subject ON Exam (subject_id, type);
+
+CREATE TABLE IF NOT EXISTS ExamMcq (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    exam_id     BIGINT       NOT NULL,
+    sequence    INT          NOT NULL,
+    title       VARCHAR(256) NOT NULL,
+    content     TEXT         NULL,
+    choices     VARCHAR(1024) NOT NULL,
+    ans         INT          NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_exam_mcq_exam ON ExamMcq (exam_id, sequence);
+
+CREATE TABLE IF NOT EXISTS ExamSubmission (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    account_id  BIGINT       NOT NULL,
+    exam_id     BIGINT       NOT NULL,
+    type        VARCHAR(8)   NULL,
+    url         VARCHAR(512) NULL,
+    is_passed   INT          NOT NULL DEFAULT 1,
+    description TEXT         NULL,
+    created_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_exam_submission_type UNIQUE (account_id, exam_id, type)
+);
+CREATE INDEX IF NOT EXISTS idx_exam_submission_account ON ExamSubmission (account_id, exam_id);
+CREATE INDEX IF NOT EXISTS idx_exam_submission_exam ON ExamSubmission (exam_id);
+
+CREATE TABLE IF NOT EXISTS ExamMcqAnswer (
+    account_id  BIGINT       NOT NULL,
+    exam_id     BIGINT       NOT NULL,
+    sequence    INT          NOT NULL,
+    chosen      INT          NOT NULL,
+    correct     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, exam_id, sequence)
+);
+
+CREATE TABLE IF NOT EXISTS AccountProgress (
+    account_id      BIGINT    NOT NULL PRIMARY KEY,
+    roadmap_id      BIGINT    NOT NULL,
+    total_subjects  INT       NOT NULL DEFAULT 0,
+    passed_subjects INT       NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS CourseProgress (
+    account_id         BIGINT    NOT NULL,
+    course_id          BIGINT    NOT NULL,
+    completed_chapters INT       NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, course_id)
+);
+
+CREATE TABLE IF NOT EXISTS AiReviewJob (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    exam_submission_id BIGINT       NOT NULL,
+    state              VARCHAR(16)  NOT NULL,
+    issue_url          VARCHAR(512) NULL,
+    error_message      VARCHAR(512) NULL,
+    attempts           INT          NOT NULL DEFAULT 0,
+    created_at         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_ai_review_job_submission UNIQUE (exam_submission_id)
+);
+CREATE INDEX IF NOT EXISTS idx_ai_review_job_state ON AiReviewJob (state);
+
+CREATE TABLE IF NOT EXISTS AiCodeCache (
+    cache_key    CHAR(64)    NOT NULL PRIMARY KEY,
+    prompt_type  VARCHAR(16) NOT NULL,
+    model        VARCHAR(64) NOT NULL,
+    response     TEXT        NOT NULL,
+    total_tokens INT         NOT NULL DEFAULT 0,
+    hit_count    INT         NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_ai_code_cache_last_hit ON AiCodeCache (last_hit_at);
+
+CREATE TABLE IF NOT EXISTS RefreshToken (
+    id          BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    account_id  BIGINT      NOT NULL,
+    family_id   CHAR(36)    NOT NULL,
+    token_hash  CHAR(64)    NOT NULL,
+    expires_at  TIMESTAMP   NOT NULL,
+    used_at     TIMESTAMP   NULL,
+    revoked_at  TIMESTAMP   NULL,
+    created_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash)
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON RefreshToken (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_account ON RefreshToken (account_id, expires_at);
+
+CREATE TABLE IF NOT EXISTS PaymentOrder (
+    id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id       VARCHAR(64)  NOT NULL,
+    account_id     BIGINT       NOT NULL,
+    payment_key    VARCHAR(200) NOT NULL,
+    amount         INT          NOT NULL,
+    state          VARCHAR(16)  NOT NULL,
+    error_message  VARCHAR(512) NULL,
+    attempts       INT          NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_order_order_id UNIQUE (order_id)
+);
+CREATE INDEX IF NOT EXISTS idx_payment_order_state ON PaymentOrder (state);
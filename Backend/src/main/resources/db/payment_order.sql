@@ -0,0 +1,15 @@
+-- 토스 결제 승인 주문 (orderId 당 하나), 같은 주문의 재요청/재시도가 한 번만 승인되도록 함
+CREATE TABLE IF NOT EXISTS PaymentOrder (
+    id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id       VARCHAR(64)  NOT NULL,
+    account_id     BIGINT       NOT NULL,
+    payment_key    VARCHAR(200) NOT NULL,
+    amount         INT          NOT NULL,
+    state          VARCHAR(16)  NOT NULL,
+    error_message  VARCHAR(512) NULL,
+    attempts       INT          NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_payment_order_order_id (order_id),
+    KEY idx_payment_order_state (state)
+);
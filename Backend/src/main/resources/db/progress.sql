@@ -0,0 +1,25 @@
+-- 계정별 로드맵 진행 집계 (GET /api/user 를 한 번의 조회로 응답하기 위함)
+CREATE TABLE IF NOT EXISTS AccountProgress (
+    account_id      BIGINT    NOT NULL PRIMARY KEY,
+    roadmap_id      BIGINT    NOT NULL,
+    total_subjects  INT       NOT NULL DEFAULT 0,
+    passed_subjects INT       NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- 계정, 코스별 완료한 챕터 수
+CREATE TABLE IF NOT EXISTS CourseProgress (
+    account_id         BIGINT    NOT NULL,
+    course_id          BIGINT    NOT NULL,
+    completed_chapters INT       NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, course_id)
+);
+
+-- 집계가 없는 행은 조회 시점에 만들어지므로 백필은 선택 사항
+INSERT INTO CourseProgress (account_id, course_id, completed_chapters)
+SELECT cc.account_id, c.course_id, COUNT(*)
+FROM CompletedChapter cc
+JOIN Chapter c ON cc.chapter_id = c.id
+GROUP BY cc.account_id, c.course_id
+ON DUPLICATE KEY UPDATE completed_chapters = VALUES(completed_chapters);
@@ -0,0 +1,15 @@
+-- 회전(rotate)되는 refresh token, 원문은 저장하지 않고 sha256 만 저장
+-- 같은 로그인에서 이어지는 토큰은 family_id 를 공유하고, 이미 사용된 토큰이 다시 오면 family 전체를 폐기
+CREATE TABLE IF NOT EXISTS RefreshToken (
+    id          BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    account_id  BIGINT      NOT NULL,
+    family_id   CHAR(36)    NOT NULL,
+    token_hash  CHAR(64)    NOT NULL,
+    expires_at  TIMESTAMP   NOT NULL,
+    used_at     TIMESTAMP   NULL,
+    revoked_at  TIMESTAMP   NULL,
+    created_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_refresh_token_hash (token_hash),
+    KEY idx_refresh_token_family (family_id),
+    KEY idx_refresh_token_account (account_id, expires_at)
+);
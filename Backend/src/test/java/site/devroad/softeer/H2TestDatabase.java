@@ -0,0 +1,41 @@
+package site.devroad.softeer;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//db/h2/schema.sql 로 만든 MySQL 모드 H2 in-memory DB
+//fresh 를 부를 때마다 이름이 다른 새 DB 를 만들어서 테스트 메서드 사이에 데이터가 남지 않음
+public class H2TestDatabase {
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private final JdbcDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    private H2TestDatabase(String name) {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=FALSE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public static H2TestDatabase fresh(String name) {
+        return new H2TestDatabase(name + "_" + sequence.incrementAndGet());
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    //DB_CLOSE_DELAY=-1 이라 연결이 다 닫혀도 DB 가 남아 있으므로 직접 내려서 메모리를 돌려줌
+    public void close() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+}
@@ -0,0 +1,48 @@
+package site.devroad.softeer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourcePoolMetricsPostProcessorTest {
+    private MetricsRegistry metricsRegistry;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        metricsRegistry = new MetricsRegistry();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:pool_metrics;DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName("test");
+        dataSource.setMaximumPoolSize(2);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("metricsRegistry", metricsRegistry);
+        new DataSourcePoolMetricsPostProcessor(beanFactory.getBeanProvider(MetricsRegistry.class))
+                .postProcessBeforeInitialization(dataSource, "dataSource");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("풀 상태 게이지와 커넥션 획득 시간이 기록되는 경우")
+    void recordsPoolMetrics() {
+        new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+
+        String scrape = metricsRegistry.scrape();
+        assertThat(scrape).contains("db_pool_acquire_seconds_count{pool=\"test\"} 1");
+        assertThat(scrape).contains("db_pool_usage_seconds_count{pool=\"test\"} 1");
+        assertThat(scrape).contains("db_pool_max{pool=\"test\"} 2");
+        assertThat(scrape).contains("db_pool_active{pool=\"test\"}");
+        assertThat(scrape).contains("db_pool_pending{pool=\"test\"}");
+    }
+}
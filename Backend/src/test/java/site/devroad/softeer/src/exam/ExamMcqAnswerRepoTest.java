@@ -0,0 +1,49 @@
+package site.devroad.softeer.src.exam;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.H2TestDatabase;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamMcqAnswerRepoTest {
+    private final Long accountId = 1L;
+    private final Long examId = 10L;
+    private final long[] sequences = {1, 2, 3};
+    private final int[] answerKey = {0, 2, 1};
+    private H2TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExamMcqAnswerRepo examMcqAnswerRepo;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.fresh("exam_mcq_answer");
+        jdbcTemplate = database.getJdbcTemplate();
+        examMcqAnswerRepo = new ExamMcqAnswerRepo(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private List<Boolean> correct() {
+        return jdbcTemplate.queryForList("SELECT correct FROM ExamMcqAnswer WHERE account_id = ? AND exam_id = ? ORDER BY sequence",
+                Boolean.class, accountId, examId);
+    }
+
+    @Test
+    @DisplayName("문항별 결과를 기록하고 다시 제출하면 덮어씀")
+    void saveAnswers() {
+        examMcqAnswerRepo.saveAnswers(accountId, examId, sequences, answerKey, new int[]{0, 1, -1});
+        assertThat(correct()).containsExactly(true, false, false);
+
+        examMcqAnswerRepo.saveAnswers(accountId, examId, sequences, answerKey, new int[]{0, 2, 1});
+        assertThat(correct()).containsExactly(true, true, true);
+    }
+}
@@ -0,0 +1,88 @@
+package site.devroad.softeer.src.exam;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.src.exam.dto.domain.ExamDetail;
+import site.devroad.softeer.src.exam.model.ExamMcq;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ExamPayloadCacheTest {
+    private final Long examId = 10L;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExamRepo examRepo;
+    private CatalogCacheRegistry catalogCacheRegistry;
+    private ExamPayloadCache examPayloadCache;
+
+    @BeforeEach
+    void setUp() {
+        examRepo = Mockito.mock(ExamRepo.class);
+        catalogCacheRegistry = new CatalogCacheRegistry(600, 10000);
+        examPayloadCache = new ExamPayloadCache(examRepo, objectMapper, catalogCacheRegistry);
+        Mockito.when(examRepo.findExamDetailById(examId)).thenReturn(Optional.of(
+                ExamDetail.createFRQDetail("자료구조", null, "자료구조 객관식", "설명", "MCQ")));
+        Mockito.when(examRepo.findQuestionsByExamId(examId)).thenReturn(List.of(
+                new ExamMcq(1L, examId, 1L, "스택", "LIFO 인 것은?", List.of("스택", "큐"), 1),
+                new ExamMcq(2L, examId, 2L, "큐", "FIFO 인 것은?", List.of("스택", "큐"), 2)));
+    }
+
+    @Test
+    @DisplayName("객관식 시험 응답을 한 번만 만들고 이후에는 같은 JSON 을 돌려줌")
+    void buildsOnce() throws Exception {
+        byte[] first = examPayloadCache.get(examId).getJson();
+        byte[] second = examPayloadCache.get(examId).getJson();
+
+        JsonNode json = objectMapper.readTree(first);
+        assertThat(json.get("success").asBoolean()).isTrue();
+        assertThat(json.get("examDetail").get("questions").size()).isEqualTo(2);
+        assertThat(json.get("examDetail").get("questions").get(1).get("choices").get(1).asText()).isEqualTo("큐");
+        assertThat(second).isSameAs(first);
+        assertThat(json.get("examDetail").has("ans")).isFalse();
+        assertThat(examPayloadCache.get(examId).getAnswerKey()).containsExactly(1, 2);
+        verify(examRepo, times(1)).findQuestionsByExamId(examId);
+    }
+
+    @Test
+    @DisplayName("exam 캐시를 비우면 다음 조회에서 다시 만듦")
+    void invalidatedWithExamCatalog() {
+        examPayloadCache.get(examId);
+        assertThat(catalogCacheRegistry.invalidate("exam")).isTrue();
+        examPayloadCache.get(examId);
+
+        verify(examRepo, times(2)).findExamDetailById(examId);
+    }
+
+    @Test
+    @DisplayName("없는 시험은 캐시하지 않음")
+    void notFoundIsNotCached() {
+        Mockito.when(examRepo.findExamDetailById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> examPayloadCache.get(99L)).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> examPayloadCache.get(99L)).isInstanceOf(CustomException.class);
+        verify(examRepo, times(2)).findExamDetailById(99L);
+    }
+
+    @Test
+    @DisplayName("문항 수가 맞는 답안만 채점하고 맞힌 개수를 셈")
+    void countCorrect() {
+        ExamPayloadCache.ExamPayload payload = examPayloadCache.get(examId);
+
+        assertThat(payload.isGradable(new int[]{1, 2})).isTrue();
+        assertThat(payload.countCorrect(new int[]{1, 2})).isEqualTo(2);
+        assertThat(payload.countCorrect(new int[]{1, -1})).isEqualTo(1);
+        assertThat(payload.isGradable(new int[]{1})).isFalse();
+        assertThat(payload.isGradable(null)).isFalse();
+    }
+}
@@ -92,7 +92,7 @@ class ExamServiceTest {
             assertEquals(e.getExceptionType(), ExceptionType.EXAM_NOT_PURCHASED);
         }
         //when
-        examService.makePurchasedByTossOrderId(String.valueOf(id) + "_123_asdfasdfasdf");
+        examService.makePurchased(id);
 
         //then
         //if error occurs below code it will throw exception
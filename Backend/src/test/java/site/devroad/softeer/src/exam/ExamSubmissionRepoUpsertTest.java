@@ -0,0 +1,60 @@
+package site.devroad.softeer.src.exam;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.H2TestDatabase;
+import site.devroad.softeer.src.exam.model.SubmissionType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamSubmissionRepoUpsertTest {
+    private final Long accountId = 1L;
+    private final Long examId = 10L;
+    private H2TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExamSubmissionRepo examSubmissionRepo;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.fresh("exam_submission");
+        jdbcTemplate = database.getJdbcTemplate();
+        examSubmissionRepo = new ExamSubmissionRepo(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ExamSubmission WHERE account_id = ? AND exam_id = ?",
+                Integer.class, accountId, examId);
+    }
+
+    @Test
+    @DisplayName("객관식 결과는 계정/시험당 한 행만 두고 이전 상태를 돌려줌")
+    void upsertMcqResult() {
+        assertThat(examSubmissionRepo.upsertMcqResult(examId, accountId, SubmissionType.FAILED)).isEqualTo(SubmissionType.NONE);
+        assertThat(examSubmissionRepo.upsertMcqResult(examId, accountId, SubmissionType.FAILED)).isEqualTo(SubmissionType.FAILED);
+        assertThat(examSubmissionRepo.upsertMcqResult(examId, accountId, SubmissionType.PASSED)).isEqualTo(SubmissionType.FAILED);
+        assertThat(examSubmissionRepo.upsertMcqResult(examId, accountId, SubmissionType.PASSED)).isEqualTo(SubmissionType.PASSED);
+
+        assertThat(rows()).isEqualTo(1);
+        assertThat(examSubmissionRepo.findByExamIdAndAccountId(examId, accountId).get().getSubmissionType())
+                .isEqualTo(SubmissionType.PASSED);
+    }
+
+    @Test
+    @DisplayName("과제 제출은 type 이 없어 unique key 에 걸리지 않고 이력이 쌓임")
+    void frqSubmissionsKeepHistory() {
+        examSubmissionRepo.addFrqExamSubmission(accountId, examId, "https://github.com/test/first", "first");
+        examSubmissionRepo.addFrqExamSubmission(accountId, examId, "https://github.com/test/second", "second");
+
+        assertThat(rows()).isEqualTo(2);
+        assertThat(examSubmissionRepo.findByExamIdAndAccountId(examId, accountId).get().getUrl())
+                .isEqualTo("https://github.com/test/second");
+    }
+}
@@ -0,0 +1,151 @@
+package site.devroad.softeer.src.exam;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.H2TestDatabase;
+import site.devroad.softeer.src.exam.dto.domain.PeerDetail;
+import site.devroad.softeer.src.exam.model.ExamSubmission;
+import site.devroad.softeer.src.exam.model.SubmissionType;
+import site.devroad.softeer.src.user.SubscriptionCache;
+import site.devroad.softeer.src.user.UserRepo;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PeerPoolTest {
+    private final Long examId = 20L;
+    private final Long accountId = 1L;
+    private ExamSubmissionRepo examSubmissionRepo;
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        examSubmissionRepo = Mockito.mock(ExamSubmissionRepo.class);
+        userRepo = Mockito.mock(UserRepo.class);
+        //제출 id 를 url 에 담아 돌려줘서 어떤 제출이 뽑혔는지 확인
+        Mockito.when(userRepo.findPeerDetailBySubmissionIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new PeerDetail(String.valueOf(id), "user", "자료구조")).collect(Collectors.toList());
+        });
+    }
+
+    private PeerPool peerPool(int sampleSize) {
+        return new PeerPool(examSubmissionRepo, userRepo, new CatalogCacheRegistry(600, 10000), sampleSize);
+    }
+
+    //제출 id = 100 + 계정 id
+    private void givenPassedAccounts(long... accountIds) {
+        List<ExamSubmission> submissions = new ArrayList<>();
+        for (long id : accountIds)
+            submissions.add(new ExamSubmission(100 + id, id, examId, null, SubmissionType.PASSED, null));
+        Mockito.when(examSubmissionRepo.findPassedSubmissionIds(examId)).thenReturn(submissions);
+    }
+
+    private List<String> urls(List<PeerDetail> peers) {
+        return peers.stream().map(PeerDetail::getUrl).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("후보가 sampleSize 보다 적으면 예외 없이 있는 만큼만 돌려줌")
+    void fewerPeersThanSampleSize() {
+        //given
+        givenPassedAccounts(1L, 2L);
+
+        //when
+        List<PeerDetail> peers = peerPool(2).sample(examId, accountId);
+
+        //then
+        assertThat(urls(peers)).containsExactly("102");
+    }
+
+    @Test
+    @DisplayName("본인 제출만 있으면 빈 목록")
+    void onlyOwnSubmission() {
+        //given
+        givenPassedAccounts(1L);
+
+        //then
+        assertThat(peerPool(2).sample(examId, accountId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("후보가 많으면 본인을 제외한 서로 다른 계정에서 sampleSize 개를 뽑음")
+    void sampleFromLargePool() {
+        //given
+        long[] accounts = new long[1000];
+        for (int i = 0; i < accounts.length; i++)
+            accounts[i] = i + 1;
+        givenPassedAccounts(accounts);
+        PeerPool peerPool = peerPool(3);
+
+        for (int i = 0; i < 100; i++) {
+            //when
+            List<String> urls = urls(peerPool.sample(examId, accountId));
+
+            //then
+            assertThat(urls).hasSize(3);
+            assertThat(new HashSet<>(urls)).hasSize(3);
+            assertThat(urls).doesNotContain("101");
+        }
+    }
+
+    @Test
+    @DisplayName("후보 풀은 한 번만 읽고 새 제출이 들어오면 다시 읽음")
+    void loadOnceUntilInvalidated() {
+        //given
+        givenPassedAccounts(1L, 2L, 3L);
+        PeerPool peerPool = peerPool(2);
+
+        //when
+        peerPool.sample(examId, accountId);
+        peerPool.sample(examId, accountId);
+        peerPool.invalidate(examId);
+        peerPool.sample(examId, accountId);
+
+        //then
+        verify(examSubmissionRepo, times(2)).findPassedSubmissionIds(examId);
+    }
+
+    @Test
+    @DisplayName("로드맵이 없거나 다 끝낸 계정의 제출도 뽑히면 빠지지 않고 반환")
+    void includePeersWithoutCurrentChapter() {
+        //given
+        H2TestDatabase database = H2TestDatabase.fresh("peer_pool");
+        JdbcTemplate jdbcTemplate = database.getJdbcTemplate();
+        try {
+            jdbcTemplate.update("INSERT INTO Subject (id, name) VALUES (1, '자료구조')");
+            jdbcTemplate.update("INSERT INTO Course (id, subject_id, course_name) VALUES (1, 1, '자료구조 강의')");
+            jdbcTemplate.update("INSERT INTO Chapter (id, course_id, title, sequence) VALUES (1, 1, '스택', 1)");
+            jdbcTemplate.update("INSERT INTO Roadmap (id, name, chapter_id) VALUES (1, 'learning', 1), (2, 'finished', -1)");
+            jdbcTemplate.update("INSERT INTO Account (id, name, roadmap_id, phone) VALUES " +
+                    "(1, 'me', 1, '010'), (2, 'learning', 1, '010'), (3, 'finished', 2, '010'), (4, 'none', NULL, '010')");
+            for (long id = 1; id <= 4; id++)
+                jdbcTemplate.update("INSERT INTO ExamSubmission (account_id, exam_id, url, is_passed) VALUES (?, ?, ?, 4)",
+                        id, examId, "https://github.com/peer/" + id);
+            PeerPool peerPool = new PeerPool(new ExamSubmissionRepo(jdbcTemplate),
+                    new UserRepo(jdbcTemplate, new SubscriptionCache(new MetricsRegistry(), 0, 0)), new CatalogCacheRegistry(600, 10000), 3);
+
+            //when
+            List<PeerDetail> peers = peerPool.sample(examId, accountId);
+
+            //then
+            assertThat(peers).extracting(PeerDetail::getUsername).containsExactlyInAnyOrder("learning", "finished", "none");
+            assertThat(peers).filteredOn(peer -> peer.getUsername().equals("learning"))
+                    .extracting(PeerDetail::getCurSubject).containsExactly("자료구조");
+        } finally {
+            database.close();
+        }
+    }
+}
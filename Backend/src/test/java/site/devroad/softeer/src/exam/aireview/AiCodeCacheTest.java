@@ -0,0 +1,111 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import site.devroad.softeer.utility.AiCompletion;
+import site.devroad.softeer.utility.AiPromptType;
+import site.devroad.softeer.utility.OpenAiUtility;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AiCodeCacheTest {
+    private AiCodeCacheRepo aiCodeCacheRepo;
+    private OpenAiUtility openAiUtility;
+    private AiCodeCache aiCodeCache;
+
+    @BeforeEach
+    void setUp() {
+        aiCodeCacheRepo = Mockito.mock(AiCodeCacheRepo.class);
+        openAiUtility = Mockito.mock(OpenAiUtility.class);
+        when(openAiUtility.getModel()).thenReturn("text-davinci-003");
+        when(aiCodeCacheRepo.findByKey(anyString())).thenReturn(Optional.empty());
+        when(aiCodeCacheRepo.save(anyString(), any(), anyString(), any())).thenReturn(true);
+        aiCodeCache = new AiCodeCache(aiCodeCacheRepo, openAiUtility, 2, 100);
+    }
+
+    @Test
+    @DisplayName("같은 코드는 OpenAI를 한 번만 호출하고 절약한 토큰을 집계")
+    void hitMemoryForSameCode() {
+        //given
+        when(openAiUtility.complete(AiPromptType.SUMMARY, "class A {}")).thenReturn(new AiCompletion("summary", 40));
+
+        //when
+        aiCodeCache.complete(AiPromptType.SUMMARY, "class A {}");
+        AiCompletion second = aiCodeCache.complete(AiPromptType.SUMMARY, "class A {}");
+
+        //then
+        assertThat(second.getText()).isEqualTo("summary");
+        verify(openAiUtility, times(1)).complete(AiPromptType.SUMMARY, "class A {}");
+        assertThat(aiCodeCache.getStats().get("memoryHits")).isEqualTo(1L);
+        assertThat(aiCodeCache.getStats().get("savedTokens")).isEqualTo(40L);
+        assertThat(aiCodeCache.getStats().get("hitRatio")).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("프롬프트 종류나 모델이 다르면 다른 키를 사용")
+    void keyDependsOnPromptTypeAndModel() {
+        String summaryKey = AiCodeCache.cacheKey(AiPromptType.SUMMARY, "m1", "code");
+        assertThat(summaryKey).hasSize(64);
+        assertThat(summaryKey).isEqualTo(AiCodeCache.cacheKey(AiPromptType.SUMMARY, "m1", "code"));
+        assertThat(summaryKey).isNotEqualTo(AiCodeCache.cacheKey(AiPromptType.REVIEW, "m1", "code"));
+        assertThat(summaryKey).isNotEqualTo(AiCodeCache.cacheKey(AiPromptType.SUMMARY, "m2", "code"));
+    }
+
+    @Test
+    @DisplayName("메모리에서 밀려난 항목은 DB 캐시에서 가져옴")
+    void fallBackToDb() {
+        //given
+        String key = AiCodeCache.cacheKey(AiPromptType.REVIEW, "text-davinci-003", "class B {}");
+        when(aiCodeCacheRepo.findByKey(key)).thenReturn(Optional.of(new AiCompletion("stored review", 120)));
+
+        //when
+        AiCompletion completion = aiCodeCache.complete(AiPromptType.REVIEW, "class B {}");
+
+        //then
+        assertThat(completion.getText()).isEqualTo("stored review");
+        verify(openAiUtility, never()).complete(any(), anyString());
+        verify(aiCodeCacheRepo).touch(key);
+        assertThat(aiCodeCache.getStats().get("dbHits")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("DB 캐시가 최대 크기를 넘으면 오래된 항목을 삭제")
+    void evictOverflowFromDb() {
+        //given
+        when(openAiUtility.complete(any(), anyString())).thenReturn(new AiCompletion("text", 10));
+        when(aiCodeCacheRepo.count()).thenReturn(103L);
+        when(aiCodeCacheRepo.deleteLeastRecentlyUsed(3L)).thenReturn(3);
+
+        //when
+        aiCodeCache.complete(AiPromptType.SUMMARY, "class C {}");
+
+        //then
+        verify(aiCodeCacheRepo).deleteLeastRecentlyUsed(3L);
+        assertThat(aiCodeCache.getStats().get("dbEvictions")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("DB 캐시 오류나 실패한 응답은 리뷰를 막지 않고 캐시되지 않음")
+    void ignoreDbErrorAndFailedCompletion() {
+        //given
+        when(aiCodeCacheRepo.findByKey(anyString())).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(openAiUtility.complete(any(), anyString())).thenReturn(null);
+
+        //when
+        AiCompletion completion = aiCodeCache.complete(AiPromptType.SUMMARY, "class D {}");
+
+        //then
+        assertThat(completion).isNull();
+        verify(aiCodeCacheRepo, never()).save(anyString(), any(), anyString(), any());
+        verify(aiCodeCacheRepo, never()).deleteLeastRecentlyUsed(anyLong());
+    }
+}
@@ -0,0 +1,132 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.ExamService;
+import site.devroad.softeer.src.exam.ExamSubmissionRepo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AiReviewJobServiceTest {
+    private final Long submissionId = 77L;
+    private AiReviewJobRepo aiReviewJobRepo;
+    private ExamService examService;
+    private AiReviewJobService aiReviewJobService;
+
+    @BeforeEach
+    void setUp() {
+        aiReviewJobRepo = Mockito.mock(AiReviewJobRepo.class);
+        examService = Mockito.mock(ExamService.class);
+        aiReviewJobService = new AiReviewJobService(aiReviewJobRepo, Mockito.mock(ExamSubmissionRepo.class), examService, new SyncTaskExecutor());
+    }
+
+    private AiReviewJob job(AiReviewJobState state) {
+        return new AiReviewJob(1L, submissionId, state, null, null, 0, null);
+    }
+
+    @Test
+    @DisplayName("새 작업을 만들고 실행해서 이슈 url을 저장")
+    void enqueueAndRun() {
+        //given
+        when(aiReviewJobRepo.findByExamSubmissionId(submissionId))
+                .thenReturn(Optional.empty()).thenReturn(Optional.of(job(AiReviewJobState.QUEUED)));
+        when(aiReviewJobRepo.createQueuedJob(submissionId)).thenReturn(true);
+        when(aiReviewJobRepo.markRunning(1L)).thenReturn(true);
+        when(examService.doAiReview(submissionId)).thenReturn("https://github.com/a/b/issues/1");
+
+        //when
+        aiReviewJobService.enqueue(submissionId);
+
+        //then
+        verify(aiReviewJobRepo).markDone(1L, "https://github.com/a/b/issues/1");
+    }
+
+    @Test
+    @DisplayName("이미 진행 중인 작업이 있으면 다시 실행하지 않음")
+    void deduplicateRunningJob() {
+        //given
+        when(aiReviewJobRepo.findByExamSubmissionId(submissionId)).thenReturn(Optional.of(job(AiReviewJobState.RUNNING)));
+
+        //when
+        AiReviewJob job = aiReviewJobService.enqueue(submissionId);
+
+        //then
+        assertThat(job.getState()).isEqualTo(AiReviewJobState.RUNNING);
+        verify(aiReviewJobRepo, never()).createQueuedJob(anyLong());
+        verify(examService, never()).doAiReview(anyLong());
+    }
+
+    @Test
+    @DisplayName("리뷰 도중 예외가 나면 작업을 FAILED로 기록")
+    void markFailedOnError() {
+        //given
+        when(aiReviewJobRepo.findByExamSubmissionId(submissionId))
+                .thenReturn(Optional.of(job(AiReviewJobState.FAILED))).thenReturn(Optional.of(job(AiReviewJobState.QUEUED)));
+        when(aiReviewJobRepo.requeueFailed(1L)).thenReturn(true);
+        when(aiReviewJobRepo.markRunning(1L)).thenReturn(true);
+        when(examService.doAiReview(submissionId)).thenThrow(new IllegalStateException("github down"));
+
+        //when
+        aiReviewJobService.enqueue(submissionId);
+
+        //then
+        verify(aiReviewJobRepo).markFailed(1L, "github down");
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 503 예외")
+    void rejectWhenQueueFull() {
+        //given
+        TaskExecutor fullExecutor = task -> {
+            throw new TaskRejectedException("full");
+        };
+        aiReviewJobService = new AiReviewJobService(aiReviewJobRepo, Mockito.mock(ExamSubmissionRepo.class), examService, fullExecutor);
+        when(aiReviewJobRepo.findByExamSubmissionId(submissionId))
+                .thenReturn(Optional.empty()).thenReturn(Optional.of(job(AiReviewJobState.QUEUED)));
+        when(aiReviewJobRepo.createQueuedJob(submissionId)).thenReturn(true);
+
+        //then
+        assertThatThrownBy(() -> aiReviewJobService.enqueue(submissionId)).isInstanceOf(CustomException.class);
+        verify(aiReviewJobRepo).markFailed(any(Long.class), any(String.class));
+    }
+
+    @Test
+    @DisplayName("재시작 시 일부 작업이 큐에서 거절돼도 나머지 작업은 계속 실행")
+    void resumeContinuesAfterRejection() {
+        //given
+        AtomicInteger submitted = new AtomicInteger();
+        TaskExecutor rejectFirst = task -> {
+            if (submitted.getAndIncrement() == 0)
+                throw new TaskRejectedException("full");
+            task.run();
+        };
+        aiReviewJobService = new AiReviewJobService(aiReviewJobRepo, Mockito.mock(ExamSubmissionRepo.class), examService, rejectFirst);
+        when(aiReviewJobRepo.findByState(AiReviewJobState.QUEUED)).thenReturn(List.of(
+                new AiReviewJob(1L, 77L, AiReviewJobState.QUEUED, null, null, 0, null),
+                new AiReviewJob(2L, 78L, AiReviewJobState.QUEUED, null, null, 0, null)));
+        when(aiReviewJobRepo.markRunning(2L)).thenReturn(true);
+        when(examService.doAiReview(78L)).thenReturn("https://github.com/a/b/issues/2");
+
+        //when
+        aiReviewJobService.resumePendingJobs();
+
+        //then
+        verify(aiReviewJobRepo).markFailed(1L, ExceptionType.AI_REVIEW_QUEUE_FULL.getMessage());
+        verify(aiReviewJobRepo).markDone(2L, "https://github.com/a/b/issues/2");
+    }
+}
@@ -0,0 +1,116 @@
+package site.devroad.softeer.src.exam.aireview;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import site.devroad.softeer.utility.AiCompletion;
+import site.devroad.softeer.utility.AiPromptType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class AiReviewPipelineTest {
+    private AiCodeCache aiCodeCache;
+    private ThreadPoolTaskExecutor executor;
+    private AiReviewPipeline aiReviewPipeline;
+
+    @BeforeEach
+    void setUp() {
+        aiCodeCache = Mockito.mock(AiCodeCache.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        aiReviewPipeline = new AiReviewPipeline(aiCodeCache, executor, 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("파일명 순서대로 요약과 리뷰를 모아서 반환")
+    void reviewAllInFileOrder() {
+        //given
+        Map<String, String> codes = new HashMap<>();
+        codes.put("/src/b.java", "b");
+        codes.put("/src/a.java", "a");
+        codes.put("/README.java", "r");
+        when(aiCodeCache.complete(eq(AiPromptType.SUMMARY), anyString())).thenAnswer(invocation -> new AiCompletion("summary of " + invocation.getArgument(1), 10));
+        when(aiCodeCache.complete(eq(AiPromptType.REVIEW), anyString())).thenAnswer(invocation -> new AiCompletion("review of " + invocation.getArgument(1), 10));
+
+        //when
+        List<FileReview> reviews = aiReviewPipeline.reviewAll(codes);
+
+        //then
+        assertThat(reviews).extracting(FileReview::getFileName).containsExactly("/README.java", "/src/a.java", "/src/b.java");
+        assertThat(reviews.get(1).getSummary()).isEqualTo("summary of a");
+        assertThat(reviews.get(2).getReview()).isEqualTo("review of b");
+    }
+
+    @Test
+    @DisplayName("일부 파일이 실패하거나 시간 초과되면 해당 파일에만 오류를 기록")
+    void reportFailurePerFile() {
+        //given
+        Map<String, String> codes = new HashMap<>();
+        codes.put("/ok.java", "ok");
+        codes.put("/null.java", "null");
+        codes.put("/slow.java", "slow");
+        when(aiCodeCache.complete(eq(AiPromptType.SUMMARY), anyString())).thenAnswer(invocation -> {
+            String code = invocation.getArgument(1);
+            if (code.equals("null"))
+                return null;
+            if (code.equals("slow"))
+                Thread.sleep(2000);
+            return new AiCompletion("summary", 10);
+        });
+        when(aiCodeCache.complete(eq(AiPromptType.REVIEW), anyString())).thenReturn(new AiCompletion("review", 10));
+
+        //when
+        List<FileReview> reviews = aiReviewPipeline.reviewAll(codes);
+
+        //then
+        assertThat(reviews.get(0).getFileName()).isEqualTo("/null.java");
+        assertThat(reviews.get(0).hasSummary()).isFalse();
+        assertThat(reviews.get(0).hasReview()).isTrue();
+        assertThat(reviews.get(1).hasSummary()).isTrue();
+        assertThat(reviews.get(2).hasSummary()).isFalse();
+        assertThat(reviews.get(2).getSummaryError()).contains("300ms");
+    }
+
+    @Test
+    @DisplayName("큐에서 기다린 시간은 호출 시간 제한에 포함하지 않음")
+    void timeoutStartsWhenCallRuns() {
+        //given
+        ThreadPoolTaskExecutor single = new ThreadPoolTaskExecutor();
+        single.setCorePoolSize(1);
+        single.setMaxPoolSize(1);
+        single.initialize();
+        aiReviewPipeline = new AiReviewPipeline(aiCodeCache, single, 300L);
+        Map<String, String> codes = new HashMap<>();
+        for (int i = 0; i < 4; i++)
+            codes.put("/src/" + i + ".java", String.valueOf(i));
+        when(aiCodeCache.complete(any(AiPromptType.class), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return new AiCompletion("done", 10);
+        });
+
+        //when
+        List<FileReview> reviews = aiReviewPipeline.reviewAll(codes);
+        single.shutdown();
+
+        //then
+        assertThat(reviews).allMatch(review -> review.hasSummary() && review.hasReview());
+    }
+}
@@ -0,0 +1,256 @@
+package site.devroad.softeer.src.exam.payment;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.devroad.softeer.H2TestDatabase;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.src.exam.ExamService;
+import site.devroad.softeer.utility.TossUtility;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PaymentConfirmServiceTest {
+    private final Long accountId = 7L;
+    private final String orderId = "7_10_abcdefgh";
+    private HttpServer server;
+    //토스 stub 이 순서대로 돌려줄 응답, 비어 있으면 200
+    private final ConcurrentLinkedQueue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+    private final List<JSONObject> payloads = new CopyOnWriteArrayList<>();
+    //토스 stub 이 응답하기 전에 실행할 동작
+    private volatile Runnable onConfirm = () -> {
+    };
+    private H2TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PaymentOrderRepo paymentOrderRepo;
+    private ExamService examService;
+    private PaymentConfirmService paymentConfirmService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/payments/confirm", exchange -> {
+            idempotencyKeys.add(exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+            payloads.add(new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            onConfirm.run();
+            Integer status = statuses.poll();
+            if (status == null || status == 200)
+                respond(exchange, 200, "{\"status\":\"DONE\"}");
+            else
+                respond(exchange, status, "{\"code\":\"REJECT_CARD_PAYMENT\",\"message\":\"rejected\"}");
+        });
+        server.start();
+
+        database = H2TestDatabase.fresh("payment_order");
+        jdbcTemplate = database.getJdbcTemplate();
+        paymentOrderRepo = new PaymentOrderRepo(jdbcTemplate);
+
+        //재시도 횟수를 정확히 세기 위해 transport 재시도는 끔
+        TossUtility tossUtility = new TossUtility(new OutboundHttpClient(1000, 5000, 4, 0, 10));
+        ReflectionTestUtils.setField(tossUtility, "tossApiKey", "test_sk");
+        ReflectionTestUtils.setField(tossUtility, "apiBaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        examService = Mockito.mock(ExamService.class);
+        paymentConfirmService = new PaymentConfirmService(paymentOrderRepo, tossUtility, examService,
+                new DataSourceTransactionManager(database.getDataSource()), new SyncTaskExecutor(), 3, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        database.close();
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private PaymentOrder order() {
+        return paymentOrderRepo.findByOrderId(orderId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("승인되면 구독을 연장하고 주문을 CONFIRMED 로 기록")
+    void confirm() {
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        assertThat(order().getAttempts()).isEqualTo(1);
+        assertThat(idempotencyKeys).containsExactly(orderId);
+        assertThat(payloads.get(0).getString("paymentKey")).isEqualTo("pk_1");
+        assertThat(payloads.get(0).getInt("amount")).isEqualTo(9900);
+        verify(examService).makePurchased(accountId);
+    }
+
+    @Test
+    @DisplayName("같은 orderId 로 다시 들어오면 토스를 다시 호출하지 않고 구독도 한 번만 연장")
+    void duplicateOrder() {
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+        PaymentOrder again = paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(again.getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PaymentOrder", Integer.class)).isEqualTo(1);
+        assertThat(idempotencyKeys).hasSize(1);
+        verify(examService, times(1)).makePurchased(accountId);
+    }
+
+    @Test
+    @DisplayName("토스가 4xx 로 거절하면 재시도 없이 FAILED")
+    void rejected() {
+        //given
+        statuses.add(400);
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.FAILED);
+        assertThat(order().getErrorMessage()).contains("REJECT_CARD_PAYMENT");
+        assertThat(idempotencyKeys).hasSize(1);
+        verify(examService, never()).makePurchased(anyLong());
+    }
+
+    @Test
+    @DisplayName("5xx 는 같은 Idempotency-Key 로 재시도해서 승인")
+    void retryOnServerError() {
+        //given
+        statuses.add(500);
+        statuses.add(503);
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        assertThat(idempotencyKeys).containsExactly(orderId, orderId, orderId);
+        verify(examService, times(1)).makePurchased(accountId);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 넘기면 FAILED")
+    void retryExhausted() {
+        //given
+        statuses.add(500);
+        statuses.add(500);
+        statuses.add(500);
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.FAILED);
+        assertThat(idempotencyKeys).hasSize(3);
+        verify(examService, never()).makePurchased(anyLong());
+    }
+
+    @Test
+    @DisplayName("승인 뒤 구독 연장이 계속 실패하면 FAILED 가 아니라 PENDING 으로 남겨 다시 실행")
+    void capturedButNotApplied() {
+        //given
+        doThrow(new IllegalStateException("db down")).when(examService).makePurchased(accountId);
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.PENDING);
+        assertThat(order().getErrorMessage()).contains("db down");
+        assertThat(idempotencyKeys).containsExactly(orderId, orderId, orderId);
+
+        //when
+        doNothing().when(examService).makePurchased(accountId);
+        paymentConfirmService.findOrder(orderId, accountId);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("승인 뒤 구독 연장이 한 번 실패해도 같은 Idempotency-Key 로 다시 승인해서 반영")
+    void retryAfterTransientApplyFailure() {
+        //given
+        doThrow(new IllegalStateException("deadlock")).doNothing().when(examService).makePurchased(accountId);
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        assertThat(idempotencyKeys).containsExactly(orderId, orderId);
+    }
+
+    @Test
+    @DisplayName("토스 응답을 기다리는 동안 다른 실행이 주문을 가져갔으면 구독을 연장하지 않음")
+    void skipWhenNoLongerConfirming() {
+        //given
+        onConfirm = () -> jdbcTemplate.update("UPDATE PaymentOrder SET state = 'CONFIRMED'");
+
+        //when
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        verify(examService, never()).makePurchased(anyLong());
+    }
+
+    @Test
+    @DisplayName("재시작 시 승인 중이던 주문을 다시 실행")
+    void resumePendingOrders() {
+        //given
+        paymentOrderRepo.createPendingOrder(orderId, accountId, "pk_1", 9900);
+        jdbcTemplate.update("UPDATE PaymentOrder SET state = 'CONFIRMING'");
+
+        //when
+        paymentConfirmService.resumePendingOrders();
+
+        //then
+        assertThat(order().getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        verify(examService).makePurchased(accountId);
+    }
+
+    @Test
+    @DisplayName("다른 계정의 주문이나 형식이 잘못된 orderId 는 거절")
+    void invalidOrder() {
+        //given
+        paymentConfirmService.accept(orderId, "pk_1", 9900);
+
+        //then
+        assertThat(paymentConfirmService.findOrder(orderId, accountId).getState()).isEqualTo(PaymentOrderState.CONFIRMED);
+        assertThatThrownBy(() -> paymentConfirmService.findOrder(orderId, 8L))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.PAYMENT_ORDER_NOT_FOUND);
+        assertThatThrownBy(() -> paymentConfirmService.accept("abc", "pk_1", 9900))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.PAYMENT_ORDER_INVALID);
+    }
+}
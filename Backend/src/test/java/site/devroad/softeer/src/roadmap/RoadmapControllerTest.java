@@ -1,5 +1,6 @@
 package site.devroad.softeer.src.roadmap;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +19,10 @@ import site.devroad.softeer.src.roadmap.subject.Subject;
 import site.devroad.softeer.src.roadmap.subject.SubjectService;
 import site.devroad.softeer.src.user.UserService;
 import site.devroad.softeer.src.user.model.Account;
+import site.devroad.softeer.utility.JwtPrincipal;
 import site.devroad.softeer.utility.JwtUtility;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -64,6 +67,16 @@ class RoadmapControllerTest {
     @Autowired
     MockMvc mockMvc;
 
+    @BeforeEach
+    void setUpPrincipal() {
+        //jwt 헤더가 없는 요청은 accountId 0으로 인증된 것으로 간주
+        given(jwtUtility.getPrincipal(any())).willReturn(principalOf(0L));
+    }
+
+    private JwtPrincipal principalOf(Long accountId) {
+        return new JwtPrincipal(accountId, "test", new Date(System.currentTimeMillis() + 60_000));
+    }
+
     @Test
     @DisplayName("로드맵의 주제들에 배워보기")
     void getRoadmapSubjects() throws Exception {
@@ -132,7 +145,7 @@ class RoadmapControllerTest {
     void getCourseDetail() throws Exception {
         //given
         given(courseService.getChapterDetails(any(Long.class), any(Long.class))).willReturn(List.of(chapterDetail1, chapterDetail2));
-        given(jwtUtility.getAccountId("test-jwt")).willReturn(10L);
+        given(jwtUtility.getPrincipal("test-jwt")).willReturn(principalOf(10L));
 
         //when
         mockMvc.perform(
@@ -153,8 +166,7 @@ class RoadmapControllerTest {
         //given
         given(courseService.putFinishChapter(any(Long.class), any(Long.class)))
                 .willReturn(new PutChapterFinishRes(true, 101L));
-        given(jwtUtility.getAccountId(any(String.class)))
-                .willReturn(1L);
+        given(jwtUtility.getPrincipal(any(String.class))).willReturn(principalOf(1L));
         //when
         mockMvc.perform(
                         put("/api/chapter/1")
@@ -192,8 +204,7 @@ class RoadmapControllerTest {
     void getChapterDetail() throws Exception{
         given(courseService.getChapterDetail(any(Long.class), any(Long.class)))
                 .willReturn(chapterDetail1);
-        given(jwtUtility.getAccountId(any(String.class)))
-                .willReturn(10L);
+        given(jwtUtility.getPrincipal(any(String.class))).willReturn(principalOf(10L));
 
         //when
         mockMvc.perform(
@@ -214,8 +225,7 @@ class RoadmapControllerTest {
         //given
         given(userService.getAccountById(any(Long.class)))
                 .willReturn(adminAccount);
-        given(jwtUtility.getAccountId(any(String.class)))
-                .willReturn(10L);
+        given(jwtUtility.getPrincipal(any(String.class))).willReturn(principalOf(10L));
 
         //when
         mockMvc.perform(
@@ -229,6 +239,6 @@ class RoadmapControllerTest {
         //then
         verify(userService).getAccountById(10L);
         verify(roadmapService).deleteRoadmapByAccountId(1L);
-        verify(jwtUtility).getAccountId("jwt-10L");
+        verify(jwtUtility).getPrincipal("jwt-10L");
     }
 }
\ No newline at end of file
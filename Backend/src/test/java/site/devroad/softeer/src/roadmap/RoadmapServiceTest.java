@@ -1,13 +1,98 @@
 package site.devroad.softeer.src.roadmap;
 
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.src.exam.ExamRepo;
+import site.devroad.softeer.src.exam.ExamSubmissionRepo;
+import site.devroad.softeer.src.exam.model.ExamSubmission;
+import site.devroad.softeer.src.exam.model.SubmissionType;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
+import site.devroad.softeer.src.roadmap.dto.GetRoadmapDetailRes;
+import site.devroad.softeer.src.roadmap.dto.PostBulkRoadmapReq;
+import site.devroad.softeer.src.roadmap.dto.PostBulkRoadmapRes;
+import site.devroad.softeer.src.roadmap.model.Roadmap;
+import site.devroad.softeer.src.roadmap.model.SubjectExam;
+import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
+import site.devroad.softeer.src.user.UserRepo;
+import site.devroad.softeer.src.user.model.Account;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
 
-import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {RoadmapService.class})
 class RoadmapServiceTest {
+    private final Long accountId = 1000L;
+    private final Long roadmapId = 12L;
+    @MockBean
+    RoadmapRepo roadmapRepo;
+    @MockBean
+    SubjectRepo subjectRepo;
+    @MockBean
+    ExamRepo examRepo;
+    @MockBean
+    ExamSubmissionRepo examSubmissionRepo;
+    @MockBean
+    UserRepo userRepo;
+    @MockBean
+    ProgressRepo progressRepo;
+    @MockBean
+    ChapterCompletionWriter chapterCompletionWriter;
+    @Autowired
+    RoadmapService roadmapService;
 
     @Test
+    @DisplayName("로드맵 과목들을 subject 별 조회 없이 한 번에 받아오는 경우")
     void getSubjects() {
+        //given
+        Account account = new Account(accountId, "test", roadmapId, "01042427272", "Student", null, null);
+        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(roadmapRepo.findRoadmapById(roadmapId)).thenReturn(Optional.of(new Roadmap(roadmapId, "test 로드맵", 0L)));
+        Mockito.when(userRepo.isUserSubscribed(accountId)).thenReturn(true);
+        Mockito.when(roadmapRepo.findSubjectExamsByRoadmapId(roadmapId)).thenReturn(List.of(
+                new SubjectExam(1L, "자료구조", 10L, 11L),
+                new SubjectExam(2L, "알고리즘", 20L, 21L)));
+        Mockito.when(examSubmissionRepo.findLatestByRoadmapIdAndAccountId(roadmapId, accountId)).thenReturn(List.of(
+                new ExamSubmission(100L, accountId, 10L, "", SubmissionType.PASSED, null),
+                new ExamSubmission(101L, accountId, 11L, "https://github.com/test/test", SubmissionType.SUBMITTED, null)));
+
+        //when
+        GetRoadmapDetailRes res = roadmapService.getSubjects(accountId);
+
+        //then
+        assertThat(res.getSubjects().size()).isEqualTo(2);
+        assertThat(res.getSubjects().get(0).getMcqState()).isEqualTo(SubmissionType.PASSED);
+        assertThat(res.getSubjects().get(0).getFrqState()).isEqualTo(SubmissionType.SUBMITTED);
+        assertThat(res.getSubjects().get(1).getMcqState()).isEqualTo(SubmissionType.PURCHASED);
+        assertThat(res.getSubjects().get(1).getFrqExamId()).isEqualTo(21L);
+        verify(examRepo, never()).findExamBySubjectIdAndType(any(Long.class), any(String.class));
+        verify(examSubmissionRepo, never()).findByExamIdAndAccountId(any(Long.class), any(Long.class));
+    }
+
+    @Test
+    @DisplayName("과목에 시험이 하나라도 없는 경우")
+    void getSubjectsExamNotFound() {
+        //given
+        Account account = new Account(accountId, "test", roadmapId, "01042427272", "Student", null, null);
+        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(roadmapRepo.findRoadmapById(roadmapId)).thenReturn(Optional.of(new Roadmap(roadmapId, "test 로드맵", 0L)));
+        Mockito.when(roadmapRepo.findSubjectExamsByRoadmapId(roadmapId)).thenReturn(List.of(
+                new SubjectExam(1L, "자료구조", 10L, null)));
+
+        //then
+        assertThatThrownBy(() -> roadmapService.getSubjects(accountId)).isInstanceOf(CustomException.class);
     }
 
     @Test
@@ -22,7 +107,31 @@ class RoadmapServiceTest {
     void createRoadmap() {
     }
 
+    @Test
+    @DisplayName("여러 계정에 같은 과목 순서로 로드맵을 한 번에 생성하는 경우")
+    void createRoadmaps() {
+        //given
+        Account account1 = new Account(1L, "kim", null, "01011111111", "Student", null, null);
+        Account account2 = new Account(2L, "lee", null, "01022222222", "Student", null, null);
+        List<String> emails = List.of("kim@test.com", "none@test.com", "lee@test.com", "kim@test.com");
+        List<Long> subjectSequence = List.of(3L, 1L, 2L);
+        Mockito.when(userRepo.findAccountsByEmails(List.of("kim@test.com", "none@test.com", "lee@test.com")))
+                .thenReturn(Map.of("kim@test.com", account1, "lee@test.com", account2));
+        Mockito.when(roadmapRepo.createRoadmaps(List.of("kim's roadmap", "lee's roadmap"))).thenReturn(List.of(21L, 22L));
+
+        //when
+        PostBulkRoadmapRes res = roadmapService.createRoadmaps(new PostBulkRoadmapReq(emails, subjectSequence));
+
+        //then
+        assertThat(res.getCreatedCount()).isEqualTo(2);
+        assertThat(res.getNotFoundEmails()).containsExactly("none@test.com");
+        verify(userRepo).setRoadmaps(Map.of(1L, 21L, 2L, 22L));
+        verify(roadmapRepo).addSubjectsToRoadmaps(List.of(21L, 22L), subjectSequence);
+        verify(progressRepo).deleteAccountProgresses(List.of(1L, 2L));
+        verify(roadmapRepo, never()).addSubjectToRoadMap(any(Long.class), any(Long.class), any(Integer.class));
+    }
+
     @Test
     void deleteRoadmapByAccountId() {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package site.devroad.softeer.src.roadmap.completedchapter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import site.devroad.softeer.H2TestDatabase;
+import site.devroad.softeer.src.roadmap.RoadmapRepo;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChapterCompletionWriterTest {
+    private final Long accountId = 1L;
+    @TempDir
+    Path journalDir;
+    private H2TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.fresh("chapter_completion");
+        jdbcTemplate = database.getJdbcTemplate();
+        jdbcTemplate.update("INSERT INTO Roadmap (id, name, chapter_id) VALUES (7, 'test 로드맵', 0)");
+        jdbcTemplate.update("INSERT INTO Account (id, name, roadmap_id, phone) VALUES (?, 'test', 7, '01042427272')", accountId);
+        jdbcTemplate.update("INSERT INTO CourseProgress (account_id, course_id, completed_chapters) VALUES (?, 3, 0)", accountId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private ChapterCompletionWriter writer() {
+        return new ChapterCompletionWriter(new CompletedChapterRepo(jdbcTemplate), new ProgressRepo(jdbcTemplate), new RoadmapRepo(jdbcTemplate),
+                new DataSourceTransactionManager(database.getDataSource()), Runnable::run, true, journalDir.toString(), false, 60_000, 500, 1 << 20);
+    }
+
+    private int completedChapters() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CompletedChapter WHERE account_id = ?", Integer.class, accountId);
+    }
+
+    @Test
+    @DisplayName("이벤트는 바로 반영되지 않고, 같은 계정을 읽기 전에 반영됨")
+    void applyBeforeRead() {
+        ChapterCompletionWriter writer = writer();
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.submit(new ChapterCompletion(accountId, 11L, 3L, 12L));
+        assertThat(completedChapters()).isZero();
+
+        writer.awaitApplied(2L);
+        assertThat(completedChapters()).isZero();
+        writer.awaitApplied(accountId);
+
+        assertThat(completedChapters()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT chapter_id FROM Roadmap WHERE id = 7", Long.class)).isEqualTo(12L);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_chapters FROM CourseProgress WHERE account_id = ?", Integer.class, accountId))
+                .isEqualTo(2);
+        assertThat(writer.pendingAccounts()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 완료한 챕터는 다시 넣지 않고 진행 집계도 늘리지 않음")
+    void skipAlreadyCompleted() {
+        ChapterCompletionWriter writer = writer();
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.flush();
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.flush();
+
+        assertThat(completedChapters()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_chapters FROM CourseProgress WHERE account_id = ?", Integer.class, accountId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("반영 전에 서버가 내려가도 journal 에서 복구되고, 반영된 이벤트는 다시 읽지 않음")
+    void recoverFromJournal() {
+        ChapterCompletionWriter crashed = writer();
+        crashed.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        crashed.flush();
+        crashed.submit(new ChapterCompletion(accountId, 11L, 3L, 12L));
+
+        ChapterCompletionWriter restarted = writer();
+        restarted.awaitApplied(accountId);
+
+        assertThat(completedChapters()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_chapters FROM CourseProgress WHERE account_id = ?", Integer.class, accountId))
+                .isEqualTo(2);
+        assertThat(new ChapterCompletionJournal(journalDir, false, 1 << 20).readPending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기록 중에 잘린 마지막 줄은 버리고, 읽을 수 없는 줄은 rejected 파일로 옮긴 뒤 기동")
+    void recoverFromCorruptedJournal() throws IOException {
+        ChapterCompletionWriter crashed = writer();
+        crashed.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        Path journalFile = journalDir.resolve("chapter-completion.journal");
+        Files.writeString(journalFile, "garbage\n1,11,3", StandardOpenOption.APPEND);
+
+        ChapterCompletionWriter restarted = writer();
+        restarted.submit(new ChapterCompletion(accountId, 12L, 3L, 13L));
+        restarted.awaitApplied(accountId);
+
+        assertThat(completedChapters()).isEqualTo(2);
+        assertThat(Files.readString(journalDir.resolve("chapter-completion.rejected"))).startsWith("garbage");
+        assertThat(new ChapterCompletionJournal(journalDir, false, 1 << 20).readPending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("DB 가 받을 수 없는 이벤트는 rejected 로 빼고 나머지 이벤트는 반영")
+    void rejectPoisonEvent() throws IOException {
+        ChapterCompletionWriter writer = writer();
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.submit(new ChapterCompletion(accountId, null, 3L, 11L));
+        writer.submit(new ChapterCompletion(accountId, 11L, 3L, 12L));
+
+        writer.awaitApplied(accountId);
+
+        assertThat(completedChapters()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT chapter_id FROM Roadmap WHERE id = 7", Long.class)).isEqualTo(12L);
+        assertThat(Files.readString(journalDir.resolve("chapter-completion.rejected"))).startsWith("1,null,3,11");
+        assertThat(new ChapterCompletionJournal(journalDir, false, 1 << 20).readPending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush 중 예외가 나도 백그라운드 flush 는 계속 돌아서 이후 이벤트를 반영")
+    void flushLoopSurvivesException() throws InterruptedException {
+        AtomicInteger flushes = new AtomicInteger();
+        ChapterCompletionWriter writer = new ChapterCompletionWriter(new CompletedChapterRepo(jdbcTemplate), new ProgressRepo(jdbcTemplate),
+                new RoadmapRepo(jdbcTemplate), new DataSourceTransactionManager(database.getDataSource()), task -> new Thread(task).start(),
+                true, journalDir.toString(), false, 10, 500, 1 << 20) {
+            @Override
+            synchronized boolean flush() {
+                if (flushes.getAndIncrement() == 0)
+                    throw new IllegalStateException("journal io failed");
+                return super.flush();
+            }
+        };
+        writer.submit(new ChapterCompletion(accountId, 10L, 3L, 11L));
+        writer.start();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (completedChapters() == 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        int applied = completedChapters();
+        writer.stop();
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(flushes.get()).isGreaterThan(1);
+    }
+}
@@ -0,0 +1,93 @@
+package site.devroad.softeer.src.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionCacheTest {
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private MetricsRegistry metricsRegistry;
+    private SubscriptionCache subscriptionCache;
+
+    @BeforeEach
+    void setUp() {
+        metricsRegistry = new MetricsRegistry();
+        subscriptionCache = new SubscriptionCache(metricsRegistry, 2, 1000, now::get);
+    }
+
+    private Function<Long, Optional<Timestamp>> endsAt(Long endAt) {
+        return accountId -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(endAt).map(Timestamp::new);
+        };
+    }
+
+    @Test
+    @DisplayName("구독 중이면 만료 시각까지 DB 를 다시 읽지 않고, 만료 후에는 다시 읽음")
+    void subscribedUntilEndAt() {
+        long endAt = now.get() + 10_000;
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(endAt))).isTrue();
+        now.addAndGet(9_999);
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(endAt))).isTrue();
+        assertThat(loads.get()).isEqualTo(1);
+
+        now.addAndGet(1);
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(endAt))).isFalse();
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(metricsRegistry.scrape()).contains("subscription_cache_requests_total{result=\"hit\"} 1");
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 계정은 ttl 동안만 보관하고, 무효화하면 바로 다시 읽음")
+    void notSubscribedExpiresAfterTtl() {
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(null))).isFalse();
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(null))).isFalse();
+        assertThat(loads.get()).isEqualTo(1);
+
+        subscriptionCache.invalidate(1L);
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(now.get() + 10_000))).isTrue();
+        assertThat(loads.get()).isEqualTo(2);
+
+        now.addAndGet(1000);
+        subscriptionCache.invalidate(1L);
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(null))).isFalse();
+        now.addAndGet(1000);
+        assertThat(subscriptionCache.isSubscribed(1L, endsAt(null))).isFalse();
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("가득 차면 만료된 항목만 정리하고 더 넣지 않음")
+    void boundedSize() {
+        subscriptionCache.isSubscribed(1L, endsAt(null));
+        subscriptionCache.isSubscribed(2L, endsAt(null));
+        subscriptionCache.isSubscribed(3L, endsAt(null));
+        assertThat(subscriptionCache.size()).isEqualTo(2);
+        assertThat(metricsRegistry.scrape()).contains("subscription_cache_rejected_total 1");
+
+        now.addAndGet(1000);
+        subscriptionCache.isSubscribed(3L, endsAt(null));
+        assertThat(subscriptionCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("읽는 도중 무효화되면 읽어 온 값을 캐시하지 않음")
+    void invalidatedWhileLoading() {
+        subscriptionCache.isSubscribed(1L, accountId -> {
+            subscriptionCache.invalidate(accountId);
+            return Optional.empty();
+        });
+
+        assertThat(subscriptionCache.size()).isZero();
+    }
+}
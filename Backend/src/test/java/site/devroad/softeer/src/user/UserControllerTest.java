@@ -1,22 +1,35 @@
 package site.devroad.softeer.src.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import site.devroad.softeer.src.user.dto.*;
 import site.devroad.softeer.src.user.dto.domain.UserDetail;
+import site.devroad.softeer.src.user.model.RoadmapFilter;
+import site.devroad.softeer.src.user.model.UserFilter;
+import site.devroad.softeer.utility.JwtPrincipal;
 import site.devroad.softeer.utility.JwtUtility;
 
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -32,6 +45,16 @@ class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @BeforeEach
+    void setUpPrincipal() {
+        //jwt 헤더가 없는 요청은 accountId 0으로 인증된 것으로 간주
+        given(jwtUtility.getPrincipal(any())).willReturn(principalOf(0L));
+    }
+
+    private JwtPrincipal principalOf(Long accountId) {
+        return new JwtPrincipal(accountId, "test", new Date(System.currentTimeMillis() + 60_000));
+    }
+
     @Test
     @DisplayName("회원가입 테스트")
     void signupTest() throws Exception {
@@ -63,7 +86,7 @@ class UserControllerTest {
     void signinTest() throws Exception {
         //given
         given(userService.signIn(any(PostSignInReq.class))).willReturn(
-                new PostSignInRes("test-jwt", false)
+                new PostSignInRes("test-jwt", "test-refresh", false)
         );
         //when
         mockMvc.perform(
@@ -82,13 +105,34 @@ class UserControllerTest {
         verify(userService).signIn(any(PostSignInReq.class));
     }
 
+    @Test
+    @DisplayName("refresh token 으로 세션 갱신 테스트")
+    void refreshTest() throws Exception {
+        //given
+        given(userService.refresh(any(PostRefreshReq.class))).willReturn(
+                new PostSignInRes("test-jwt", "next-refresh", false)
+        );
+        //when
+        mockMvc.perform(
+                        post("/api/user/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"refreshToken\":\"test-refresh\"}")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jwt").value("test-jwt"))
+                .andExpect(jsonPath("$.refreshToken").value("next-refresh"))
+                .andDo(print());
+
+        verify(userService).refresh(any(PostRefreshReq.class));
+    }
+
     @Test
     @DisplayName("로드맵이 없는 유저 정보 받아오기")
     void getUserDetailNoRoadmap() throws Exception {
         //given
         GetUserDetailRes testDto = GetUserDetailRes.createNoRoadmapUserDetail(1000L, "testName", false);
         given(userService.getUserDetail(any(Long.class))).willReturn(testDto);
-        given(jwtUtility.getAccountId("testJwt")).willReturn(1000L);
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
         String expectedJson = new ObjectMapper().writeValueAsString(testDto);
 
         //when
@@ -154,7 +198,7 @@ class UserControllerTest {
         List<String> users = List.of(email1, email2);
         given(userService.getNoRoadmapUsers(1000L)).willReturn(users);
         given(userService.isAdmin(1000L)).willReturn(true);
-        given(jwtUtility.getAccountId("testJwt")).willReturn(1000L);
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
         GetNoUserRes getNoUserRes = new GetNoUserRes(users);
         String expectedJson = new ObjectMapper().writeValueAsString(getNoUserRes);
 
@@ -177,7 +221,7 @@ class UserControllerTest {
         List<UserDetail> userDetailList = List.of(testUser1, testUser2);
         GetAllUserRes getAllUserRes = new GetAllUserRes(userDetailList);
 
-        given(jwtUtility.getAccountId("testJwt")).willReturn(1000L);
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
         given(userService.getAllUser(1000L)).willReturn(getAllUserRes);
         String expectedJson = new ObjectMapper().writeValueAsString(getAllUserRes);
 
@@ -191,4 +235,76 @@ class UserControllerTest {
 
         verify(userService).getAllUser(1000L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("사용자 목록을 keyset 페이지로 받아오기")
+    void getUserPageTest() throws Exception {
+        UserDetail testUser = new UserDetail(1001L, "testEmail1@naver.com", 10L, "test1");
+        GetUserPageRes getUserPageRes = new GetUserPageRes(List.of(testUser), 1001L);
+
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
+        given(userService.getUserPage(eq(1000L), any(UserFilter.class), eq(1000L), eq(1))).willReturn(getUserPageRes);
+        String expectedJson = new ObjectMapper().writeValueAsString(getUserPageRes);
+
+        mockMvc.perform(
+                        get("/api/admin/users/page")
+                                .header("jwt", "testJwt")
+                                .param("roadmap", "ASSIGNED")
+                                .param("name", "test")
+                                .param("after", "1000")
+                                .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json(expectedJson))
+                .andDo(print());
+
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        verify(userService).getUserPage(eq(1000L), filter.capture(), eq(1000L), eq(1));
+        assertThat(filter.getValue().getRoadmap()).isEqualTo(RoadmapFilter.ASSIGNED);
+        assertThat(filter.getValue().getNamePrefix()).isEqualTo("test");
+        assertThat(filter.getValue().isStudentsOnly()).isTrue();
+    }
+
+    @Test
+    @DisplayName("사용자 목록을 청크 단위로 스트리밍하면 전체 목록과 같은 모양의 JSON")
+    void streamUsersTest() throws Exception {
+        UserDetail testUser1 = new UserDetail(1001L, "testEmail1@naver.com", 10L, "test1");
+        UserDetail testUser2 = new UserDetail(1002L, "testEmail2@naver.com", 11L, "test2");
+        String expectedJson = new ObjectMapper().writeValueAsString(new GetAllUserRes(List.of(testUser1, testUser2)));
+
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
+        given(userService.isAdmin(1000L)).willReturn(true);
+        willAnswer(invocation -> {
+            Consumer<List<UserDetail>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of(testUser1));
+            consumer.accept(List.of(testUser2));
+            return null;
+        }).given(userService).streamUsers(any(UserFilter.class), any());
+
+        MvcResult mvcResult = mockMvc.perform(
+                        get("/api/admin/users/stream")
+                                .header("jwt", "testJwt")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expectedJson, true));
+    }
+
+    @Test
+    @DisplayName("관리자가 아니면 스트리밍을 시작하지 않음")
+    void streamNoRoadmapUserNotAdminTest() throws Exception {
+        given(jwtUtility.getPrincipal("testJwt")).willReturn(principalOf(1000L));
+        given(userService.isAdmin(1000L)).willReturn(false);
+
+        mockMvc.perform(
+                        get("/api/user/noRoadmap/stream")
+                                .header("jwt", "testJwt")
+                )
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).streamUsers(any(UserFilter.class), any());
+    }
+}
@@ -0,0 +1,88 @@
+package site.devroad.softeer.src.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import site.devroad.softeer.H2TestDatabase;
+import site.devroad.softeer.src.user.dto.domain.UserDetail;
+import site.devroad.softeer.src.user.model.RoadmapFilter;
+import site.devroad.softeer.src.user.model.UserFilter;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepoPageTest {
+    private H2TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.fresh("user_page");
+        jdbcTemplate = database.getJdbcTemplate();
+        userRepo = new UserRepo(jdbcTemplate, new SubscriptionCache(new MetricsRegistry(), 100000, 300));
+        addUser(1L, "kim", 10L, "Student");
+        addUser(2L, "kimchi", null, "Student");
+        addUser(3L, "lee", null, "Student");
+        addUser(4L, "k_m", 11L, "Student");
+        addUser(5L, "kang", null, "Admin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private void addUser(Long id, String name, Long roadmapId, String type) {
+        jdbcTemplate.update("INSERT INTO Account (id, name, roadmap_id, phone, type) VALUES (?, ?, ?, '01000000000', ?)",
+                id, name, roadmapId, type);
+        jdbcTemplate.update("INSERT INTO LoginInfo (email, password, account_id) VALUES (?, 'pw', ?)",
+                name + "@test.com", id);
+    }
+
+    private List<Long> ids(List<UserDetail> users) {
+        return users.stream().map(UserDetail::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("after 다음 id 부터 size 개씩 id 순서로 끊어 읽는 경우")
+    void keysetPages() {
+        UserFilter filter = UserFilter.students(RoadmapFilter.ANY, null);
+        List<Long> all = new ArrayList<>();
+        long after = 0L;
+        while (true) {
+            List<UserDetail> page = userRepo.findUserPage(filter, after, 2);
+            all.addAll(ids(page));
+            if (page.size() < 2)
+                break;
+            after = page.get(page.size() - 1).getId();
+        }
+
+        assertThat(all).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("로드맵 배정 여부와 이름 접두어로 거르는 경우")
+    void filters() {
+        assertThat(ids(userRepo.findUserPage(UserFilter.students(RoadmapFilter.ASSIGNED, null), 0L, 10)))
+                .containsExactly(1L, 4L);
+        assertThat(ids(userRepo.findUserPage(UserFilter.students(RoadmapFilter.NONE, "kim"), 0L, 10)))
+                .containsExactly(2L);
+        assertThat(ids(userRepo.findUserPage(UserFilter.noRoadmap("k"), 0L, 10)))
+                .containsExactly(2L, 5L);
+    }
+
+    @Test
+    @DisplayName("이름 접두어의 _ 와 % 는 와일드카드가 아닌 글자로 비교")
+    void escapesLikeWildcards() {
+        assertThat(ids(userRepo.findUserPage(UserFilter.students(RoadmapFilter.ANY, "k_"), 0L, 10)))
+                .containsExactly(4L);
+        assertThat(userRepo.findUserPage(UserFilter.students(RoadmapFilter.ANY, "%"), 0L, 10)).isEmpty();
+    }
+}
@@ -9,28 +9,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import site.devroad.softeer.exceptions.CustomException;
-import site.devroad.softeer.src.exam.ExamSubmissionRepo;
-import site.devroad.softeer.src.exam.model.ExamSubmission;
-import site.devroad.softeer.src.exam.model.SubmissionType;
-import site.devroad.softeer.src.roadmap.RoadmapRepo;
 import site.devroad.softeer.src.roadmap.chapter.Chapter;
 import site.devroad.softeer.src.roadmap.chapter.ChapterRepo;
-import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapter;
-import site.devroad.softeer.src.roadmap.completedchapter.CompletedChapterRepo;
+import site.devroad.softeer.src.roadmap.completedchapter.ChapterCompletionWriter;
 import site.devroad.softeer.src.roadmap.model.Roadmap;
-import site.devroad.softeer.src.roadmap.subject.Subject;
-import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
 import site.devroad.softeer.src.user.dto.*;
 import site.devroad.softeer.src.user.dto.domain.UserDetail;
 import site.devroad.softeer.src.user.model.Account;
 import site.devroad.softeer.src.user.model.LoginInfo;
+import site.devroad.softeer.src.user.model.UserFilter;
+import site.devroad.softeer.src.user.progress.AccountProgress;
+import site.devroad.softeer.src.user.progress.ProgressRepo;
+import site.devroad.softeer.src.user.progress.UserDashboard;
+import site.devroad.softeer.src.user.token.RefreshTokenService;
 import site.devroad.softeer.utility.JwtUtility;
+import site.devroad.softeer.utility.PasswordHasher;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(classes = {UserService.class})
 class UserServiceTest {
@@ -45,17 +50,17 @@ class UserServiceTest {
     @MockBean
     UserRepo userRepo;
     @MockBean
-    RoadmapRepo roadmapRepo;
+    ProgressRepo progressRepo;
     @MockBean
-    SubjectRepo subjectRepo;
+    ChapterRepo chapterRepo;
     @MockBean
-    ExamSubmissionRepo examSubmissionRepo;
+    JwtUtility jwtUtility;
     @MockBean
-    CompletedChapterRepo completedChapterRepo;
+    RefreshTokenService refreshTokenService;
     @MockBean
-    ChapterRepo chapterRepo;
+    PasswordHasher passwordHasher;
     @MockBean
-    JwtUtility jwtUtility;
+    ChapterCompletionWriter chapterCompletionWriter;
     @Autowired
     UserService userService;
     private Account account;
@@ -80,9 +85,10 @@ class UserServiceTest {
         //when
         Mockito.when(userRepo.findByPhone(phone)).thenReturn(Optional.empty());
         Mockito.when(userRepo.findLoginInfoByEmail(email)).thenReturn(Optional.empty());
+        Mockito.when(passwordHasher.hash(password)).thenReturn("hashed");
         Mockito.when(userRepo.createAccountInfo(name, phone, type))
                 .thenReturn(account);
-        Mockito.when(userRepo.createLoginInfo(email, password, accountId))
+        Mockito.when(userRepo.createLoginInfo(email, "hashed", accountId))
                 .thenReturn(loginInfo);
         PostSignUpRes joinResDto = userService.join(postSignUpReq);
 
@@ -132,14 +138,63 @@ class UserServiceTest {
         String hashpw = BCrypt.hashpw(password, BCrypt.gensalt());
         Mockito.when(userRepo.findLoginInfoByEmail(postSignInReq.getEmail()))
                 .thenReturn(Optional.of(new LoginInfo(10L, email, hashpw, accountId)));
+        Mockito.when(passwordHasher.verify(password, hashpw)).thenReturn(true);
         Mockito.when(userRepo.findAccountById(accountId))
                 .thenReturn(Optional.of(account));
         Mockito.when(jwtUtility.makeJwtToken(accountId, name))
                 .thenReturn("tempJWT");
+        Mockito.when(refreshTokenService.issue(accountId))
+                .thenReturn("tempRefresh");
 
         //then
         PostSignInRes postSignInRes = userService.signIn(postSignInReq);
         assertThat(postSignInRes.getJwt()).isEqualTo("tempJWT");
+        assertThat(postSignInRes.getRefreshToken()).isEqualTo("tempRefresh");
+    }
+
+    @Test
+    @DisplayName("설정된 cost 와 다른 해시로 로그인하면 다시 해시해서 저장")
+    void signInRehash() {
+        //given
+        PostSignInReq postSignInReq = new PostSignInReq(email, password);
+        Account account = new Account(accountId, name, 12L, "1212", "Student", null, null);
+        String hashpw = BCrypt.hashpw(password, BCrypt.gensalt(4));
+        Mockito.when(userRepo.findLoginInfoByEmail(email))
+                .thenReturn(Optional.of(new LoginInfo(10L, email, hashpw, accountId)));
+        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(passwordHasher.verify(password, hashpw)).thenReturn(true);
+        Mockito.when(passwordHasher.needsRehash(hashpw)).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(1).accept("rehashed");
+            return null;
+        }).when(passwordHasher).rehashLater(Mockito.eq(password), any());
+
+        //when
+        userService.signIn(postSignInReq);
+
+        //then
+        verify(userRepo).updatePasswordHash(10L, hashpw, "rehashed");
+    }
+
+    @Test
+    @DisplayName("refresh token 으로 비밀번호 검증 없이 세션을 갱신하는 경우")
+    void refreshSuccess() {
+        //given
+        Account account = new Account(accountId, name, 12L, "1212", "Student", null, null);
+        Mockito.when(refreshTokenService.rotate("oldRefresh"))
+                .thenReturn(new RefreshTokenService.Rotation(accountId, "newRefresh"));
+        Mockito.when(userRepo.findAccountById(accountId))
+                .thenReturn(Optional.of(account));
+        Mockito.when(jwtUtility.makeJwtToken(accountId, name))
+                .thenReturn("tempJWT");
+
+        //when
+        PostSignInRes postSignInRes = userService.refresh(new PostRefreshReq("oldRefresh"));
+
+        //then
+        assertThat(postSignInRes.getJwt()).isEqualTo("tempJWT");
+        assertThat(postSignInRes.getRefreshToken()).isEqualTo("newRefresh");
+        verify(userRepo, never()).findLoginInfoByEmail(any(String.class));
     }
 
     @Test
@@ -226,7 +281,7 @@ class UserServiceTest {
     void getUserDetailNoAccount() {
 
         //when
-        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.empty());
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.empty());
 
         //then
         assertThatThrownBy(() -> userService.getUserDetail(accountId)).isInstanceOf(CustomException.class);
@@ -237,8 +292,8 @@ class UserServiceTest {
     void getUserDetailWithoutRoadmap() {
 
         //when
-        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
-        Mockito.when(roadmapRepo.findRoadmapByAccountId(accountId)).thenReturn(Optional.empty());
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.of(
+                new UserDashboard(accountId, name, null, null, null, null, null, null, null)));
 
         //then
         GetUserDetailRes userDetail = userService.getUserDetail(accountId);
@@ -249,22 +304,20 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("유저가 아직 로드맵을 시작하지 않은 경우")
+    @DisplayName("유저가 아직 로드맵을 시작하지 않은 경우, 집계가 없으면 새로 계산")
     void getUserDetailNotStarted() {
         //given
-        Roadmap roadmapNotStarted = new Roadmap(1001L, "시작하지 않은 로드맵", 0L);
+        Long notStartedRoadmapId = 1001L;
 
         //when
-        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
-        Mockito.when(roadmapRepo.findRoadmapByAccountId(accountId)).thenReturn(Optional.of(roadmapNotStarted));
-        Mockito.when(subjectRepo.findSubjectsByRoadmapId(roadmapNotStarted.getId())).thenReturn(
-                List.of(new Subject(101L, "자료구조", "여러 가지 자료구조를 배워보자")
-                        , new Subject(102L, "알고리즘", "BFS, DFS, DP 등의 다양한 알고리즘을 배워보자"))
-        );
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.of(
+                new UserDashboard(accountId, name, notStartedRoadmapId, 0L, null, null, null, null, null)));
+        Mockito.when(progressRepo.rebuildAccountProgress(accountId, notStartedRoadmapId))
+                .thenReturn(new AccountProgress(accountId, notStartedRoadmapId, 2, 0));
 
         //then
         GetUserDetailRes userDetail = userService.getUserDetail(accountId);
-        assertThat(userDetail.getRoadmapId()).isEqualTo(roadmapNotStarted.getId());
+        assertThat(userDetail.getRoadmapId()).isEqualTo(notStartedRoadmapId);
         assertThat(userDetail.getUserId()).isEqualTo(accountId);
         assertThat(userDetail.getChapterPercent()).isEqualTo(0);
         assertThat(userDetail.getCurChapterPK()).isEqualTo(-1);
@@ -273,28 +326,19 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("유저가 로드맵을 시작했고 코스의 중간인 경우")
+    @DisplayName("유저가 로드맵을 시작했고 코스의 중간인 경우, 집계된 값만 읽음")
     void getUserDetailGeneral() {
         //given
-        Roadmap roadmapStarted = new Roadmap(account.getRoadMapId(), "시작한 로드맵", 2L);
         Chapter chapter1 = new Chapter(1L, 10L, "링크드리스트", "test", "test", "링크드리스트란", 0);
         Chapter chapter2 = new Chapter(2L, 10L, "스택", "test", "test", "스택이란", 1);
+        Timestamp subscribeEndAt = new Timestamp(System.currentTimeMillis() + 60_000);
 
         //when
-        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
-        Mockito.when(roadmapRepo.findRoadmapByAccountId(accountId)).thenReturn(Optional.of(roadmapStarted));
-        Mockito.when(subjectRepo.findSubjectsByRoadmapId(roadmapStarted.getId())).thenReturn(
-                List.of(new Subject(101L, "자료구조", "여러 가지 자료구조를 배워보자")
-                        , new Subject(102L, "알고리즘", "BFS, DFS, DP 등의 다양한 알고리즘을 배워보자"))
-        );
-        Mockito.when(examSubmissionRepo.findMCQByRoadmapIdAndAccountId(roadmapStarted.getId(), accountId))
-                .thenReturn(List.of(new ExamSubmission(10001L, accountId, 101L, "hello"
-                        , SubmissionType.PASSED, "스택이란 무엇인가요?")));
-        Mockito.when(chapterRepo.findChapterById(2L)).thenReturn(Optional.of(chapter2));
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.of(
+                new UserDashboard(accountId, name, roadmapId, 2L, subscribeEndAt,
+                        new AccountProgress(accountId, roadmapId, 2, 1), 10L, "스택", 1)));
         Mockito.when(chapterRepo.findChaptersByCourseId(10L))
                 .thenReturn(List.of(chapter1, chapter2));
-        Mockito.when(completedChapterRepo.readCompletedChapters(accountId, 10L))
-                .thenReturn(List.of(new CompletedChapter(1L, accountId, chapter1.getId(), null)));
 
         //then
         GetUserDetailRes userDetail = userService.getUserDetail(accountId);
@@ -302,28 +346,41 @@ class UserServiceTest {
         assertThat(userDetail.getUserId()).isEqualTo(accountId);
         assertThat(userDetail.getChapterPercent()).isEqualTo(0.5F);
         assertThat(userDetail.getCurChapterPK()).isEqualTo(2L);
+        assertThat(userDetail.getCurChapterName()).isEqualTo("스택");
         assertThat(userDetail.getTotalSubjectIdx()).isEqualTo(2);
         assertThat(userDetail.getCurSubjectIdx()).isEqualTo(1);
+        assertThat(userDetail.getSubscribe()).isTrue();
+        verify(progressRepo, never()).rebuildAccountProgress(any(Long.class), any(Long.class));
+        verify(progressRepo, never()).rebuildCourseProgress(any(Long.class), any(Long.class));
     }
 
     @Test
-    @DisplayName("유저가 로드맵을 시작했고 과목이 끝난 상태인 경우")
-    void getUserDetailSubjectFinished() {
+    @DisplayName("코스 집계가 없으면 완료한 챕터 수를 새로 계산")
+    void getUserDetailRebuildCourseProgress() {
         //given
-        Roadmap roadmapStarted = new Roadmap(account.getRoadMapId(), "시작한 로드맵", -1L);
         Chapter chapter1 = new Chapter(1L, 10L, "링크드리스트", "test", "test", "링크드리스트란", 0);
         Chapter chapter2 = new Chapter(2L, 10L, "스택", "test", "test", "스택이란", 1);
 
         //when
-        Mockito.when(userRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
-        Mockito.when(roadmapRepo.findRoadmapByAccountId(accountId)).thenReturn(Optional.of(roadmapStarted));
-        Mockito.when(subjectRepo.findSubjectsByRoadmapId(roadmapStarted.getId())).thenReturn(
-                List.of(new Subject(101L, "자료구조", "여러 가지 자료구조를 배워보자")
-                        , new Subject(102L, "알고리즘", "BFS, DFS, DP 등의 다양한 알고리즘을 배워보자"))
-        );
-        Mockito.when(examSubmissionRepo.findMCQByRoadmapIdAndAccountId(roadmapStarted.getId(), accountId))
-                .thenReturn(List.of(new ExamSubmission(10001L, accountId, 101L, "hello"
-                        , SubmissionType.PASSED, "스택이란 무엇인가요?")));
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.of(
+                new UserDashboard(accountId, name, roadmapId, 2L, null,
+                        new AccountProgress(accountId, roadmapId, 2, 1), 10L, "스택", null)));
+        Mockito.when(chapterRepo.findChaptersByCourseId(10L)).thenReturn(List.of(chapter1, chapter2));
+        Mockito.when(progressRepo.rebuildCourseProgress(accountId, 10L)).thenReturn(2);
+
+        //then
+        GetUserDetailRes userDetail = userService.getUserDetail(accountId);
+        assertThat(userDetail.getChapterPercent()).isEqualTo(1F);
+        assertThat(userDetail.getSubscribe()).isFalse();
+    }
+
+    @Test
+    @DisplayName("유저가 로드맵을 시작했고 과목이 끝난 상태인 경우")
+    void getUserDetailSubjectFinished() {
+        //when
+        Mockito.when(progressRepo.findDashboard(accountId)).thenReturn(Optional.of(
+                new UserDashboard(accountId, name, roadmapId, -1L, null,
+                        new AccountProgress(accountId, roadmapId, 2, 1), null, null, null)));
 
         //then
         GetUserDetailRes userDetail = userService.getUserDetail(accountId);
@@ -362,4 +419,22 @@ class UserServiceTest {
         Account accountById = userService.getAccountById(adminAccount.getId());
         assertThat(accountById).isEqualTo(adminAccount);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("페이지가 가득 차면 마지막 id 를 다음 커서로 돌려주고, 크기는 최대값으로 제한")
+    void getUserPage() {
+        //when
+        UserDetail userDetail = new UserDetail(7L, "a@test.com", 1L, "a");
+        Mockito.when(userRepo.findAccountById(adminAccount.getId())).thenReturn(Optional.of(adminAccount));
+        Mockito.when(userRepo.findUserPage(any(UserFilter.class), any(Long.class), any(Integer.class)))
+                .thenReturn(List.of(userDetail));
+
+        //then
+        GetUserPageRes full = userService.getUserPage(adminAccount.getId(), UserFilter.students(null, null), null, 1);
+        assertThat(full.getNextCursor()).isEqualTo(7L);
+        GetUserPageRes last = userService.getUserPage(adminAccount.getId(), UserFilter.students(null, null), 3L, 100000);
+        assertThat(last.getNextCursor()).isNull();
+        verify(userRepo).findUserPage(any(UserFilter.class), eq(0L), eq(1));
+        verify(userRepo).findUserPage(any(UserFilter.class), eq(3L), eq(500));
+    }
+}
@@ -0,0 +1,122 @@
+package site.devroad.softeer.src.user.token;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest {
+    private final Long accountId = 1000L;
+    private JdbcTemplate jdbcTemplate;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:refresh_token;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE TABLE RefreshToken (id BIGINT AUTO_INCREMENT PRIMARY KEY, account_id BIGINT NOT NULL, " +
+                "family_id CHAR(36) NOT NULL, token_hash CHAR(64) NOT NULL UNIQUE, expires_at TIMESTAMP NOT NULL, " +
+                "used_at TIMESTAMP NULL, revoked_at TIMESTAMP NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        refreshTokenService = new RefreshTokenService(new RefreshTokenRepo(jdbcTemplate), 14);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE RefreshToken");
+    }
+
+    @Test
+    @DisplayName("원문 토큰은 저장하지 않고 해시만 저장")
+    void storeOnlyHash() {
+        String token = refreshTokenService.issue(accountId);
+
+        String stored = jdbcTemplate.queryForObject("SELECT token_hash FROM RefreshToken", String.class);
+        assertThat(stored).isNotEqualTo(token).isEqualTo(RefreshTokenService.hash(token));
+    }
+
+    @Test
+    @DisplayName("회전하면 새 토큰이 발급되고 이전 토큰은 사용 처리")
+    void rotate() {
+        String token = refreshTokenService.issue(accountId);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        assertThat(rotation.getAccountId()).isEqualTo(accountId);
+        assertThat(rotation.getRefreshToken()).isNotEqualTo(token);
+        assertThat(refreshTokenService.rotate(rotation.getRefreshToken()).getAccountId()).isEqualTo(accountId);
+    }
+
+    @Test
+    @DisplayName("이미 사용된 토큰이 다시 오면 같은 family 의 토큰을 모두 폐기")
+    void reuseRevokesFamily() {
+        String token = refreshTokenService.issue(accountId);
+        String next = refreshTokenService.rotate(token).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.REFRESH_TOKEN_REUSED);
+        assertThatThrownBy(() -> refreshTokenService.rotate(next))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰과 만료된 토큰은 사용할 수 없음")
+    void revokedOrExpired() {
+        String token = refreshTokenService.issue(accountId);
+        refreshTokenService.revoke(token);
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(CustomException.class);
+
+        String expired = refreshTokenService.issue(accountId);
+        jdbcTemplate.update("UPDATE RefreshToken SET expires_at = DATEADD('DAY', -1, CURRENT_TIMESTAMP) WHERE token_hash = ?",
+                RefreshTokenService.hash(expired));
+        assertThatThrownBy(() -> refreshTokenService.rotate(expired)).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown")).isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 프록시를 거쳐도 재사용 감지 시 family 폐기가 롤백되지 않음")
+    void reuseRevokesFamilyInTransaction() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(DataSource.class, () -> jdbcTemplate.getDataSource());
+            context.registerBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+            context.registerBean(RefreshTokenRepo.class, () -> new RefreshTokenRepo(jdbcTemplate));
+            context.register(TransactionConfig.class, RefreshTokenService.class);
+            context.refresh();
+            RefreshTokenService transactional = context.getBean(RefreshTokenService.class);
+            assertThat(AopUtils.isAopProxy(transactional)).isTrue();
+
+            String token = transactional.issue(accountId);
+            String next = transactional.rotate(token).getRefreshToken();
+
+            assertThatThrownBy(() -> transactional.rotate(token))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("exceptionType").isEqualTo(ExceptionType.REFRESH_TOKEN_REUSED);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM RefreshToken WHERE revoked_at IS NULL", Integer.class)).isZero();
+            assertThatThrownBy(() -> transactional.rotate(next))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("exceptionType").isEqualTo(ExceptionType.REFRESH_TOKEN_NOT_VALID);
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TransactionConfig {
+    }
+}
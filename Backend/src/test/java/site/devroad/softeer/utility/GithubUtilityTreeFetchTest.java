@@ -0,0 +1,109 @@
+package site.devroad.softeer.utility;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.devroad.softeer.utility.http.OutboundHttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//실제 github 대신 로컬 stub 서버로 tree 모드를 검증
+class GithubUtilityTreeFetchTest {
+    private HttpServer server;
+    private ThreadPoolTaskExecutor downloadExecutor;
+    private GithubUtility githubUtility;
+    private final AtomicInteger blobRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/repos/owner/repo", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/repos/owner/repo")) {
+                respond(exchange, 200, "{\"default_branch\":\"main\",\"language\":\"Java\"}");
+            } else if (path.equals("/repos/owner/repo/git/trees/main")) {
+                respond(exchange, 200, "{\"truncated\":false,\"tree\":["
+                        + "{\"path\":\"src\",\"type\":\"tree\",\"sha\":\"d1\"},"
+                        + "{\"path\":\"src/b/B.java\",\"type\":\"blob\",\"size\":10,\"sha\":\"b\"},"
+                        + "{\"path\":\"src/a/A.java\",\"type\":\"blob\",\"size\":10,\"sha\":\"a\"},"
+                        + "{\"path\":\"src/Huge.java\",\"type\":\"blob\",\"size\":999999,\"sha\":\"huge\"},"
+                        + "{\"path\":\"README.md\",\"type\":\"blob\",\"size\":10,\"sha\":\"readme\"},"
+                        + "{\"path\":\"src/c/C.java\",\"type\":\"blob\",\"size\":10,\"sha\":\"c\"}]}");
+            } else if (path.startsWith("/repos/owner/repo/git/blobs/")) {
+                blobRequests.incrementAndGet();
+                String sha = path.substring(path.lastIndexOf('/') + 1);
+                if (sha.equals("c"))
+                    respond(exchange, 500, "error");
+                else
+                    respond(exchange, 200, "class " + sha.toUpperCase() + " {}");
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        });
+        server.start();
+
+        downloadExecutor = new ThreadPoolTaskExecutor();
+        downloadExecutor.setCorePoolSize(2);
+        downloadExecutor.initialize();
+        githubUtility = new GithubUtility(new OutboundHttpClient(1000, 5000, 4, 0, 10), downloadExecutor);
+        ReflectionTestUtils.setField(githubUtility, "token", "test-token");
+        ReflectionTestUtils.setField(githubUtility, "apiBaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(githubUtility, "fetchMode", "tree");
+        ReflectionTestUtils.setField(githubUtility, "maxFileBytes", 1000L);
+        ReflectionTestUtils.setField(githubUtility, "maxFiles", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        downloadExecutor.shutdown();
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("트리 한 번 조회로 확장자가 맞는 파일만 내려받고, 큰 파일과 실패한 파일은 제외")
+    void fetchFromTree() {
+        //when
+        Map<String, String> codes = githubUtility.getAllCodeFromRepo("owner", "repo", ".java");
+
+        //then
+        assertThat(codes.keySet()).containsExactly("/src/a/A.java", "/src/b/B.java");
+        assertThat(codes.get("/src/a/A.java")).isEqualTo("class A {}");
+        assertThat(blobRequests.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("파일 수 제한을 넘으면 경로 순으로 앞의 파일만 내려받음")
+    void limitFileCount() {
+        //given
+        ReflectionTestUtils.setField(githubUtility, "maxFiles", 1);
+
+        //when
+        Map<String, String> codes = githubUtility.getAllCodeFromRepo("owner", "repo", ".java");
+
+        //then
+        assertThat(codes.keySet()).containsExactly("/src/a/A.java");
+        assertThat(blobRequests.get()).isEqualTo(1);
+    }
+}
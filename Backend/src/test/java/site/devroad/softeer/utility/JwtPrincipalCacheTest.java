@@ -0,0 +1,49 @@
+package site.devroad.softeer.utility;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtPrincipalCacheTest {
+
+    @Test
+    @DisplayName("만료 전에는 캐시에서, 만료 시점부터는 캐시에서 제거")
+    void evictAtExpiry() {
+        //given
+        JwtPrincipalCache cache = new JwtPrincipalCache(10);
+        JwtPrincipal principal = new JwtPrincipal(13L, "hello", new Date(2_000L));
+        cache.put("jwt", principal, 1_000L);
+
+        //when
+        JwtPrincipal beforeExpiry = cache.get("jwt", 1_500L);
+        JwtPrincipal afterExpiry = cache.get("jwt", 2_000L);
+
+        //then
+        assertThat(beforeExpiry).isSameAs(principal);
+        assertThat(afterExpiry).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘지 않고 만료된 토큰부터 비우기")
+    void boundedSize() {
+        //given
+        JwtPrincipalCache cache = new JwtPrincipalCache(2);
+        cache.put("expiring", new JwtPrincipal(1L, "a", new Date(1_100L)), 1_000L);
+        cache.put("alive", new JwtPrincipal(2L, "b", new Date(9_000L)), 1_000L);
+
+        //when
+        cache.put("new", new JwtPrincipal(3L, "c", new Date(9_000L)), 2_000L);
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("alive", 2_000L)).isNotNull();
+        assertThat(cache.get("new", 2_000L)).isNotNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+}
@@ -29,4 +29,20 @@ class JwtUtilityTest {
             throw new RuntimeException(e);
         }
     }
+
+    @Test
+    void parseOnceAndHitCache() {
+        //given
+        String jwt = jwtUtility.makeJwtToken(14L, "cached");
+        long hitCount = jwtUtility.getPrincipalCache().getHitCount();
+
+        //when
+        JwtPrincipal first = jwtUtility.getPrincipal(jwt);
+        JwtPrincipal second = jwtUtility.getPrincipal(jwt);
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getUserName()).isEqualTo("cached");
+        assertThat(jwtUtility.getPrincipalCache().getHitCount()).isEqualTo(hitCount + 1);
+    }
 }
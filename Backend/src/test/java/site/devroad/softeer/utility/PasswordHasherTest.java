@@ -0,0 +1,89 @@
+package site.devroad.softeer.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+import site.devroad.softeer.utility.metrics.MetricsRegistry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private PasswordHasher hasher(int workers, int queueCapacity, long waitMillis) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return new PasswordHasher(executor, metricsRegistry, 4, waitMillis);
+    }
+
+    @Test
+    @DisplayName("설정한 cost 로 해시하고 검증")
+    void hashAndVerify() {
+        PasswordHasher passwordHasher = hasher(1, 1, 3000);
+
+        String hashed = passwordHasher.hash("1234");
+
+        assertThat(hashed).startsWith("$2a$04$");
+        assertThat(passwordHasher.verify("1234", hashed)).isTrue();
+        assertThat(passwordHasher.verify("4567", hashed)).isFalse();
+        assertThat(passwordHasher.needsRehash(hashed)).isFalse();
+        assertThat(passwordHasher.needsRehash(BCrypt.hashpw("1234", BCrypt.gensalt(5)))).isTrue();
+        assertThat(metricsRegistry.scrape()).contains("password_hash_seconds_count{op=\"verify\"} 2");
+    }
+
+    @Test
+    @DisplayName("워커와 큐가 모두 차 있으면 기다리지 않고 바로 거절")
+    void rejectWhenQueueFull() throws InterruptedException {
+        PasswordHasher passwordHasher = hasher(1, 1, 3000);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {
+        });
+
+        assertThatThrownBy(() -> passwordHasher.hash("1234"))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.PASSWORD_HASH_BUSY);
+        release.countDown();
+        assertThat(metricsRegistry.scrape()).contains("password_hash_rejected_total{op=\"queue_full\"} 1");
+    }
+
+    @Test
+    @DisplayName("로그인 후 rehash 는 백그라운드에서 실행되고 결과를 콜백으로 넘김")
+    void rehashLater() throws InterruptedException {
+        PasswordHasher passwordHasher = hasher(1, 1, 3000);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> rehashed = new AtomicReference<>();
+
+        passwordHasher.rehashLater("1234", hashed -> {
+            rehashed.set(hashed);
+            done.countDown();
+        });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(BCrypt.checkpw("1234", rehashed.get())).isTrue();
+    }
+}
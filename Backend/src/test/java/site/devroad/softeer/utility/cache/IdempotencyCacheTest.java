@@ -0,0 +1,99 @@
+package site.devroad.softeer.utility.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import site.devroad.softeer.exceptions.CustomException;
+import site.devroad.softeer.exceptions.ExceptionType;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+    private final AtomicLong now = new AtomicLong(1000L);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("같은 키의 재시도는 실행하지 않고 처음 응답을 돌려줌, ttl 이 지나면 다시 실행")
+    void replayWithinTtl() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 10, now::get);
+
+        assertThat(cache.execute("1:a", List.of(1L, true), () -> "res-" + calls.incrementAndGet())).isEqualTo("res-1");
+        assertThat(cache.execute("1:a", List.of(1L, true), () -> "res-" + calls.incrementAndGet())).isEqualTo("res-1");
+        now.addAndGet(100);
+        assertThat(cache.execute("1:a", List.of(1L, true), () -> "res-" + calls.incrementAndGet())).isEqualTo("res-2");
+    }
+
+    @Test
+    @DisplayName("같은 키에 다른 요청 내용이 오면 거절")
+    void rejectDifferentFingerprint() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 10, now::get);
+        cache.execute("1:a", List.of(1L, true), () -> "ok");
+
+        assertThatThrownBy(() -> cache.execute("1:a", List.of(1L, false), () -> "ok"))
+                .isInstanceOf(CustomException.class)
+                .extracting("exceptionType").isEqualTo(ExceptionType.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 기록하지 않아 같은 키로 다시 시도할 수 있음")
+    void retryAfterFailure() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 10, now::get);
+
+        assertThatThrownBy(() -> cache.execute("1:a", "fp", () -> {
+            throw new CustomException(ExceptionType.DATABASE_ERROR);
+        })).isInstanceOf(CustomException.class);
+        assertThat(cache.execute("1:a", "fp", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 같은 키 요청은 한 번만 실행")
+    void concurrentSameKey() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(60_000, 10, now::get);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.execute("1:a", "fp", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "res-" + calls.incrementAndGet();
+            }));
+            started.await();
+            Future<String> second = executor.submit(() -> cache.execute("1:a", "fp", () -> "res-" + calls.incrementAndGet()));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("res-1");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("res-1");
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("가득 차면 만료된 키를 정리하고, 그래도 가득 차 있으면 기록 없이 실행")
+    void boundedSize() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 2, now::get);
+        cache.execute("1:a", "fp", () -> "a");
+        cache.execute("1:b", "fp", () -> "b");
+        cache.execute("1:c", "fp", () -> "c");
+        assertThat(cache.size()).isEqualTo(2);
+
+        now.addAndGet(100);
+        cache.execute("1:d", "fp", () -> "d");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package site.devroad.softeer.utility.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadThroughCacheTest {
+    private final AtomicLong now = new AtomicLong(1000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ReadThroughCache<Long, Optional<String>> cache = new ReadThroughCache<>("subject", 100, 3, now::get);
+
+    private Optional<String> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of("subject" + id);
+    }
+
+    @Test
+    @DisplayName("한 번 읽은 값은 ttl 동안 캐시에서 반환")
+    void hitWithinTtl() {
+        cache.get(1L, this::load);
+        Optional<String> value = cache.get(1L, this::load);
+
+        assertThat(value).contains("subject1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나면 다시 읽음")
+    void reloadAfterTtl() {
+        cache.get(1L, this::load);
+        now.addAndGet(101);
+        cache.get(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("무효화하면 다시 읽고, 로딩 중에 무효화된 값은 저장하지 않음")
+    void invalidate() {
+        cache.get(1L, this::load);
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+        assertThat(loads.get()).isEqualTo(2);
+
+        cache.get(2L, id -> {
+            cache.invalidateAll();
+            return Optional.of("stale");
+        });
+        assertThat(cache.get(2L, this::load)).contains("subject2");
+    }
+
+    @Test
+    @DisplayName("엔티티 이름으로 관련 캐시를 함께 무효화")
+    void invalidateByEntity() {
+        CatalogCacheRegistry registry = new CatalogCacheRegistry(600, 10000);
+        ReadThroughCache<Long, String> subject = registry.create("subject");
+        ReadThroughCache<String, String> allSubject = registry.create("subject.all");
+        ReadThroughCache<Long, String> course = registry.create("course");
+        subject.put(1L, "a");
+        allSubject.put("all", "b");
+        course.put(1L, "c");
+
+        assertThat(registry.invalidate("subject")).isTrue();
+        assertThat(registry.invalidate("exam")).isFalse();
+        assertThat(subject.size()).isZero();
+        assertThat(allSubject.size()).isZero();
+        assertThat(course.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("없는 id 의 빈 결과는 캐시하지 않음")
+    void skipEmptyResult() {
+        for (long id = 0; id < 5; id++)
+            cache.get(id, key -> Optional.empty());
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("가득 차면 만료된 항목을 정리하고, 그래도 차 있으면 저장하지 않음")
+    void boundedSize() {
+        for (long id = 0; id < 5; id++)
+            cache.get(id, this::load);
+        assertThat(cache.size()).isEqualTo(3);
+
+        now.addAndGet(101);
+        cache.get(10L, this::load);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
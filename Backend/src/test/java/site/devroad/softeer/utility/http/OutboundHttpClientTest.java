@@ -0,0 +1,170 @@
+package site.devroad.softeer.utility.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import site.devroad.softeer.utility.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboundHttpClientTest {
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/flaky", exchange -> {
+            if (flakyCalls.incrementAndGet() < 3)
+                respond(exchange, 503, "{}");
+            else
+                respond(exchange, 200, "{\"ok\":true}");
+        });
+        server.createContext("/down", exchange -> respond(exchange, 503, "{}"));
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, 200, "{}");
+        });
+        //헤더를 먼저 보내고 본문은 늦게 보냄
+        server.createContext("/slowBody", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.flush();
+                Thread.sleep(300);
+                os.write("{}".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("503 응답은 재시도 후 성공한 응답을 스트림으로 파싱")
+    void retryOnServiceUnavailable() throws IOException {
+        //given
+        OutboundHttpClient client = new OutboundHttpClient(1000, 5000, 4, 2, 10);
+        HttpRequest request = client.newRequest(baseUrl + "/flaky").GET().build();
+
+        //when
+        JSONObject json = client.execute(request, true, (status, in) -> OutboundHttpClient.readJsonObject(in));
+
+        //then
+        assertThat(json.getBoolean("ok")).isTrue();
+        assertThat(flakyCalls.get()).isEqualTo(3);
+        LatencyHistogram latency = client.getLatencyByHost().get("127.0.0.1:" + server.getAddress().getPort());
+        assertThat(latency.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재시도하지 않는 요청은 첫 응답을 그대로 넘김")
+    void noRetryWhenNotRetryable() throws IOException {
+        //given
+        OutboundHttpClient client = new OutboundHttpClient(1000, 5000, 4, 2, 10);
+        HttpRequest request = client.newRequest(baseUrl + "/down").POST(HttpRequest.BodyPublishers.noBody()).build();
+
+        //when
+        int status = client.execute(request, false, (code, in) -> code);
+
+        //then
+        assertThat(status).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("연결이 안 되면 재시도 후 IOException")
+    void throwAfterRetries() {
+        //given
+        OutboundHttpClient client = new OutboundHttpClient(500, 1000, 4, 1, 10);
+        server.stop(0);
+        HttpRequest request = client.newRequest(baseUrl + "/flaky").GET().build();
+
+        //then
+        assertThatThrownBy(() -> client.execute(request, true, (status, in) -> status)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("호스트별 동시 요청 수를 제한")
+    void limitConcurrencyPerHost() throws Exception {
+        //given
+        OutboundHttpClient client = new OutboundHttpClient(1000, 5000, 2, 0, 10);
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 6; i++)
+            results.add(callers.submit(() -> client.execute(client.newRequest(baseUrl + "/slow").GET().build(), false, (status, in) -> status)));
+        for (Future<Integer> result : results)
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        callers.shutdown();
+
+        //then
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("본문을 읽는 동안에도 permit 을 잡고 있고 지연 시간에 포함")
+    void holdPermitWhileReadingBody() throws Exception {
+        //given
+        OutboundHttpClient client = new OutboundHttpClient(1000, 5000, 1, 0, 10);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        AtomicInteger reading = new AtomicInteger();
+        AtomicInteger maxReading = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 2; i++)
+            results.add(callers.submit(() -> client.execute(client.newRequest(baseUrl + "/slowBody").GET().build(), false, (status, in) -> {
+                maxReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+                String body = OutboundHttpClient.readString(in);
+                reading.decrementAndGet();
+                return body;
+            })));
+        for (Future<String> result : results)
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("{}");
+        callers.shutdown();
+
+        //then
+        assertThat(maxReading.get()).isEqualTo(1);
+        LatencyHistogram latency = client.getLatencyByHost().get("127.0.0.1:" + server.getAddress().getPort());
+        assertThat(latency.getMaxMillis()).isGreaterThanOrEqualTo(250);
+    }
+}
@@ -0,0 +1,86 @@
+package site.devroad.softeer.utility.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import site.devroad.softeer.config.TimingAop;
+import site.devroad.softeer.src.roadmap.subject.SubjectRepo;
+import site.devroad.softeer.utility.cache.CatalogCacheRegistry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class MetricsRegistryTest {
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Test
+    @DisplayName("타이머는 누적 histogram 구간과 count/sum 으로 출력")
+    void scrapeTimer() {
+        Timer timer = metricsRegistry.timer("repository_calls", "class", "UserRepo", "method", "findAccountById", "outcome", "success");
+        timer.record(2_000_000);
+        timer.record(20_000_000);
+
+        String scrape = metricsRegistry.scrape();
+
+        assertThat(scrape).contains("# TYPE repository_calls_seconds histogram");
+        assertThat(scrape).contains("repository_calls_seconds_bucket{class=\"UserRepo\",method=\"findAccountById\",outcome=\"success\",le=\"0.001\"} 0");
+        assertThat(scrape).contains("repository_calls_seconds_bucket{class=\"UserRepo\",method=\"findAccountById\",outcome=\"success\",le=\"0.005\"} 1");
+        assertThat(scrape).contains("repository_calls_seconds_bucket{class=\"UserRepo\",method=\"findAccountById\",outcome=\"success\",le=\"+Inf\"} 2");
+        assertThat(scrape).contains("repository_calls_seconds_count{class=\"UserRepo\",method=\"findAccountById\",outcome=\"success\"} 2");
+        assertThat(scrape).contains("repository_calls_seconds_max{class=\"UserRepo\",method=\"findAccountById\",outcome=\"success\"} 0.02");
+    }
+
+    @Test
+    @DisplayName("이름과 태그가 같으면 같은 인스턴스")
+    void sameTimerForSameTags() {
+        assertThat(metricsRegistry.timer("outbound_calls", "class", "GithubUtility"))
+                .isSameAs(metricsRegistry.timer("outbound_calls", "class", "GithubUtility"));
+    }
+
+    @Test
+    @DisplayName("카운터와 게이지, 태그 값 escape")
+    void scrapeCounterAndGauge() {
+        metricsRegistry.increment("app_exceptions_total", "type", "JWT_NOT_VALID");
+        metricsRegistry.increment("app_exceptions_total", "type", "JWT_NOT_VALID");
+        metricsRegistry.gauge("queue_size", () -> 3, "name", "ai\"review");
+
+        String scrape = metricsRegistry.scrape();
+
+        assertThat(scrape).contains("# TYPE app_exceptions_total counter\napp_exceptions_total{type=\"JWT_NOT_VALID\"} 2");
+        assertThat(scrape).contains("queue_size{name=\"ai\\\"review\"} 3");
+        assertThat(scrape).contains("jvm_threads_live ");
+    }
+
+    @Test
+    @DisplayName("TimingAop 가 *Repo 메서드 호출을 메서드별로 기록")
+    @SuppressWarnings("unchecked")
+    void timingAopRecordsRepositoryCalls() {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SubjectRepo(jdbcTemplate, new CatalogCacheRegistry(0, 10000)));
+        proxyFactory.setProxyTargetClass(true);
+        TimingAop timingAop = new TimingAop(metricsRegistry);
+        proxyFactory.addAspect(timingAop);
+        SubjectRepo subjectRepo = proxyFactory.getProxy();
+
+        subjectRepo.findAll();
+        subjectRepo.findAll();
+
+        assertThat(metricsRegistry.scrape())
+                .contains("repository_calls_seconds_count{class=\"SubjectRepo\",method=\"findAll\",outcome=\"success\"} 2");
+        assertThat(timingAop.cachedTimerCount()).isEqualTo(1);
+
+        for (int i = 0; i < 1000; i++)
+            subjectRepo.findAll();
+
+        assertThat(timingAop.cachedTimerCount()).isEqualTo(1);
+        assertThat(metricsRegistry.scrape())
+                .contains("repository_calls_seconds_count{class=\"SubjectRepo\",method=\"findAll\",outcome=\"success\"} 1002");
+    }
+}
@@ -0,0 +1,64 @@
+package site.devroad.softeer.utility.sql;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountingDataSourceTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query_counting;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(h2));
+        jdbcTemplate.execute("CREATE TABLE Subject (id BIGINT PRIMARY KEY, name VARCHAR(64))");
+        jdbcTemplate.update("INSERT INTO Subject VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryContext.end();
+        jdbcTemplate.execute("DROP TABLE Subject");
+    }
+
+    @Test
+    @DisplayName("요청 컨텍스트 안에서 실행된 문장 수와 형태별 반복 횟수를 집계")
+    void countStatementsInContext() {
+        QueryStats stats = QueryContext.begin();
+        for (long id = 1; id <= 3; id++)
+            jdbcTemplate.queryForObject("SELECT name FROM Subject WHERE id = ?", String.class, id);
+        jdbcTemplate.queryForList("SELECT name FROM Subject WHERE id = 1");
+        jdbcTemplate.queryForList("SELECT name FROM Subject WHERE id = 2");
+        jdbcTemplate.queryForList("SELECT * FROM Subject");
+
+        assertThat(stats.getCount()).isEqualTo(6);
+        assertThat(stats.getMaxRepeat()).isEqualTo(5);
+        List<Map.Entry<String, Integer>> repeated = stats.getRepeated(2);
+        assertThat(repeated).hasSize(1);
+        assertThat(repeated.get(0).getKey()).isEqualTo("SELECT name FROM Subject WHERE id = ?");
+    }
+
+    @Test
+    @DisplayName("컨텍스트 밖(비동기 작업 등)의 문장은 집계하지 않음")
+    void ignoreOutsideContext() {
+        jdbcTemplate.queryForList("SELECT * FROM Subject");
+
+        assertThat(QueryContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("IN 목록 길이와 공백이 달라도 같은 형태")
+    void fingerprintCollapsesInList() {
+        assertThat(QueryFingerprint.of("SELECT * FROM  Exam\n WHERE id IN (?, ?, ?) AND name = 'x'"))
+                .isEqualTo(QueryFingerprint.of("SELECT * FROM Exam WHERE id IN (?,?) AND name = 'yy'"));
+    }
+}
@@ -16,6 +16,10 @@ function putFinishChapter(config, param) {
 function getAiReviewFin(config, param) {
   return axiosService.get("api/exam/ai/" + param, config);
 }
+//GET /api/purchase/order/{:orderId} 결제 승인 상태
+function getPurchaseOrder(config, param) {
+  return axiosService.get("api/purchase/order/" + encodeURIComponent(param), config);
+}
 //GET /api/exam/peer/{:examId} Peer Detail
 function getPeerDetail(config, param) {
   return axiosService.get("api/exam/peer/" + param, config);
@@ -87,5 +91,6 @@ export {
   getPeerDetail,
   postAiCodeReviewModal,
   getAiReviewFin,
+  getPurchaseOrder,
   deleteRoadmapData,
 };